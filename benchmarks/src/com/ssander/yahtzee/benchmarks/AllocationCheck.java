@@ -0,0 +1,66 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Checks that headless games run without steady-state heap allocation.
+ *
+ * <p>Plays warm-up games so the manager, players and JIT-compiled code are in place,
+ * then measures the bytes allocated by the current thread over many more seeded
+ * greedy games using {@link com.sun.management.ThreadMXBean}.</p>
+ */
+public final class AllocationCheck {
+    private static final int WARMUP_GAMES = 50_000;
+    /** Tolerance for one-off allocations such as late JIT deoptimization. */
+    private static final long MAX_BYTES = 16 * 1024;
+
+    private AllocationCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if the games allocated memory.
+     *
+     * @param args optional number of measured games and seed
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        DiceRandom random = new DiceRandom(seed);
+        GameManager manager = new GameManager(new BotUserInterface(new GreedyStrategy()), random);
+
+        long scoreSum = play(manager, random, seed, 0, WARMUP_GAMES);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        scoreSum += play(manager, random, seed, WARMUP_GAMES, WARMUP_GAMES + games);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        boolean passed = allocated <= MAX_BYTES;
+        System.out.printf("Measured games: %,d (seed %d, mean score %.2f)%n",
+                games, seed, (double) scoreSum / (WARMUP_GAMES + games));
+        System.out.printf("Allocated: %,d bytes (%.3f bytes/game, limit %,d bytes)%n",
+                allocated, (double) allocated / games, MAX_BYTES);
+        System.out.println(passed ? "Allocation check PASSED" : "Allocation check FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static long play(GameManager manager, DiceRandom random, long seed, int first, int last) {
+        long scoreSum = 0;
+        for (int game = first; game < last; game++) {
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            manager.startGame();
+            scoreSum += manager.getPlayers().get(0).getTotalScore();
+        }
+        return scoreSum;
+    }
+}
@@ -0,0 +1,177 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.ssander.yahtzee.archive.ColumnStats;
+import com.ssander.yahtzee.archive.GameArchiveReader;
+import com.ssander.yahtzee.archive.GameArchiveWriter;
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.rules.Ruleset;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Round-trip and throughput check of the columnar game archive.
+ *
+ * <p>Plays seeded two-player greedy games, once without and once with a
+ * {@link GameArchiveWriter}, and prints the cost of archiving and the bytes per game. Then
+ * scans every column of the archive and checks the aggregates against the scores reported
+ * while the games were played: the count, sum and extremes of the totals and of every
+ * category, the number of bonuses and each player's total. Finally prints the throughput
+ * of full-column scans.</p>
+ */
+public final class ArchiveCheck {
+    private static final int PLAYERS = 2;
+    private static final int SCAN_ROUNDS = 5;
+
+    private ArchiveCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if an aggregate disagrees with the games played.
+     *
+     * @param args optional game count and seed
+     * @throws IOException if the archive cannot be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+        Ruleset rules = Ruleset.standard();
+
+        Path directory = Files.createTempDirectory("yahtzee-archive");
+        try {
+            DiceRandom random = new DiceRandom(seed);
+            GameManager manager = new GameManager(new BotUserInterface(new GreedyStrategy(), PLAYERS), random);
+            play(manager, random, games / 4, seed);
+            double plainSeconds = play(manager, random, games, seed);
+
+            Expected expected = new Expected(rules.getCategoryCount());
+            manager.setEventListener(expected);
+            GameArchiveWriter archive = new GameArchiveWriter(directory, rules);
+            manager.setArchive(archive);
+            double archiveSeconds;
+            try (archive) {
+                archiveSeconds = play(manager, random, games, seed);
+            }
+            long bytes = archive.getBytesWritten();
+            System.out.printf("Without archive: %,9.0f games/s%n", games / plainSeconds);
+            System.out.printf("With archive:    %,9.0f games/s (%,d bytes, %.2f bytes per game of %d players)%n",
+                    games / archiveSeconds, bytes, (double) bytes / games, PLAYERS);
+
+            GameArchiveReader reader = new GameArchiveReader(directory);
+            long rows = (long) games * PLAYERS;
+            boolean passed = reader.getGameCount() == games && reader.getRowCount() == rows
+                    && reader.getSizeBytes() == bytes;
+            passed &= matches(reader.scan("total"), rows, expected.totalSum, expected.totalMin, expected.totalMax);
+            passed &= reader.scan("bonus").getSum() == expected.bonuses;
+            passed &= reader.scan("seat").getSum() == (long) games * (PLAYERS * (PLAYERS - 1) / 2);
+            for (int category = 0; category < rules.getCategoryCount(); category++) {
+                ColumnStats stats = reader.scan(rules.getCombinations().get(category).getComboName());
+                passed &= matches(stats, rows, expected.categorySums[category], expected.categoryMins[category],
+                        expected.categoryMaxes[category]);
+            }
+            Map<String, ColumnStats> byPlayer = reader.scanByPlayer("total");
+            for (int seat = 0; seat < PLAYERS; seat++) {
+                ColumnStats stats = byPlayer.get("Bot " + (seat + 1));
+                passed &= stats != null && stats.getCount() == games && stats.getSum() == expected.seatSums[seat];
+                System.out.printf("  Bot %d: mean total %.2f%n", seat + 1, stats == null ? 0.0 : stats.getMean());
+            }
+
+            List<String> columns = reader.getColumnNames();
+            long start = System.nanoTime();
+            for (int round = 0; round < SCAN_ROUNDS; round++) {
+                reader.scan("total");
+            }
+            double seconds = (System.nanoTime() - start) / 1e9 / SCAN_ROUNDS;
+            System.out.printf("Scan of one column:     %,6.0f M rows/s%n", rows / seconds / 1e6);
+            start = System.nanoTime();
+            for (int round = 0; round < SCAN_ROUNDS; round++) {
+                for (String column : columns) {
+                    reader.scan(column);
+                }
+            }
+            seconds = (System.nanoTime() - start) / 1e9 / SCAN_ROUNDS;
+            System.out.printf("Scan of all %d columns: %,6.0f M values/s (%.1f ms for %,d rows)%n",
+                    columns.size(), rows * columns.size() / seconds / 1e6, seconds * 1e3, rows);
+
+            System.out.println(passed ? "Archive check PASSED" : "Archive check FAILED");
+            if (!passed) {
+                System.exit(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static boolean matches(ColumnStats stats, long count, long sum, long min, long max) {
+        return stats.getCount() == count && stats.getSum() == sum && stats.getMin() == min && stats.getMax() == max;
+    }
+
+    /**
+     * Plays seeded games.
+     *
+     * @return the elapsed time in seconds
+     */
+    private static double play(GameManager manager, DiceRandom random, int games, long seed) {
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            manager.startGame();
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /** Aggregates the scores reported by the games, to compare with the archive scans. */
+    private static final class Expected implements GameEventListener {
+        private final long[] categorySums;
+        private final long[] categoryMins;
+        private final long[] categoryMaxes;
+        private final long[] seatSums = new long[PLAYERS];
+        private long totalSum;
+        private long totalMin = Long.MAX_VALUE;
+        private long totalMax = Long.MIN_VALUE;
+        private long bonuses;
+
+        Expected(int categories) {
+            categorySums = new long[categories];
+            categoryMins = new long[categories];
+            categoryMaxes = new long[categories];
+            Arrays.fill(categoryMins, Long.MAX_VALUE);
+            Arrays.fill(categoryMaxes, Long.MIN_VALUE);
+        }
+
+        @Override
+        public void comboScored(int player, int comboIndex, int points) {
+            categorySums[comboIndex] += points;
+            categoryMins[comboIndex] = Math.min(categoryMins[comboIndex], points);
+            categoryMaxes[comboIndex] = Math.max(categoryMaxes[comboIndex], points);
+        }
+
+        @Override
+        public void bonusAwarded(int player, int points) {
+            bonuses++;
+        }
+
+        @Override
+        public void playerFinished(int player, int totalScore) {
+            seatSums[player] += totalScore;
+            totalSum += totalScore;
+            totalMin = Math.min(totalMin, totalScore);
+            totalMax = Math.max(totalMax, totalScore);
+        }
+    }
+}
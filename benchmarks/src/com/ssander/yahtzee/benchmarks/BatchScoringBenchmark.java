@@ -0,0 +1,78 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ssander.yahtzee.batch.BatchScorer;
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.DiceRandom;
+
+/**
+ * Scores a batch of hands with all 13 combinations: one virtual
+ * {@link Combination#calculatePoints(int)} call per hand and combination, the scalar
+ * {@link BatchScorer} and the Vector API {@link BatchScorer}. Scores are nanoseconds
+ * per hand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class BatchScoringBenchmark {
+    private static final int HANDS = 4096;
+
+    private final byte[][] dice = new byte[CombinationRegistry.DICE_COUNT][HANDS];
+    private final byte[][] scores = new byte[CombinationRegistry.COMBO_COUNT][HANDS];
+    private final List<Combination> combos = new CombinationRegistry().getAllCombos();
+    private final BatchScorer scalar = BatchScorer.scalar();
+    private final BatchScorer vector = BatchScorer.create();
+
+    @Setup
+    public void setUp() {
+        BatchScoringCheck.roll(dice, new DiceRandom(42));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public byte[][] combinations() {
+        for (int i = 0; i < HANDS; i++) {
+            int hand = DiceHand.EMPTY;
+            for (byte[] column : dice) {
+                hand = DiceHand.withDie(hand, column[i]);
+            }
+            for (int combo = 0; combo < combos.size(); combo++) {
+                scores[combo][i] = (byte) combos.get(combo).calculatePoints(hand);
+            }
+        }
+        return scores;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public byte[][] scalarBatch() {
+        scalar.score(dice, scores, 0, HANDS);
+        return scores;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public byte[][] vectorBatch() {
+        vector.score(dice, scores, 0, HANDS);
+        return scores;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.List;
+
+import com.ssander.yahtzee.batch.BatchScorer;
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.DiceRandom;
+
+/**
+ * Checks that both batch scorers reproduce the {@link Combination} classes exactly and
+ * prints the throughput of each scoring path.
+ *
+ * <p>Every one of the 7776 ordered rolls is scored, followed by batches of random hands
+ * whose lengths are not a multiple of the vector width, so the scalar tail is covered
+ * as well. Run with {@code --add-modules jdk.incubator.vector} to check the SIMD
+ * scorer; without it both scorers are scalar.</p>
+ */
+public final class BatchScoringCheck {
+    private static final int BATCH = 1 << 16;
+    private static final int TIMED_ROUNDS = 300;
+
+    private BatchScoringCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 on any mismatch.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        List<Combination> combos = new CombinationRegistry().getAllCombos();
+        BatchScorer vector = BatchScorer.create();
+        BatchScorer scalar = BatchScorer.scalar();
+        System.out.println("Best scorer: " + vector.name());
+
+        int rolls = 7776;
+        byte[][] dice = new byte[CombinationRegistry.DICE_COUNT][rolls];
+        for (int roll = 0; roll < rolls; roll++) {
+            for (int die = 0, rest = roll; die < CombinationRegistry.DICE_COUNT; die++, rest /= 6) {
+                dice[die][roll] = (byte) (rest % 6 + 1);
+            }
+        }
+        long mismatches = verify(combos, vector, dice, rolls) + verify(combos, scalar, dice, rolls);
+
+        byte[][] random = new byte[CombinationRegistry.DICE_COUNT][BATCH];
+        DiceRandom generator = new DiceRandom(7);
+        for (int round = 0; round < 20; round++) {
+            roll(random, generator);
+            int length = BATCH - generator.nextInt(0, 64);
+            mismatches += verify(combos, vector, random, length) + verify(combos, scalar, random, length);
+        }
+        System.out.println(mismatches == 0
+                ? "All scores match the combination classes" : mismatches + " scores differ");
+
+        byte[][] scores = new byte[CombinationRegistry.COMBO_COUNT][BATCH];
+        for (int pass = 0; pass < 2; pass++) {
+            boolean report = pass == 1;
+            time("per-hand virtual calls", report, () -> scoreOneByOne(combos, random, scores));
+            time(scalar.name(), report, () -> scalar.score(random, scores, 0, BATCH));
+            time(vector.name(), report, () -> vector.score(random, scores, 0, BATCH));
+        }
+        if (mismatches != 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Fills dice columns with random faces.
+     *
+     * @param dice the columns to fill
+     * @param random the randomness source
+     */
+    static void roll(byte[][] dice, DiceRandom random) {
+        for (byte[] column : dice) {
+            for (int i = 0; i < column.length; i++) {
+                column[i] = (byte) random.nextInt(1, 7);
+            }
+        }
+    }
+
+    private static long verify(List<Combination> combos, BatchScorer scorer, byte[][] dice, int length) {
+        byte[][] scores = new byte[CombinationRegistry.COMBO_COUNT][length];
+        scorer.score(dice, scores, 0, length);
+        long mismatches = 0;
+        for (int i = 0; i < length; i++) {
+            int hand = DiceHand.EMPTY;
+            for (byte[] column : dice) {
+                hand = DiceHand.withDie(hand, column[i]);
+            }
+            for (int combo = 0; combo < combos.size(); combo++) {
+                if (scores[combo][i] != combos.get(combo).calculatePoints(hand)) {
+                    mismatches++;
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    private static void scoreOneByOne(List<Combination> combos, byte[][] dice, byte[][] scores) {
+        for (int i = 0; i < BATCH; i++) {
+            int hand = DiceHand.EMPTY;
+            for (byte[] column : dice) {
+                hand = DiceHand.withDie(hand, column[i]);
+            }
+            for (int combo = 0; combo < combos.size(); combo++) {
+                scores[combo][i] = (byte) combos.get(combo).calculatePoints(hand);
+            }
+        }
+    }
+
+    private static void time(String name, boolean report, Runnable batch) {
+        long start = System.nanoTime();
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            batch.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (report) {
+            System.out.printf("%-36s %,8.1f M hands/s%n", name, (double) TIMED_ROUNDS * BATCH / seconds / 1e6);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Scores pre-rolled hands with each {@link Combination} subclass through the packed-hand API,
+ * the list adapter and the precomputed registry table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CombinationBenchmark {
+    private static final int HAND_POOL = 1024;
+
+    /** Index of the combination under test: Ones ... Chance. */
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+    public int comboIndex;
+
+    private Combination combination;
+    private final int[] hands = new int[HAND_POOL];
+    private final int[] handIndices = new int[HAND_POOL];
+    private final List<List<Integer>> handLists = new ArrayList<>(HAND_POOL);
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        combination = new CombinationRegistry().getComboByIndex(comboIndex);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < HAND_POOL; i++) {
+            List<Integer> values = new ArrayList<>(CombinationRegistry.DICE_COUNT);
+            for (int die = 0; die < CombinationRegistry.DICE_COUNT; die++) {
+                values.add(random.nextInt(1, 7));
+            }
+            handLists.add(values);
+            hands[i] = DiceHand.fromValues(values);
+            handIndices[i] = CombinationRegistry.handIndex(hands[i]);
+        }
+    }
+
+    private int next() {
+        return cursor++ & (HAND_POOL - 1);
+    }
+
+    @Benchmark
+    public boolean isPossible() {
+        return combination.isPossible(hands[next()]);
+    }
+
+    @Benchmark
+    public int calculatePoints() {
+        return combination.calculatePoints(hands[next()]);
+    }
+
+    @Benchmark
+    public boolean isPossibleList() {
+        return combination.isPossible(handLists.get(next()));
+    }
+
+    @Benchmark
+    public int calculatePointsList() {
+        return combination.calculatePoints(handLists.get(next()));
+    }
+
+    @Benchmark
+    public int tablePoints() {
+        return CombinationRegistry.points(CombinationRegistry.handIndex(hands[next()]), comboIndex);
+    }
+
+    @Benchmark
+    public int tablePointsByIndex() {
+        return CombinationRegistry.points(handIndices[next()], comboIndex);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ssander.yahtzee.player.Die;
+import com.ssander.yahtzee.player.Player;
+
+/**
+ * Measures rolling single dice, rolling a player's hand and sorting the dice
+ * the way {@code GameManager.rollAndDisplay} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiceBenchmark {
+    private static final int VALUE_POOL = 1024;
+
+    private final Die die = new Die();
+    private final List<Die> dice = new ArrayList<>(5);
+    private final Player player = new Player("Benchmark");
+    private final int[] rollAll = new int[5];
+    private final int[] keepTwo = {1, 0, 1, 0, 0};
+    private final int[][] unsortedValues = new int[VALUE_POOL][5];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 5; i++) {
+            dice.add(new Die());
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int[] values : unsortedValues) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(1, 7);
+            }
+        }
+    }
+
+    @Benchmark
+    public int dieRoll() {
+        die.roll();
+        return die.getCurrentValue();
+    }
+
+    @Benchmark
+    public List<Die> rollAllDice() {
+        player.rollDice(dice, rollAll);
+        return dice;
+    }
+
+    @Benchmark
+    public List<Die> rollThreeDice() {
+        player.rollDice(dice, keepTwo);
+        return dice;
+    }
+
+    /** Baseline for {@link #sortDice()}: restoring an unsorted hand without sorting it. */
+    @Benchmark
+    public List<Die> resetDice() {
+        int[] values = unsortedValues[cursor++ & (VALUE_POOL - 1)];
+        for (int i = 0; i < values.length; i++) {
+            dice.get(i).setCurrentValue(values[i]);
+        }
+        return dice;
+    }
+
+    @Benchmark
+    public List<Die> sortDice() {
+        int[] values = unsortedValues[cursor++ & (VALUE_POOL - 1)];
+        for (int i = 0; i < values.length; i++) {
+            dice.get(i).setCurrentValue(values[i]);
+        }
+        Collections.sort(dice);
+        return dice;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.DiceRoller;
+import com.ssander.yahtzee.player.Die;
+
+/**
+ * Compares dice per second of the per-die path ({@link Die#roll} with one bounded
+ * random draw per die) against the {@link DiceRoller} batch path.
+ * Every score is reported in dice per microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiceRollerBenchmark {
+    private static final int DICE = 5;
+    private static final int HANDS = 1024;
+
+    private final DiceRandom random = new DiceRandom(42);
+    private final DiceRoller roller = new DiceRoller(new DiceRandom(42));
+    private final Die[] dice = {new Die(), new Die(), new Die(), new Die(), new Die()};
+    private final int[] hands = new int[HANDS];
+
+    @Benchmark
+    @OperationsPerInvocation(DICE)
+    public int perDieHand() {
+        int hand = DiceHand.EMPTY;
+        for (Die die : dice) {
+            die.roll(random);
+            hand = DiceHand.withDie(hand, die.getCurrentValue());
+        }
+        return hand;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DICE)
+    public int batchHand() {
+        return roller.rollHand(DiceHand.EMPTY);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DICE * HANDS)
+    public int[] batchHandArray() {
+        roller.rollHands(hands);
+        return hands;
+    }
+}
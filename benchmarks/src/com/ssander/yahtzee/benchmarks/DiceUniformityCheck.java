@@ -0,0 +1,82 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.random.RandomGenerator;
+
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.DiceRoller;
+
+/**
+ * Chi-square uniformity check for {@link DiceRoller}.
+ *
+ * <p>Rolls a large sample and tests both the single-face distribution (5 degrees of
+ * freedom) and the distribution of consecutive face pairs (35 degrees of freedom),
+ * which also catches correlation between digits taken from the same random word.
+ * Each statistic is compared with its critical value at the 0.1% level. Also counts the
+ * random words drawn, to show how many dice each word yields after rejections.</p>
+ */
+public final class DiceUniformityCheck {
+    private static final double CRITICAL_5_DOF = 20.515;
+    private static final double CRITICAL_35_DOF = 66.619;
+
+    private DiceUniformityCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if either statistic is too large.
+     *
+     * @param args optional sample size (number of dice) and seed
+     */
+    public static void main(String[] args) {
+        long samples = args.length > 0 ? Long.parseLong(args[0]) : 60_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+
+        DiceRandom source = new DiceRandom(seed);
+        long[] words = new long[1];
+        RandomGenerator counting = () -> {
+            words[0]++;
+            return source.nextLong();
+        };
+        DiceRoller roller = new DiceRoller(counting);
+        long[] faces = new long[6];
+        long[] pairs = new long[36];
+        int previous = roller.nextFace() - 1;
+        faces[previous]++;
+        for (long i = 1; i < samples; i++) {
+            int face = roller.nextFace() - 1;
+            faces[face]++;
+            if ((i & 1) == 1) {
+                pairs[previous * 6 + face]++;
+            }
+            previous = face;
+        }
+
+        double faceStatistic = chiSquare(faces);
+        double pairStatistic = chiSquare(pairs);
+        boolean passed = faceStatistic < CRITICAL_5_DOF && pairStatistic < CRITICAL_35_DOF;
+        System.out.printf("Dice rolled: %,d (seed %d)%n", samples, seed);
+        System.out.printf("Random words: %,d (%.2f dice per word, %d digits, %.2f%% of words rejected)%n",
+                words[0], (double) samples / words[0], roller.getDigitsPerWord(),
+                100 * (1 - roller.getAcceptanceRate()));
+        System.out.printf("Faces: chi-square %.3f (critical %.3f, 5 dof)%n", faceStatistic, CRITICAL_5_DOF);
+        System.out.printf("Pairs: chi-square %.3f (critical %.3f, 35 dof)%n", pairStatistic, CRITICAL_35_DOF);
+        System.out.println(passed ? "Uniformity check PASSED" : "Uniformity check FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static double chiSquare(long[] observed) {
+        long total = 0;
+        for (long count : observed) {
+            total += count;
+        }
+        double expected = (double) total / observed.length;
+        double statistic = 0;
+        for (long count : observed) {
+            double difference = count - expected;
+            statistic += difference * difference / expected;
+        }
+        return statistic;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.ssander.yahtzee.events.GameEventBus;
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.replay.GameLogWriter;
+import com.ssander.yahtzee.replay.GameReplay;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Load check of the {@link GameEventBus}.
+ *
+ * <p>Plays seeded headless greedy games that publish into a bus with three consumers:
+ * a {@link GameReplay} that rebuilds and verifies every game, a {@link GameLogWriter}
+ * that persists the events, and an event counter standing in for telemetry. Every
+ * consumer must see every event and the replay must reproduce every final score.
+ * Prints the games and events per second against the same games without listeners,
+ * the time the game loop waited for consumers, and each consumer's latency percentiles
+ * from publishing to handling.</p>
+ */
+public final class EventBusCheck {
+    private static final String[] CONSUMER_NAMES = {"replay", "log", "counter"};
+
+    private EventBusCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if a consumer missed events or a replay
+     * disagrees with the played games.
+     *
+     * @param args optional game count, buffer capacity and seed
+     * @throws IOException if the temporary log cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 16;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 20_240_101L;
+
+        DiceRandom random = new DiceRandom(seed);
+        GameManager manager = new GameManager(new BotUserInterface(new GreedyStrategy()), random);
+        play(manager, random, games / 10, seed);
+        long start = System.nanoTime();
+        long scoreSum = play(manager, random, games, seed);
+        double directSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Without listeners: %,.0f games/s%n", games / directSeconds);
+
+        Path file = Files.createTempFile("yahtzee-bus", ".log");
+        try {
+            GameReplay replay = new GameReplay();
+            EventCounter counter = new EventCounter();
+            GameEventBus bus;
+            double seconds;
+            try (GameLogWriter log = new GameLogWriter(file)) {
+                bus = new GameEventBus(capacity, List.of(replay, log, counter));
+                manager.setEventListener(bus);
+                start = System.nanoTime();
+                play(manager, random, games, seed);
+                bus.close();
+                seconds = (System.nanoTime() - start) / 1e9;
+            }
+            System.out.printf("Through the bus (%,d slots): %,.0f games/s | %,.0f events/s | %,d events"
+                            + " | producer waited %.1f%% of the time%n",
+                    capacity, games / seconds, bus.getPublished() / seconds, bus.getPublished(),
+                    100 * bus.getProducerWaitNanos() / 1e9 / seconds);
+            boolean passed = replay.getGamesFinished() == games && replay.getScoreSum() == scoreSum
+                    && counter.events == bus.getPublished();
+            for (int i = 0; i < bus.getConsumerCount(); i++) {
+                System.out.printf("  %-8s %,d events | latency p50 %,d ns | p99 %,d ns | p99.9 %,d ns%n",
+                        CONSUMER_NAMES[i], bus.getConsumed(i), bus.getLatencyPercentileNanos(i, 0.50),
+                        bus.getLatencyPercentileNanos(i, 0.99), bus.getLatencyPercentileNanos(i, 0.999));
+                passed &= bus.getConsumed(i) == bus.getPublished();
+            }
+            System.out.printf("Event log: %,d bytes%n", Files.size(file));
+            System.out.println(passed ? "Event bus check PASSED" : "Event bus check FAILED");
+            if (!passed) {
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long play(GameManager manager, DiceRandom random, int games, long seed) {
+        long scoreSum = 0;
+        for (int game = 0; game < games; game++) {
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            manager.startGame();
+            scoreSum += manager.getPlayers().get(0).getTotalScore();
+        }
+        return scoreSum;
+    }
+
+    /** Counts every event it receives. */
+    private static final class EventCounter implements GameEventListener {
+        private long events;
+
+        @Override
+        public void turnStarted(int player) {
+            events++;
+        }
+
+        @Override
+        public void gameStarted(int playerCount) {
+            events++;
+        }
+
+        @Override
+        public void diceRolled(int player, int faces) {
+            events++;
+        }
+
+        @Override
+        public void diceKept(int player, int keptMask) {
+            events++;
+        }
+
+        @Override
+        public void comboScored(int player, int comboIndex, int points) {
+            events++;
+        }
+
+        @Override
+        public void bonusAwarded(int player, int points) {
+            events++;
+        }
+
+        @Override
+        public void playerFinished(int player, int totalScore) {
+            events++;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.replay.GameLogReader;
+import com.ssander.yahtzee.replay.GameLogWriter;
+import com.ssander.yahtzee.replay.GameReplay;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Round-trip check of the binary game event log.
+ *
+ * <p>Plays seeded greedy games with logging enabled, then replays the log several
+ * times, with and without rebuilding the players. Every replay must rebuild exactly the final scores the games produced.
+ * Prints the log size per game and the replay throughput.</p>
+ */
+public final class EventLogReplayCheck {
+    private static final int REPLAY_ROUNDS = 5;
+
+    private EventLogReplayCheck() {
+        // Utility class
+    }
+
+    private static double scan(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (GameLogReader reader = new GameLogReader(file)) {
+            reader.read(GameEventListener.NONE);
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * Runs the check and exits with status 1 if a replay disagrees with the played games.
+     *
+     * @param args optional game count and seed
+     * @throws IOException if the temporary log cannot be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+
+        Path file = Files.createTempFile("yahtzee-events", ".log");
+        try {
+            DiceRandom random = new DiceRandom(seed);
+            GameManager manager = new GameManager(new BotUserInterface(new GreedyStrategy()), random);
+            long scoreSum = 0;
+            try (GameLogWriter log = new GameLogWriter(file)) {
+                manager.setEventListener(log);
+                for (int game = 0; game < games; game++) {
+                    random.reseed(DiceRandom.streamSeed(seed, game));
+                    manager.startGame();
+                    scoreSum += manager.getPlayers().get(0).getTotalScore();
+                }
+            }
+            long bytes = Files.size(file);
+            System.out.printf("Logged %,d games: %,d bytes (%.1f bytes/game)%n", games, bytes, (double) bytes / games);
+
+            boolean passed = true;
+            for (int round = 1; round <= REPLAY_ROUNDS; round++) {
+                GameReplay replay = new GameReplay();
+                long start = System.nanoTime();
+                try (GameLogReader reader = new GameLogReader(file)) {
+                    reader.read(replay);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                double scanSeconds = scan(file);
+                System.out.printf("Round %d: replay %,.0f games/s | raw scan %,.0f games/s%n", round,
+                        replay.getGamesFinished() / seconds, games / scanSeconds);
+                passed &= replay.getGamesFinished() == games && replay.getScoreSum() == scoreSum;
+            }
+            System.out.println(passed ? "Replay check PASSED" : "Replay check FAILED");
+            if (!passed) {
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import com.ssander.yahtzee.management.GameHistory;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.management.GameState;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Check of the immutable game state and its history.
+ *
+ * <p>Plays seeded two-player greedy games with history recording, verifies that the
+ * final state's score sheets match the players, and that undoing to the start and
+ * redoing to the end reproduces the same states. Then forks one million branches from
+ * the middle of a game, each scoring a different combination, and prints the heap
+ * allocated per branch (measured like {@link ScorecardMemoryCheck}).</p>
+ */
+public final class GameStateCheck {
+    private static final int BRANCHES = 1_000_000;
+
+    private GameStateCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if a recorded game does not add up.
+     *
+     * @param args optional game count and seed
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+
+        DiceRandom random = new DiceRandom(seed);
+        GameManager manager = new GameManager(new BotUserInterface(new GreedyStrategy(), 2), random);
+        manager.setHistoryRecording(true);
+        boolean passed = true;
+        GameHistory sample = null;
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            manager.startGame();
+            GameHistory history = manager.getHistory();
+            passed &= matchesPlayers(history.current(), manager) && roundTrips(history);
+            sample = history;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Recorded and verified %,d games (%,.0f games/s, %d moves each)%n",
+                games, games / seconds, sample.getUndoDepth());
+
+        // Go back to the middle of the last game, to a turn that has just been rolled
+        GameHistory mid = sample;
+        while (mid.getUndoDepth() > sample.getUndoDepth() / 2 || mid.current().getRollCount() == 0) {
+            mid = mid.undo();
+        }
+        GameState fork = mid.current();
+        int open = ~fork.getScorecard(fork.getCurrentSeat()).getUsedMask()
+                & ((1 << fork.getRules().getCategoryCount()) - 1);
+        int[] choices = new int[Integer.bitCount(open)];
+        for (int i = 0, mask = open; mask != 0; i++, mask &= mask - 1) {
+            choices[i] = Integer.numberOfTrailingZeros(mask);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        GameHistory[] branches = new GameHistory[BRANCHES];
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < BRANCHES; i++) {
+            branches[i] = mid.advance(fork.withScore(choices[i % choices.length]));
+        }
+        long branchBytes = threads.getThreadAllocatedBytes(threadId) - before;
+        for (int i = 0; i < choices.length; i++) {
+            passed &= branches[i].undo().current() == fork
+                    && branches[i].current().getScorecard(fork.getCurrentSeat()).isUsed(choices[i]);
+        }
+        System.out.printf("Forked %,d branches from move %d (%d choices): %,.1f MiB, %.1f bytes per branch%n",
+                BRANCHES, mid.getUndoDepth(), choices.length, branchBytes / 1048576.0, (double) branchBytes / BRANCHES);
+
+        System.out.println(passed ? "Game state check PASSED" : "Game state check FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean matchesPlayers(GameState state, GameManager manager) {
+        if (!state.isFinished()) {
+            return false;
+        }
+        for (int seat = 0; seat < state.getPlayerCount(); seat++) {
+            Player player = find(manager, state.getPlayerName(seat));
+            if (!state.getScorecard(seat).equals(player.getScorecard())
+                    || state.getScorecard(seat).getTotalScore() != player.getTotalScore()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Player find(GameManager manager, String name) {
+        for (Player player : manager.getPlayers()) {
+            if (player.getPlayerName().equals(name)) {
+                return player;
+            }
+        }
+        throw new IllegalStateException("No player named " + name);
+    }
+
+    private static boolean roundTrips(GameHistory history) {
+        GameState end = history.current();
+        int moves = history.getUndoDepth();
+        GameHistory walk = history;
+        while (walk.canUndo()) {
+            walk = walk.undo();
+        }
+        if (walk.current().getRollCount() != 0 || walk.current().getScorecard(0).getUsedMask() != 0) {
+            return false;
+        }
+        while (walk.canRedo()) {
+            walk = walk.redo();
+        }
+        return walk.current() == end && walk.getUndoDepth() == moves && !walk.canRedo();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import com.ssander.yahtzee.jfr.RecordingAnalyzer;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Measures what the Yahtzee flight recorder events cost and summarizes a recording of them.
+ *
+ * <p>Plays seeded headless greedy games three ways: with no recording, with a recording
+ * of the JDK default settings (the Yahtzee events stay disabled), and with a recording
+ * of the bundled {@code yahtzee.jfc} settings. Prints the games per second of each, then
+ * the {@link RecordingAnalyzer} summary of the last recording, where every scored turn
+ * shows up as one combination evaluation.</p>
+ */
+public final class JfrCheck {
+    private JfrCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param args the path of the bundled settings file, then optional game count and seed
+     * @throws IOException if a settings file or the recording cannot be read or written
+     * @throws ParseException if a settings file is malformed
+     */
+    public static void main(String[] args) throws IOException, ParseException {
+        Path settings = Path.of(args.length > 0 ? args[0] : "config/yahtzee.jfc");
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 20_240_101L;
+
+        DiceRandom random = new DiceRandom(seed);
+        GameManager manager = new GameManager(new BotUserInterface(new GreedyStrategy()), random);
+        play(manager, random, games, seed);
+        System.out.printf("No recording:                %,9.0f games/s%n", games / play(manager, random, games, seed));
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            System.out.printf("Default recording (off):     %,9.0f games/s%n",
+                    games / play(manager, random, games, seed));
+        }
+
+        Path file = Files.createTempFile("yahtzee", ".jfr");
+        try {
+            int recordedGames = games / 10;
+            try (Recording recording = new Recording(Configuration.create(settings))) {
+                recording.start();
+                double seconds = play(manager, random, recordedGames, seed);
+                recording.stop();
+                recording.dump(file);
+                System.out.printf("Yahtzee recording (all on):  %,9.0f games/s (%,d games, %,d bytes recorded)%n%n",
+                        recordedGames / seconds, recordedGames, Files.size(file));
+            }
+            RecordingAnalyzer.summarize(file, System.out);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Plays seeded games.
+     *
+     * @return the elapsed time in seconds
+     */
+    private static double play(GameManager manager, DiceRandom random, int games, long seed) {
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            manager.startGame();
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,161 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.metrics.GameMetrics;
+import com.ssander.yahtzee.metrics.InstrumentedGameUI;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Load check of the JMX game metrics.
+ *
+ * <p>Plays seeded headless greedy games on several threads, every game through an
+ * {@link InstrumentedGameUI} reporting to one shared {@link GameMetrics} that is
+ * registered with the platform MBean server. While the games run, the main thread reads
+ * the attributes through the MBean server, as a JMX client would, and prints them. At
+ * the end the counters must match the games played exactly. Also prints the throughput
+ * of the same games without instrumentation.</p>
+ */
+public final class JmxCheck {
+    private static final String NAME = "JmxCheck";
+    private static final int GAMES_PER_CLAIM = 256;
+    private static final long POLL_MILLIS = 500;
+
+    private JmxCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if the counters disagree with the games played.
+     *
+     * @param args optional game count, thread count and seed
+     * @throws Exception if the load fails or the MBeans cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 400_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 20_240_101L;
+
+        GameMetrics warmup = new GameMetrics();
+        run(games / 4, threads, seed, warmup);
+        run(games / 4, threads, seed, null);
+        long start = System.nanoTime();
+        run(games, threads, seed, null);
+        double plainSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Without metrics: %,.0f games/s on %d threads%n", games / plainSeconds, threads);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        GameMetrics metrics = new GameMetrics();
+        metrics.register(server, NAME);
+        ObjectName name = GameMetrics.objectName(NAME);
+        ExecutorService load = Executors.newSingleThreadExecutor();
+        try {
+            start = System.nanoTime();
+            Future<?> done = load.submit(() -> run(games, threads, seed, metrics));
+            while (!isDone(done)) {
+                Thread.sleep(POLL_MILLIS);
+                System.out.printf("  active %3d | completed %,9d | %,11.0f turns/s | turn p50 %5.1f us,"
+                                + " p99 %6.1f us, p99.9 %7.1f us%n",
+                        (Long) server.getAttribute(name, "ActiveGames"),
+                        (Long) server.getAttribute(name, "CompletedGames"),
+                        (Double) server.getAttribute(name, "TurnsPerSecond"),
+                        (Double) server.getAttribute(name, "TurnP50Micros"),
+                        (Double) server.getAttribute(name, "TurnP99Micros"),
+                        (Double) server.getAttribute(name, "TurnP999Micros"));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("With metrics:    %,.0f games/s on %d threads%n", games / seconds, threads);
+
+            long turns = games * CombinationRegistry.COMBO_COUNT;
+            long rolls = (Long) server.getAttribute(name, "Rolls");
+            boolean passed = (Long) server.getAttribute(name, "ActiveGames") == 0
+                    && (Long) server.getAttribute(name, "CompletedGames") == games
+                    && (Long) server.getAttribute(name, "Turns") == turns
+                    && (Long) server.getAttribute(name, "Scores") == turns
+                    && rolls >= turns && rolls <= 3 * turns;
+            System.out.printf("Rolls: %,d (%.2f per turn)%n", rolls, (double) rolls / turns);
+            for (String call : List.of("askRollAgain", "askKeptDice", "askCombination", "displayDice")) {
+                ObjectName callName = GameMetrics.callObjectName(NAME, call);
+                long calls = (Long) server.getAttribute(callName, "Calls");
+                System.out.printf("  %-15s %,11d calls | mean %5.2f us | p99 %5.2f us | max %8.1f us%n", call, calls,
+                        (Double) server.getAttribute(callName, "MeanMicros"),
+                        (Double) server.getAttribute(callName, "P99Micros"),
+                        (Double) server.getAttribute(callName, "MaxMicros"));
+            }
+            passed &= (Long) server.getAttribute(GameMetrics.callObjectName(NAME, "askCombination"), "Calls") == turns
+                    && (Long) server.getAttribute(GameMetrics.callObjectName(NAME, "displayDice"), "Calls") == rolls;
+            System.out.println(passed ? "JMX check PASSED" : "JMX check FAILED");
+            if (!passed) {
+                System.exit(1);
+            }
+        } finally {
+            load.shutdownNow();
+            metrics.unregister(server, NAME);
+        }
+    }
+
+    private static boolean isDone(Future<?> done) throws InterruptedException {
+        if (!done.isDone()) {
+            return false;
+        }
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load failed", e.getCause());
+        }
+        return true;
+    }
+
+    /**
+     * Plays seeded games on worker threads, through instrumented UIs if metrics are given.
+     */
+    private static void run(long games, int threads, long seed, GameMetrics metrics) {
+        AtomicLong nextGame = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> play(nextGame, games, seed, metrics)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void play(AtomicLong nextGame, long games, long seed, GameMetrics metrics) {
+        DiceRandom random = new DiceRandom(seed);
+        BotUserInterface bots = new BotUserInterface(new GreedyStrategy());
+        GameManager manager = new GameManager(metrics == null ? bots : new InstrumentedGameUI(bots, metrics), random);
+        while (true) {
+            long from = nextGame.getAndAdd(GAMES_PER_CLAIM);
+            if (from >= games) {
+                return;
+            }
+            for (long game = from; game < Math.min(games, from + GAMES_PER_CLAIM); game++) {
+                random.reseed(DiceRandom.streamSeed(seed, game));
+                manager.startGame();
+            }
+        }
+    }
+}
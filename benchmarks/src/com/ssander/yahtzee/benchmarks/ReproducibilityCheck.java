@@ -0,0 +1,63 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.Arrays;
+
+import com.ssander.yahtzee.sim.GreedyStrategy;
+import com.ssander.yahtzee.sim.Simulator;
+
+/**
+ * Verifies that seeded simulations are reproducible across thread counts.
+ *
+ * <p>Plays the same seeded greedy games with {@link Simulator#runScores(int)} on one
+ * thread and on {@value #MANY_THREADS} threads, which claim the games in a different
+ * order, and requires the per-game scores to be identical. A run with another seed must
+ * give different scores, so the check cannot pass by ignoring the seed.</p>
+ */
+public final class ReproducibilityCheck {
+    private static final int MANY_THREADS = 32;
+
+    private ReproducibilityCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if the thread count or seed handling is wrong.
+     *
+     * @param args optional game count and seed
+     * @throws InterruptedException if interrupted while the simulations run
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+
+        int[] single = play(games, 1, seed);
+        int[] many = play(games, MANY_THREADS, seed);
+        int[] reseeded = play(games, MANY_THREADS, seed + 1);
+
+        int firstDifference = Arrays.mismatch(single, many);
+        int changedGames = 0;
+        for (int game = 0; game < games; game++) {
+            if (reseeded[game] != single[game]) {
+                changedGames++;
+            }
+        }
+        System.out.printf("Same seed, 1 vs %d threads: %s%n", MANY_THREADS,
+                firstDifference < 0 ? "identical" : "first difference at game " + firstDifference);
+        System.out.printf("Seed %d vs %d: %,d of %,d games scored differently%n", seed, seed + 1, changedGames, games);
+
+        boolean passed = firstDifference < 0 && changedGames > 0;
+        System.out.println(passed ? "Reproducibility check PASSED" : "Reproducibility check FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static int[] play(int games, int threads, long seed) throws InterruptedException {
+        long start = System.nanoTime();
+        int[] scores = new Simulator(GreedyStrategy::new, threads, seed).runScores(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seed %d, %2d threads: mean score %.2f (%,.0f games/s)%n", seed, threads,
+                Arrays.stream(scores).average().orElse(0), games / seconds);
+        return scores;
+    }
+}
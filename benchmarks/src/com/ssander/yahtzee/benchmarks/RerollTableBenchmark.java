@@ -0,0 +1,72 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.solver.RerollTable;
+
+/**
+ * Measures expectation sweeps over the {@link RerollTable}.
+ * Scores are sweeps per second: one sweep computes the expected value of all 462
+ * keeps (or, for {@code turnSweep}, of a whole three-roll turn) from per-hand values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RerollTableBenchmark {
+    private final RerollTable table = RerollTable.getInstance();
+    private final RerollTable.OutcomeCursor cursor = table.outcomes();
+    private final double[] handValues = new double[CombinationRegistry.HAND_COUNT];
+    private final double[] scratchHands = new double[CombinationRegistry.HAND_COUNT];
+    private final double[] keepValues = new double[RerollTable.KEEP_COUNT];
+
+    @Setup
+    public void setUp() {
+        DiceRandom random = new DiceRandom(42);
+        for (int i = 0; i < handValues.length; i++) {
+            handValues[i] = random.nextDouble(0, 50);
+        }
+    }
+
+    @Benchmark
+    public double[] keepSweep() {
+        table.expectedValues(handValues, keepValues);
+        return keepValues;
+    }
+
+    @Benchmark
+    public double cursorSweep() {
+        double total = 0;
+        for (int keep = 0; keep < RerollTable.KEEP_COUNT; keep++) {
+            cursor.select(keep);
+            while (cursor.next()) {
+                total += cursor.probability() * handValues[cursor.handIndex()];
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double turnSweep() {
+        table.expectedValues(handValues, keepValues);
+        table.bestKeepValues(keepValues, scratchHands);
+        table.expectedValues(scratchHands, keepValues);
+        table.bestKeepValues(keepValues, scratchHands);
+        return table.expectedValue(0, scratchHands);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Verifies the precomputed score tables against an independent reference.
+ *
+ * <p>The reference is the original list-based scoring of the combination classes, kept
+ * here with its frequency maps and sets, so it shares no code with the packed hands that
+ * build the {@link CombinationRegistry} table. Every one of the 7776 ordered rolls of five
+ * dice is scored with every combination and compared with the registry table and with
+ * {@link Ruleset#standard()}.</p>
+ */
+public final class ScoreTableCheck {
+    private static final int DICE = CombinationRegistry.DICE_COUNT;
+    private static final int FACES = CombinationRegistry.FACE_COUNT;
+
+    private ScoreTableCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 on the first mismatch.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Ruleset standard = Ruleset.standard();
+        int rolls = (int) Math.pow(FACES, DICE);
+        List<Integer> values = new ArrayList<>(DICE);
+        for (int roll = 0; roll < rolls; roll++) {
+            values.clear();
+            for (int i = 0, rest = roll; i < DICE; i++, rest /= FACES) {
+                values.add(rest % FACES + 1);
+            }
+            int hand = DiceHand.fromValues(values);
+            int handIndex = CombinationRegistry.handIndex(hand);
+            int rulesIndex = standard.handIndex(hand);
+            for (int combo = 0; combo < CombinationRegistry.COMBO_COUNT; combo++) {
+                int points = referencePoints(combo, values);
+                boolean possible = referencePossible(combo, values);
+                if (CombinationRegistry.points(handIndex, combo) != points
+                        || CombinationRegistry.isPossible(handIndex, combo) != possible
+                        || standard.points(rulesIndex, combo) != points
+                        || standard.isPossible(rulesIndex, combo) != possible) {
+                    System.out.println("Mismatch in " + standard.getCategory(combo).getName() + " for dice " + values
+                            + ": reference scores " + points + (possible ? " (possible)" : " (not possible)"));
+                    System.out.println("Score table check FAILED");
+                    System.exit(1);
+                }
+            }
+        }
+        System.out.printf("Checked %,d rolls x %d combinations against the list-based reference%n", rolls,
+                CombinationRegistry.COMBO_COUNT);
+        System.out.println("Score table check PASSED");
+    }
+
+    private static int referencePoints(int combo, List<Integer> values) {
+        if (combo < FACES) {
+            int target = combo + 1;
+            int count = 0;
+            for (Integer value : values) {
+                if (value == target) {
+                    count++;
+                }
+            }
+            return count * target;
+        }
+        if (!referencePossible(combo, values)) {
+            return 0;
+        }
+        return switch (combo) {
+            case 8 -> 25;
+            case 9 -> 30;
+            case 10 -> 40;
+            case 11 -> 50;
+            default -> sum(values);
+        };
+    }
+
+    private static boolean referencePossible(int combo, List<Integer> values) {
+        Set<Integer> unique = new HashSet<>(values);
+        return switch (combo) {
+            case 6 -> maxFrequency(values) >= 3;
+            case 7 -> maxFrequency(values) >= 4;
+            case 8 -> frequencies(values).containsValue(3) && frequencies(values).containsValue(2);
+            case 9 -> unique.containsAll(List.of(1, 2, 3, 4)) || unique.containsAll(List.of(2, 3, 4, 5))
+                    || unique.containsAll(List.of(3, 4, 5, 6));
+            case 10 -> unique.size() == 5
+                    && (unique.containsAll(List.of(1, 2, 3, 4, 5)) || unique.containsAll(List.of(2, 3, 4, 5, 6)));
+            case 11 -> unique.size() == 1;
+            case 12 -> true;
+            default -> values.contains(combo + 1);
+        };
+    }
+
+    private static Map<Integer, Integer> frequencies(List<Integer> values) {
+        Map<Integer, Integer> frequency = new HashMap<>();
+        for (Integer value : values) {
+            frequency.merge(value, 1, Integer::sum);
+        }
+        return frequency;
+    }
+
+    private static int maxFrequency(List<Integer> values) {
+        int max = 0;
+        for (int count : frequencies(values).values()) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    private static int sum(List<Integer> values) {
+        int sum = 0;
+        for (Integer value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.player.Scorecard;
+
+/**
+ * Measures the heap footprint of players and score sheets.
+ *
+ * <p>Creates many complete objects and divides the bytes allocated by the current thread
+ * (via {@link com.sun.management.ThreadMXBean}) by their number, which gives the exact
+ * size of each object including everything it owns, but not shared data such as the
+ * player's name or the score sheet layout.</p>
+ */
+public final class ScorecardMemoryCheck {
+    private static final int COUNT = 1_000_000;
+
+    private ScorecardMemoryCheck() {
+        // Utility class
+    }
+
+    /**
+     * Prints the bytes per player, per score sheet snapshot and per packed sheet.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        Player template = fullPlayer();
+        Object[] keep = new Object[COUNT];
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            keep[i] = new Player("Player");
+        }
+        long playerBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            keep[i] = template.getScorecard();
+        }
+        long scorecardBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        long[] packed = new long[2 * COUNT];
+        long packedBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.printf("Player:               %5.1f bytes each%n", (double) playerBytes / COUNT);
+        System.out.printf("Scorecard snapshot:   %5.1f bytes each%n", (double) scorecardBytes / COUNT);
+        System.out.printf("Packed in a long[]:   %5.1f bytes each%n", (double) packedBytes / COUNT);
+        System.out.println("Full sheet of " + keep.length + " players and " + packed.length / 2 + " packed sheets: "
+                + template.getScorecard());
+    }
+
+    private static Player fullPlayer() {
+        CombinationRegistry registry = new CombinationRegistry();
+        Player player = new Player("Template");
+        for (int combo = 0; combo < CombinationRegistry.COMBO_COUNT; combo++) {
+            int points = CombinationRegistry.points(combo, combo);
+            player.applyScore(registry.getComboByIndex(combo), points, registry.isUpperSection(combo));
+        }
+        Scorecard.Layout layout = Scorecard.Layout.standard();
+        player.setTotalScore(player.getTotalScore() + layout.getBonusPoints());
+        player.setUpperSectionBonusAwarded(true);
+
+        Scorecard sheet = player.getScorecard();
+        Scorecard restored = Scorecard.of(layout, sheet.getLow(), sheet.getHigh());
+        if (!restored.equals(sheet) || restored.getTotalScore() != player.getTotalScore()
+                || restored.getUsedMask() != player.getUsedCombosMask()) {
+            throw new IllegalStateException("Score sheet does not add up: " + restored);
+        }
+        return player;
+    }
+}
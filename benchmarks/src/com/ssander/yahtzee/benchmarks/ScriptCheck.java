@@ -0,0 +1,201 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.ssander.yahtzee.cli.ConsoleUserInterface;
+import com.ssander.yahtzee.cli.MoveScript;
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Round-trip and throughput check of scripted console games.
+ *
+ * <p>Records seeded two-player greedy games as a {@link MoveScript}, then replays the
+ * script through a batch-mode {@link ConsoleUserInterface}: once writing every screen
+ * to a file, one write per game, once discarding the output. Every
+ * replayed game must end with the recorded scores. For comparison, some of the games are
+ * also played the old way, with interactive answers read by a {@code Scanner} and output
+ * flushed on every line, as when piping answers into the console.</p>
+ */
+public final class ScriptCheck {
+    private static final String[] NAMES = {"Ana", "Ben"};
+
+    private ScriptCheck() {
+        // Utility class
+    }
+
+    /**
+     * Runs the check and exits with status 1 if a replayed game ends with other scores.
+     *
+     * @param args optional game count and seed
+     * @throws IOException if the script or the output cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 20_240_101L;
+
+        ScriptRecorder recorder = new ScriptRecorder(games);
+        DiceRandom random = new DiceRandom(seed);
+        GameManager bots = new GameManager(new BotUserInterface(new GreedyStrategy(), NAMES.length), random);
+        bots.setEventListener(recorder);
+        for (int game = 0; game < games; game++) {
+            long gameSeed = DiceRandom.streamSeed(seed, game);
+            recorder.startGame(gameSeed);
+            random.reseed(gameSeed);
+            bots.startGame();
+        }
+
+        Path script = Files.createTempFile("yahtzee", ".moves");
+        Path screens = Files.createTempFile("yahtzee", ".out");
+        try {
+            Files.writeString(script, recorder.script);
+            System.out.printf("Script: %,d games, %,d bytes (%.0f bytes per game)%n",
+                    games, Files.size(script), (double) Files.size(script) / games);
+
+            boolean passed = true;
+            replay(script, null, recorder.scores);
+            try (OutputStream file = new FileOutputStream(screens.toFile())) {
+                long start = System.nanoTime();
+                passed &= replay(script, file, recorder.scores);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("Batch, buffered output:  %,8.0f games/s (%,d bytes of output per game)%n",
+                        games / seconds, Files.size(screens) / games);
+            }
+            long start = System.nanoTime();
+            passed &= replay(script, null, recorder.scores);
+            System.out.printf("Batch, output discarded: %,8.0f games/s%n", games / ((System.nanoTime() - start) / 1e9));
+
+            int legacyGames = Math.min(games, 2_000);
+            try (OutputStream file = new FileOutputStream(screens.toFile())) {
+                playInteractive(recorder.answers, legacyGames / 4, seed, file);
+                start = System.nanoTime();
+                playInteractive(recorder.answers, legacyGames, seed, file);
+                System.out.printf("Interactive answers:     %,8.0f games/s (Scanner input, flush per line)%n",
+                        legacyGames / ((System.nanoTime() - start) / 1e9));
+            }
+
+            System.out.println(passed ? "Script check PASSED" : "Script check FAILED");
+            if (!passed) {
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(script);
+            Files.deleteIfExists(screens);
+        }
+    }
+
+    /**
+     * Plays every game of a script through a batch-mode console.
+     *
+     * @return true if every game ended with the expected scores
+     */
+    private static boolean replay(Path script, OutputStream sink, int[] expected) throws IOException {
+        int[] scores = new int[expected.length];
+        DiceRandom random = new DiceRandom();
+        try (MoveScript moves = MoveScript.open(script)) {
+            GameManager manager = new GameManager(new ConsoleUserInterface(moves, sink), random);
+            int[] game = {0};
+            manager.setEventListener(new GameEventListener() {
+                @Override
+                public void playerFinished(int player, int totalScore) {
+                    scores[game[0] * NAMES.length + player] = totalScore;
+                }
+            });
+            while (moves.nextGame()) {
+                random.reseed(moves.getSeed());
+                manager.startGame();
+                game[0]++;
+            }
+        }
+        return Arrays.equals(scores, expected);
+    }
+
+    /**
+     * Plays games the way piped interactive input does: answers read line by line by a
+     * {@code Scanner}, a new console per game, and output flushed on every line.
+     */
+    private static void playInteractive(byte[][] answers, int games, long seed, OutputStream sink) {
+        PrintStream out = new PrintStream(new BufferedOutputStream(sink), true, StandardCharsets.UTF_8);
+        DiceRandom random = new DiceRandom();
+        for (int game = 0; game < games; game++) {
+            ConsoleUserInterface console = new ConsoleUserInterface(new ByteArrayInputStream(answers[game]), out);
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            new GameManager(console, random).startGame();
+        }
+    }
+
+    /**
+     * Writes the moves of bot games both as a script and as the answers a player would type.
+     */
+    private static final class ScriptRecorder implements GameEventListener {
+        private final StringBuilder script = new StringBuilder();
+        private final byte[][] answers;
+        private final int[] scores;
+        private final StringBuilder typed = new StringBuilder();
+        private int game = -1;
+        private int rerolls;
+
+        ScriptRecorder(int games) {
+            this.answers = new byte[games][];
+            this.scores = new int[games * NAMES.length];
+        }
+
+        void startGame(long seed) {
+            game++;
+            script.append("game ").append(seed);
+            typed.setLength(0);
+            typed.append(NAMES.length).append('\n');
+            for (String name : NAMES) {
+                script.append(' ').append(name);
+                typed.append(name).append('\n');
+            }
+            script.append('\n');
+        }
+
+        @Override
+        public void turnStarted(int player) {
+            rerolls = 0;
+        }
+
+        @Override
+        public void diceKept(int player, int keptMask) {
+            script.append(keptMask == 0 ? "-" : "");
+            typed.append("yes\n");
+            for (int die = 0; die < 6; die++) {
+                if ((keptMask & 1 << die) != 0) {
+                    script.append(die + 1);
+                    typed.append(die + 1).append('\n');
+                }
+            }
+            script.append(' ');
+            typed.append('\n');
+            rerolls++;
+        }
+
+        @Override
+        public void comboScored(int player, int comboIndex, int points) {
+            script.append(comboIndex + 1).append('\n');
+            typed.append(rerolls < 2 ? "no\n" : "").append(comboIndex + 1).append('\n');
+        }
+
+        @Override
+        public void playerFinished(int player, int totalScore) {
+            scores[game * NAMES.length + player] = totalScore;
+            if (player == NAMES.length - 1) {
+                answers[game] = typed.toString().getBytes(StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
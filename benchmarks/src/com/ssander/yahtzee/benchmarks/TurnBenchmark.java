@@ -0,0 +1,46 @@
+package com.ssander.yahtzee.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.sim.BotUserInterface;
+import com.ssander.yahtzee.sim.GreedyStrategy;
+
+/**
+ * Plays headless single-player games through the real {@link GameManager} turn loop.
+ * Each invocation is a full game, reported per turn (13 turns per game).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TurnBenchmark {
+    private GameManager manager;
+
+    @Setup
+    public void setUp() {
+        manager = new GameManager(new BotUserInterface(new GreedyStrategy()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CombinationRegistry.COMBO_COUNT)
+    public int playOneTurn() {
+        manager.startGame();
+        return manager.getPlayers().get(0).getTotalScore();
+    }
+}
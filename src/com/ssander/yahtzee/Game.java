@@ -1,7 +1,25 @@
 package com.ssander.yahtzee;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
 import com.ssander.yahtzee.cli.ConsoleUserInterface;
+import com.ssander.yahtzee.cli.MoveScript;
 import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.replay.GameLogWriter;
+import com.ssander.yahtzee.rules.RulesDefinition;
+import com.ssander.yahtzee.rules.Ruleset;
+import com.ssander.yahtzee.sim.WinProbabilityEstimator;
+import com.ssander.yahtzee.solver.MoveAdvisor;
 import com.ssander.yahtzee.ui.GameUI;
 
 /**
@@ -9,18 +27,143 @@ import com.ssander.yahtzee.ui.GameUI;
  * Creates a game manager and starts the game.
  */
 public final class Game {
+    private static final long DEFAULT_ADVISOR_BUDGET_MILLIS = 50;
+    private static final long MAX_ADVISOR_BUDGET_MILLIS = 60_000;
+    private static final int SCRIPT_OUTPUT_BUFFER_BYTES = 64 * 1024;
+    private static final String STANDARD_INPUT = "-";
+    private static final String USAGE =
+            "Usage: Game [--maxi] [--advisor[=millis]] [--odds] [--script[=file] [--quiet]] [event log file]";
+
     private Game() {
         // Utility class
     }
 
     /**
      * Main method to launch the Yahtzee game.
+     * Usage: {@code Game [--maxi] [--advisor[=millis]] [--odds] [--script[=file] [--quiet]] [event log file]}.
+     * {@code --maxi} plays Maxi Yahtzee (six dice, 20 combinations). The advisor
+     * shows the best move after every roll, answering within the given budget (50 ms by
+     * default); {@code --odds} shows each player's chance of winning after every round of
+     * a multiplayer game; with a file, every roll, keep decision and score is recorded
+     * there for later replay. Advice, win chances and event logs need standard rules.
+     * {@code --script} plays the games of a {@link MoveScript} from the file (or standard
+     * input) without prompting; {@code --quiet} prints only their final scores. An
+     * advisor budget that is not between 1 ms and one minute prints the usage.
+     *
+     * @param args optional flags and path of a binary event log to write
+     * @throws IOException if the event log cannot be written or the move script cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        long advisorMillis = 0;
+        WinProbabilityEstimator estimator = null;
+        Path logFile = null;
+        String script = null;
+        boolean quiet = false;
+        Ruleset rules = Ruleset.standard();
+        for (String arg : args) {
+            if (arg.equals("--script")) {
+                script = STANDARD_INPUT;
+            } else if (arg.startsWith("--script=")) {
+                script = arg.substring("--script=".length());
+            } else if (arg.equals("--quiet")) {
+                quiet = true;
+            } else if (arg.equals("--maxi")) {
+                rules = RulesDefinition.maxi().compile();
+            } else if (arg.equals("--advisor")) {
+                advisorMillis = DEFAULT_ADVISOR_BUDGET_MILLIS;
+            } else if (arg.startsWith("--advisor=")) {
+                advisorMillis = parseMillis(arg.substring("--advisor=".length()));
+                if (advisorMillis <= 0 || advisorMillis > MAX_ADVISOR_BUDGET_MILLIS) {
+                    System.out.println("Invalid advisor budget '" + arg.substring("--advisor=".length())
+                            + "', expected 1 to " + MAX_ADVISOR_BUDGET_MILLIS + " milliseconds.");
+                    System.out.println(USAGE);
+                    return;
+                }
+            } else if (arg.equals("--odds")) {
+                estimator = new WinProbabilityEstimator();
+            } else {
+                logFile = Path.of(arg);
+            }
+        }
+
+        if (rules != Ruleset.standard() && (advisorMillis > 0 || estimator != null || logFile != null)) {
+            System.out.println("The advisor, win chances and event log are only available with standard rules.");
+            return;
+        }
+        if (script != null) {
+            if (advisorMillis > 0 || estimator != null) {
+                System.out.println("The advisor and win chances are not available for scripted games.");
+                return;
+            }
+            playScript(script, quiet, rules, logFile);
+            return;
+        }
+
+        // Add shutdown hook for Ctrl+C
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+            System.out.println("\n\nGame aborted. Closing now...")
+        ));
+
+        MoveAdvisor advisor = advisorMillis > 0 ? new MoveAdvisor(Duration.ofMillis(advisorMillis)) : null;
+        GameUI ui = new ConsoleUserInterface(System.in, System.out, advisor, estimator);
+        GameManager manager = new GameManager(ui, new DiceRandom(), rules);
+        try (GameLogWriter log = logFile != null ? new GameLogWriter(logFile) : null) {
+            if (log != null) {
+                manager.setEventListener(log);
+            }
+            manager.startGame();
+        } finally {
+            if (advisor != null) {
+                advisor.close();
+            }
+        }
+    }
+
+    /**
+     * Parses a time budget in milliseconds. Anything that is not a number maps to 0,
+     * which the caller rejects like any other budget out of range.
      *
-     * @param args command line arguments (not used)
+     * @param value the raw option value
+     * @return the parsed milliseconds, or 0 if the value is not a number
+     */
+    private static long parseMillis(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Plays every game of a move script through the console in batch mode. The output of
+     * each game is written in one piece when the game ends; quiet runs discard the game
+     * screens and print one line of final scores per game instead.
      */
-    public static void main(String[] args) {
-        GameUI ui = new ConsoleUserInterface();
-        GameManager manager = new GameManager(ui);
-        manager.startGame();
+    private static void playScript(String source, boolean quiet, Ruleset rules, Path logFile) throws IOException {
+        PrintStream stdout = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                SCRIPT_OUTPUT_BUFFER_BYTES), false, StandardCharsets.UTF_8);
+        DiceRandom random = new DiceRandom();
+        try (MoveScript moves = source.equals(STANDARD_INPUT)
+                     ? new MoveScript(new FileInputStream(FileDescriptor.in).getChannel())
+                     : MoveScript.open(Path.of(source));
+             GameLogWriter log = logFile != null ? new GameLogWriter(logFile) : null) {
+            GameManager manager = new GameManager(new ConsoleUserInterface(moves, quiet ? null : stdout), random, rules);
+            if (log != null) {
+                manager.setEventListener(log);
+            }
+            while (moves.nextGame()) {
+                random.reseed(moves.getSeed());
+                manager.startGame();
+                if (quiet) {
+                    stdout.print("game " + moves.getSeed() + ":");
+                    for (Player player : manager.getPlayers()) {
+                        stdout.print(" " + player.getPlayerName() + " " + player.getTotalScore());
+                    }
+                    stdout.println();
+                }
+            }
+        } finally {
+            stdout.flush();
+        }
     }
 }
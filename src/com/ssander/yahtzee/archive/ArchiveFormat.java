@@ -0,0 +1,103 @@
+package com.ssander.yahtzee.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * On-disk layout of a game archive.
+ *
+ * <p>An archive is a directory of chunk files named {@code games-000000.yca},
+ * {@code games-000001.yca} and so on (or {@code games-<writer>-000000.yca} when several
+ * writers share the directory), each holding up to {@link #CHUNK_ROWS} rows. A row
+ * is one player's result in one completed game; the rows of a game are consecutive, in
+ * seat order. Every chunk is little-endian:</p>
+ * <pre>
+ *  int    magic, int version
+ *  int    row count, int game count
+ *  int    column count, then every column name
+ *  int    player name count, then every player name (the dictionary of the player column)
+ *  per column:
+ *    byte   encoding (frame of reference or dictionary)
+ *    byte   bits per value
+ *    long   base: the minimum value (frame of reference only)
+ *    int    dictionary size, then the distinct values as longs, ascending (dictionary only)
+ *    int    word count, then the bit-packed values as longs
+ * </pre>
+ * <p>Names are a short byte length followed by UTF-8 bytes. Values are packed least
+ * significant bit first and may straddle two words; a frame-of-reference value is stored
+ * as its difference from the base, a dictionary value as its index among the distinct
+ * values. A column whose values are all equal takes no bits. The packed words end with
+ * a padding word, so a reader can always fetch the word after the current one.</p>
+ */
+final class ArchiveFormat {
+    static final int MAGIC = 0x41435A59; // "YZCA" in little-endian byte order
+    static final int VERSION = 1;
+    static final int CHUNK_ROWS = 1 << 16;
+    static final String CHUNK_PREFIX = "games-";
+    static final String CHUNK_SUFFIX = ".yca";
+
+    static final byte FRAME_OF_REFERENCE = 0;
+    static final byte DICTIONARY = 1;
+
+    /** Columns before the per-category score columns. */
+    static final String SEAT = "seat";
+    static final String PLAYER = "player";
+    static final String TIMESTAMP = "timestamp";
+    static final String BONUS = "bonus";
+    static final String TOTAL = "total";
+    static final String[] FIXED_COLUMNS = {SEAT, PLAYER, TIMESTAMP, BONUS, TOTAL};
+    static final int SEAT_COLUMN = 0;
+    static final int PLAYER_COLUMN = 1;
+    static final int TIMESTAMP_COLUMN = 2;
+    static final int BONUS_COLUMN = 3;
+    static final int TOTAL_COLUMN = 4;
+    static final int FIRST_CATEGORY_COLUMN = FIXED_COLUMNS.length;
+
+    private ArchiveFormat() {
+        // Utility class
+    }
+
+    /**
+     * Gets the start of the chunk file names of a writer, up to the chunk number.
+     */
+    static String chunkPrefix(String writerPrefix) {
+        return writerPrefix.isEmpty() ? CHUNK_PREFIX : CHUNK_PREFIX + writerPrefix + "-";
+    }
+
+    static String chunkName(String writerPrefix, int index) {
+        return String.format("%s%06d%s", chunkPrefix(writerPrefix), index, CHUNK_SUFFIX);
+    }
+
+    static boolean isChunkName(String fileName) {
+        return fileName.startsWith(CHUNK_PREFIX) && fileName.endsWith(CHUNK_SUFFIX);
+    }
+
+    /**
+     * Gets the number of bits needed to store every value from 0 to the given one.
+     */
+    static int bitsFor(long maxValue) {
+        return 64 - Long.numberOfLeadingZeros(maxValue);
+    }
+
+    /**
+     * Gets the number of words holding the given number of packed values, padding included.
+     */
+    static int wordCount(int values, int bits) {
+        return bits == 0 ? 0 : (int) (((long) values * bits + 63) / 64) + 1;
+    }
+
+    static int nameBytes(String name) {
+        return Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    static void putName(ByteBuffer buffer, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    static String getName(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ssander.yahtzee.archive;
+
+/**
+ * Aggregate of one archive column: the count, sum, minimum and maximum of its values.
+ */
+public final class ColumnStats {
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    ColumnStats() {
+    }
+
+    /**
+     * Adds a value that occurs a number of times.
+     */
+    void add(long value, long times) {
+        if (times > 0) {
+            count += times;
+            sum += value * times;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    /**
+     * Adds the aggregate of a run of values.
+     */
+    void merge(long runCount, long runSum, long runMin, long runMax) {
+        if (runCount > 0) {
+            count += runCount;
+            sum += runSum;
+            min = Math.min(min, runMin);
+            max = Math.max(max, runMax);
+        }
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the row count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values.
+     *
+     * @return the sum
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the smallest value.
+     *
+     * @return the minimum, or 0 if there are no values
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @return the maximum, or 0 if there are no values
+     */
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Gets the mean of the values.
+     *
+     * @return the mean, or 0 if there are no values
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ColumnStats[count=%d, mean=%.2f, min=%d, max=%d]", count, getMean(), getMin(), getMax());
+    }
+}
@@ -0,0 +1,323 @@
+package com.ssander.yahtzee.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reads a columnar game archive written by {@link GameArchiveWriter}.
+ *
+ * <p>Every chunk file is memory-mapped once when the archive is opened; only the chunk
+ * headers are parsed then. A scan decodes a single column straight from the mappings, so
+ * aggregating one column of millions of games touches a few bits per game and allocates
+ * nothing per row. Dictionary-encoded columns are aggregated by counting their codes, and
+ * columns whose values are all equal within a chunk are not read at all.</p>
+ */
+public class GameArchiveReader {
+    private final List<Chunk> chunks;
+    private final List<String> columnNames;
+    private final long games;
+    private final long rows;
+    private final long sizeBytes;
+
+    /**
+     * Opens an archive and checks the header of every chunk.
+     *
+     * @param directory the archive directory
+     * @throws IOException if a chunk cannot be read, is not an archive chunk, or has other columns
+     */
+    public GameArchiveReader(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> ArchiveFormat.isChunkName(file.getFileName().toString())).sorted().toList();
+        }
+        List<Chunk> opened = new ArrayList<>(files.size());
+        long gameCount = 0;
+        long rowCount = 0;
+        long size = 0;
+        for (Path file : files) {
+            Chunk chunk = Chunk.map(file);
+            if (!opened.isEmpty() && !Arrays.equals(chunk.columnNames, opened.get(0).columnNames)) {
+                throw new IOException("Archive chunk " + file + " has other columns than " + files.get(0));
+            }
+            opened.add(chunk);
+            gameCount += chunk.games;
+            rowCount += chunk.rows;
+            size += Files.size(file);
+        }
+        this.chunks = opened;
+        this.columnNames = opened.isEmpty() ? List.of() : List.of(opened.get(0).columnNames);
+        this.games = gameCount;
+        this.rows = rowCount;
+        this.sizeBytes = size;
+    }
+
+    /**
+     * Gets the number of archived games.
+     *
+     * @return the game count
+     */
+    public long getGameCount() {
+        return games;
+    }
+
+    /**
+     * Gets the number of rows, one per player per game.
+     *
+     * @return the row count
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of chunk files.
+     *
+     * @return the chunk count
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Gets the total size of the chunk files.
+     *
+     * @return the size in bytes
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Gets the names of the columns: {@code seat}, {@code player} (a dictionary code),
+     * {@code timestamp} (epoch milliseconds at the end of the game), {@code bonus} (1 if the
+     * upper section bonus was awarded), {@code total}, then one column per category, named
+     * after it.
+     *
+     * @return the column names, or an empty list if the archive is empty
+     */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * Aggregates every value of a column.
+     *
+     * @param column the column name
+     * @return the count, sum, minimum and maximum of the column
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public ColumnStats scan(String column) {
+        int index = columnIndex(column);
+        ColumnStats stats = new ColumnStats();
+        for (Chunk chunk : chunks) {
+            chunk.columns[index].aggregate(chunk.rows, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Aggregates a column separately for every player name.
+     *
+     * @param column the column name
+     * @return the aggregate of each player's rows, by player name in order of first appearance
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public Map<String, ColumnStats> scanByPlayer(String column) {
+        int index = columnIndex(column);
+        Map<String, ColumnStats> byPlayer = new LinkedHashMap<>();
+        for (Chunk chunk : chunks) {
+            ColumnStats[] stats = new ColumnStats[chunk.playerNames.length];
+            for (int code = 0; code < stats.length; code++) {
+                stats[code] = byPlayer.computeIfAbsent(chunk.playerNames[code], name -> new ColumnStats());
+            }
+            Column player = chunk.columns[ArchiveFormat.PLAYER_COLUMN];
+            Column value = chunk.columns[index];
+            BitReader players = player.reader();
+            BitReader values = value.reader();
+            for (int row = 0; row < chunk.rows; row++) {
+                stats[(int) player.decode(players.next())].add(value.decode(values.next()), 1);
+            }
+        }
+        return Collections.unmodifiableMap(byPlayer);
+    }
+
+    private int columnIndex(String column) {
+        int index = columnNames.indexOf(column);
+        if (index < 0 && !chunks.isEmpty()) {
+            throw new IllegalArgumentException("No such archive column: " + column);
+        }
+        return index;
+    }
+
+    /**
+     * Prints the size of an archive and the mean, minimum and maximum of every column.
+     *
+     * @param args the archive directory
+     * @throws IOException if the archive cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: GameArchiveReader <archive directory>");
+            return;
+        }
+        GameArchiveReader archive = new GameArchiveReader(Path.of(args[0]));
+        System.out.printf("%,d games, %,d rows in %d chunks, %,d bytes (%.2f bytes per game)%n",
+                archive.getGameCount(), archive.getRowCount(), archive.getChunkCount(), archive.getSizeBytes(),
+                archive.getGameCount() == 0 ? 0.0 : (double) archive.getSizeBytes() / archive.getGameCount());
+        for (String column : archive.getColumnNames()) {
+            if (column.equals(ArchiveFormat.PLAYER) || column.equals(ArchiveFormat.TIMESTAMP)) {
+                continue;
+            }
+            ColumnStats stats = archive.scan(column);
+            System.out.printf("  %-16s mean %7.2f  min %4d  max %4d%n", column, stats.getMean(), stats.getMin(),
+                    stats.getMax());
+        }
+    }
+
+    /** The parsed header of one mapped chunk file. */
+    private record Chunk(int rows, int games, String[] columnNames, String[] playerNames, Column[] columns) {
+        static Chunk map(Path file) throws IOException {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            try {
+                if (buffer.getInt() != ArchiveFormat.MAGIC) {
+                    throw new IOException("Not a game archive chunk: " + file);
+                }
+                int version = buffer.getInt();
+                if (version != ArchiveFormat.VERSION) {
+                    throw new IOException("Unsupported game archive version " + version + ": " + file);
+                }
+                int rows = buffer.getInt();
+                int games = buffer.getInt();
+                String[] columnNames = new String[buffer.getInt()];
+                for (int i = 0; i < columnNames.length; i++) {
+                    columnNames[i] = ArchiveFormat.getName(buffer);
+                }
+                String[] playerNames = new String[buffer.getInt()];
+                for (int i = 0; i < playerNames.length; i++) {
+                    playerNames[i] = ArchiveFormat.getName(buffer);
+                }
+                Column[] columns = new Column[columnNames.length];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Column.read(buffer, rows);
+                }
+                return new Chunk(rows, games, columnNames, playerNames, columns);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt game archive chunk: " + file, e);
+            }
+        }
+    }
+
+    /** One encoded column of a chunk, with its packed words still in the mapping. */
+    private record Column(byte kind, int bits, long base, long[] dictionary, ByteBuffer words) {
+        static Column read(ByteBuffer buffer, int rows) {
+            byte kind = buffer.get();
+            int bits = buffer.get();
+            long base = buffer.getLong();
+            long[] dictionary = null;
+            if (kind == ArchiveFormat.DICTIONARY) {
+                dictionary = new long[buffer.getInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = buffer.getLong();
+                }
+            } else if (kind != ArchiveFormat.FRAME_OF_REFERENCE) {
+                throw new IllegalStateException("Unknown column encoding " + kind);
+            }
+            int wordCount = buffer.getInt();
+            if (bits < 0 || bits > 64 || wordCount != ArchiveFormat.wordCount(rows, bits)) {
+                throw new IllegalStateException("Bad packed column: " + bits + " bits, " + wordCount + " words");
+            }
+            ByteBuffer words = buffer.slice(buffer.position(), wordCount * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(buffer.position() + wordCount * Long.BYTES);
+            return new Column(kind, bits, base, dictionary, words);
+        }
+
+        void aggregate(int rows, ColumnStats stats) {
+            if (bits == 0) {
+                stats.add(decode(0), rows);
+                return;
+            }
+            BitReader reader = reader();
+            if (dictionary != null) {
+                long[] counts = new long[dictionary.length];
+                for (int row = 0; row < rows; row++) {
+                    counts[(int) reader.next()]++;
+                }
+                for (int code = 0; code < counts.length; code++) {
+                    stats.add(dictionary[code], counts[code]);
+                }
+                return;
+            }
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = 0;
+            for (int row = 0; row < rows; row++) {
+                long value = reader.next();
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            stats.merge(rows, base * rows + sum, base + min, base + max);
+        }
+
+        long decode(long packed) {
+            return dictionary != null ? dictionary[(int) packed] : base + packed;
+        }
+
+        BitReader reader() {
+            return new BitReader(words, bits);
+        }
+    }
+
+    /** Unpacks the values of a column one after another. */
+    private static final class BitReader {
+        private final ByteBuffer words;
+        private final int bits;
+        private final long mask;
+        private int nextWord;
+        private long current;
+        private int used;
+
+        BitReader(ByteBuffer words, int bits) {
+            this.words = words;
+            this.bits = bits;
+            this.mask = bits == 64 ? -1L : (1L << bits) - 1;
+            if (bits > 0) {
+                current = words.getLong(0);
+                nextWord = 1;
+            }
+        }
+
+        /**
+         * Gets the next packed value; the padding word makes the look-ahead safe.
+         */
+        long next() {
+            if (bits == 0) {
+                return 0;
+            }
+            long value = current >>> used;
+            used += bits;
+            if (used >= 64) {
+                used -= 64;
+                current = words.getLong(nextWord++ * Long.BYTES);
+                if (used > 0) {
+                    value |= current << (bits - used);
+                }
+            }
+            return value & mask;
+        }
+    }
+}
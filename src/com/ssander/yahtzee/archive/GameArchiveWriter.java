@@ -0,0 +1,317 @@
+package com.ssander.yahtzee.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Appends completed games to a columnar archive (see {@link ArchiveFormat} for the layout).
+ *
+ * <p>Register an instance with {@link GameManager#setArchive(GameArchiveWriter)}; at the
+ * end of every game it receives the players in seat order and copies their name, upper
+ * section bonus, total and the points of every category into preallocated column arrays,
+ * so archiving a game allocates nothing. Every {@value ArchiveFormat#CHUNK_ROWS} rows
+ * the columns are encoded into a chunk file: each column is bit-packed with just enough
+ * bits for its range, or as indexes into its distinct values when that is narrower (a
+ * full house scores 0 or 25, so it takes one bit), and player names are replaced by
+ * indexes into a per-chunk dictionary. A standard single-player game takes about eight
+ * bytes.</p>
+ *
+ * <p>Chunks are written to a temporary file and then renamed, so readers only ever see
+ * complete chunks. Writing into a directory that already holds an archive adds new chunks
+ * after the existing ones. Instances are not thread-safe; give every thread its own
+ * directory, or its own writer with a {@linkplain #GameArchiveWriter(Path, Ruleset, String)
+ * chunk prefix}.</p>
+ */
+public class GameArchiveWriter implements Closeable {
+    private final Path directory;
+    private final Ruleset rules;
+    private final String prefix;
+    private final String[] columnNames;
+    private final long[][] columns;
+    private final Map<String, Integer> playerCodes = new HashMap<>();
+    private final List<String> playerNames = new ArrayList<>();
+    private int nextChunk;
+    private int rows;
+    private int games;
+    private long archivedGames;
+    private long bytesWritten;
+
+    /**
+     * Opens an archive directory for appending, creating it if needed.
+     *
+     * @param directory the archive directory
+     * @param rules the rules of every archived game, which fix the score columns
+     * @throws IOException if the directory cannot be created or listed
+     */
+    public GameArchiveWriter(Path directory, Ruleset rules) throws IOException {
+        this(directory, rules, "");
+    }
+
+    /**
+     * Opens an archive directory for appending, naming this writer's chunks with an extra
+     * prefix, e.g. the thread that plays the games, so several writers can share a
+     * directory.
+     *
+     * @param directory the archive directory
+     * @param rules the rules of every archived game, which fix the score columns
+     * @param prefix the prefix of this writer's chunk file names, made of letters and digits
+     * @throws IOException if the directory cannot be created or listed
+     */
+    public GameArchiveWriter(Path directory, Ruleset rules, String prefix) throws IOException {
+        if (!prefix.chars().allMatch(Character::isLetterOrDigit)) {
+            throw new IllegalArgumentException("Chunk prefix must be letters and digits: " + prefix);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.rules = rules;
+        this.prefix = prefix;
+        int fixed = ArchiveFormat.FIRST_CATEGORY_COLUMN;
+        this.columnNames = new String[fixed + rules.getCategoryCount()];
+        System.arraycopy(ArchiveFormat.FIXED_COLUMNS, 0, columnNames, 0, fixed);
+        for (int category = 0; category < rules.getCategoryCount(); category++) {
+            columnNames[fixed + category] = rules.getCombinations().get(category).getComboName();
+        }
+        this.columns = new long[columnNames.length][ArchiveFormat.CHUNK_ROWS];
+        this.nextChunk = nextChunkIndex();
+    }
+
+    private int nextChunkIndex() throws IOException {
+        String chunkPrefix = ArchiveFormat.chunkPrefix(prefix);
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> ArchiveFormat.isChunkName(name) && name.startsWith(chunkPrefix))
+                    .map(name -> name.substring(chunkPrefix.length(), name.length() - ArchiveFormat.CHUNK_SUFFIX.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .mapToInt(number -> Integer.parseInt(number) + 1)
+                    .max().orElse(0);
+        }
+    }
+
+    /**
+     * Gets the rules of the archived games.
+     *
+     * @return the ruleset
+     */
+    public Ruleset getRules() {
+        return rules;
+    }
+
+    /**
+     * Archives a completed game.
+     *
+     * @param players the players of the game in seat order, with complete score sheets
+     * @throws UncheckedIOException if a full chunk cannot be written
+     */
+    public void append(List<Player> players) {
+        if (rows + players.size() > ArchiveFormat.CHUNK_ROWS) {
+            flushChunk();
+        }
+        long timestamp = System.currentTimeMillis();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            columns[ArchiveFormat.SEAT_COLUMN][rows] = seat;
+            columns[ArchiveFormat.PLAYER_COLUMN][rows] = playerCode(player.getPlayerName());
+            columns[ArchiveFormat.TIMESTAMP_COLUMN][rows] = timestamp;
+            columns[ArchiveFormat.BONUS_COLUMN][rows] = player.isUpperSectionBonusAwarded() ? 1 : 0;
+            columns[ArchiveFormat.TOTAL_COLUMN][rows] = player.getTotalScore();
+            for (int category = 0; category < columns.length - ArchiveFormat.FIRST_CATEGORY_COLUMN; category++) {
+                columns[ArchiveFormat.FIRST_CATEGORY_COLUMN + category][rows] = player.getComboScore(category);
+            }
+            rows++;
+        }
+        games++;
+        archivedGames++;
+    }
+
+    private int playerCode(String name) {
+        Integer code = playerCodes.get(name);
+        if (code == null) {
+            code = playerNames.size();
+            playerCodes.put(name, code);
+            playerNames.add(name);
+        }
+        return code;
+    }
+
+    /**
+     * Gets the number of games archived by this writer.
+     *
+     * @return the game count
+     */
+    public long getArchivedGames() {
+        return archivedGames;
+    }
+
+    /**
+     * Gets the number of bytes this writer has written to chunk files so far.
+     *
+     * @return the byte count of the complete chunks
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Writes the games archived since the last full chunk as a final, smaller chunk.
+     *
+     * @throws IOException if the chunk cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                flushChunk();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void flushChunk() {
+        ColumnEncoding[] encodings = new ColumnEncoding[columns.length];
+        int size = 5 * Integer.BYTES + Integer.BYTES;
+        for (int column = 0; column < columns.length; column++) {
+            encodings[column] = ColumnEncoding.choose(columns[column], rows);
+            size += ArchiveFormat.nameBytes(columnNames[column]) + encodings[column].bytes(rows);
+        }
+        for (String name : playerNames) {
+            size += ArchiveFormat.nameBytes(name);
+        }
+
+        ByteBuffer chunk = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        chunk.putInt(ArchiveFormat.MAGIC).putInt(ArchiveFormat.VERSION).putInt(rows).putInt(games);
+        chunk.putInt(columns.length);
+        for (String name : columnNames) {
+            ArchiveFormat.putName(chunk, name);
+        }
+        chunk.putInt(playerNames.size());
+        for (String name : playerNames) {
+            ArchiveFormat.putName(chunk, name);
+        }
+        for (int column = 0; column < columns.length; column++) {
+            encodings[column].write(columns[column], rows, chunk);
+        }
+        chunk.flip();
+
+        Path file = directory.resolve(ArchiveFormat.chunkName(prefix, nextChunk));
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive chunk " + file, e);
+        }
+        try {
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive chunk " + file, e);
+        }
+        nextChunk++;
+        bytesWritten += size;
+        rows = 0;
+        games = 0;
+        playerCodes.clear();
+        playerNames.clear();
+    }
+
+    /**
+     * The narrowest encoding of one column of a chunk.
+     */
+    private record ColumnEncoding(byte kind, int bits, long base, long[] dictionary, int[] codes) {
+        /** Columns spanning more values than this are never dictionary encoded. */
+        private static final int MAX_DICTIONARY_RANGE_BITS = 16;
+
+        static ColumnEncoding choose(long[] values, int count) {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            int bits = ArchiveFormat.bitsFor(max - min);
+            if (bits <= 1 || bits > MAX_DICTIONARY_RANGE_BITS) {
+                return new ColumnEncoding(ArchiveFormat.FRAME_OF_REFERENCE, bits, min, null, null);
+            }
+
+            long[] present = new long[((1 << bits) + 63) / 64];
+            for (int i = 0; i < count; i++) {
+                long offset = values[i] - min;
+                present[(int) (offset >>> 6)] |= 1L << offset;
+            }
+            int distinct = 0;
+            for (long word : present) {
+                distinct += Long.bitCount(word);
+            }
+            int codeBits = ArchiveFormat.bitsFor(distinct - 1);
+            if (codeBits >= bits) {
+                return new ColumnEncoding(ArchiveFormat.FRAME_OF_REFERENCE, bits, min, null, null);
+            }
+            long[] dictionary = new long[distinct];
+            int[] codes = new int[1 << bits];
+            int code = 0;
+            for (int offset = 0; offset < codes.length; offset++) {
+                if ((present[offset >>> 6] & 1L << offset) != 0) {
+                    dictionary[code] = min + offset;
+                    codes[offset] = code++;
+                }
+            }
+            return new ColumnEncoding(ArchiveFormat.DICTIONARY, codeBits, min, dictionary, codes);
+        }
+
+        int bytes(int count) {
+            int header = 2 + Long.BYTES + (dictionary != null ? Integer.BYTES + dictionary.length * Long.BYTES : 0);
+            return header + Integer.BYTES + ArchiveFormat.wordCount(count, bits) * Long.BYTES;
+        }
+
+        void write(long[] values, int count, ByteBuffer out) {
+            out.put(kind).put((byte) bits).putLong(base);
+            if (dictionary != null) {
+                out.putInt(dictionary.length);
+                for (long value : dictionary) {
+                    out.putLong(value);
+                }
+            }
+            int words = ArchiveFormat.wordCount(count, bits);
+            out.putInt(words);
+            long word = 0;
+            int used = 0;
+            int written = 0;
+            for (int i = 0; i < count && bits > 0; i++) {
+                long packed = values[i] - base;
+                if (codes != null) {
+                    packed = codes[(int) packed];
+                }
+                word |= packed << used;
+                used += bits;
+                if (used >= 64) {
+                    out.putLong(word);
+                    written++;
+                    used -= 64;
+                    word = used == 0 ? 0 : packed >>> (bits - used);
+                }
+            }
+            for (; written < words; written++) {
+                out.putLong(word);
+                word = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ssander.yahtzee.batch;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Scores many five-dice hands at once with all 13 combinations.
+ *
+ * <p>Hands are passed as struct-of-arrays columns: {@code dice[d][i]} is the value
+ * (1-6) of die {@code d} in hand {@code i}, and {@code scores[c][i]} receives the points
+ * of combination {@code c} for hand {@code i}. The caller's arrays are read and written
+ * in place, so scoring copies nothing and allocates nothing. Scores equal those of the
+ * {@link com.ssander.yahtzee.combos.Combination} classes.</p>
+ *
+ * <p>{@link #create()} returns a SIMD implementation built on the incubating Vector API
+ * when the JVM runs with {@code --add-modules jdk.incubator.vector}, and a scalar
+ * table-lookup implementation otherwise.</p>
+ */
+public interface BatchScorer {
+    /**
+     * Scores hands {@code from} (inclusive) to {@code to} (exclusive).
+     *
+     * @param dice {@link CombinationRegistry#DICE_COUNT} columns of die values
+     * @param scores {@link CombinationRegistry#COMBO_COUNT} columns receiving the points
+     * @param from the first hand to score
+     * @param to one past the last hand to score
+     */
+    void score(byte[][] dice, byte[][] scores, int from, int to);
+
+    /**
+     * Gets a short description of the implementation, e.g. for benchmark output.
+     *
+     * @return the implementation name
+     */
+    String name();
+
+    /**
+     * Creates the fastest scorer available in this JVM.
+     *
+     * @return a vectorized scorer if the Vector API module is present, otherwise a scalar one
+     */
+    static BatchScorer create() {
+        try {
+            return (BatchScorer) Class.forName("com.ssander.yahtzee.batch.VectorBatchScorer")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return scalar();
+        }
+    }
+
+    /**
+     * Creates the scalar scorer, which works on every JVM.
+     *
+     * @return a scorer using the precomputed score table
+     */
+    static BatchScorer scalar() {
+        return new ScalarBatchScorer();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ssander.yahtzee.batch;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Scores each hand by packing it, ranking it and copying its row of the
+ * {@link CombinationRegistry} score table. Also scores the tail that does not fill a
+ * whole vector in {@link VectorBatchScorer}.
+ */
+final class ScalarBatchScorer implements BatchScorer {
+    private static final int COMBOS = CombinationRegistry.COMBO_COUNT;
+
+    @Override
+    public void score(byte[][] dice, byte[][] scores, int from, int to) {
+        byte[] d0 = dice[0];
+        byte[] d1 = dice[1];
+        byte[] d2 = dice[2];
+        byte[] d3 = dice[3];
+        byte[] d4 = dice[4];
+        for (int i = from; i < to; i++) {
+            int hand = DiceHand.withDie(DiceHand.withDie(DiceHand.withDie(DiceHand.withDie(DiceHand.withDie(
+                    DiceHand.EMPTY, d0[i]), d1[i]), d2[i]), d3[i]), d4[i]);
+            int handIndex = CombinationRegistry.handIndex(hand);
+            for (int combo = 0; combo < COMBOS; combo++) {
+                scores[combo][i] = (byte) CombinationRegistry.points(handIndex, combo);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar table lookup";
+    }
+}
@@ -0,0 +1,113 @@
+package com.ssander.yahtzee.batch;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scores one vector of hands per step with the Vector API: every lane holds one hand,
+ * so all per-face counts, the dice sum and each combination's test are computed for
+ * 16 to 64 hands at a time (depending on the CPU's vector width), without branches.
+ * Hands that do not fill a whole vector are scored by {@link ScalarBatchScorer}.
+ *
+ * <p>Each tile of hands is scored in two passes, counting faces and then testing the
+ * combinations, with the counts kept in the output columns in between. Doing it all in
+ * one loop body exceeds the JIT's inlining budget, and vectors in calls that are not
+ * inlined end up boxed on the heap.</p>
+ *
+ * <p>Only loaded through {@link BatchScorer#create()}, which falls back to the scalar
+ * scorer if the {@code jdk.incubator.vector} module is not available.</p>
+ */
+final class VectorBatchScorer implements BatchScorer {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int FACES = 6;
+    private static final int CHANCE = 12;
+    /** Hands per tile; both passes over a tile stay in the L1 cache. */
+    private static final int TILE = 1024;
+
+    private final BatchScorer tail = new ScalarBatchScorer();
+
+    @Override
+    public void score(byte[][] dice, byte[][] scores, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        for (int tile = from; tile < bound; tile += TILE) {
+            int tileEnd = Math.min(bound, tile + TILE);
+            countFaces(dice, scores, tile, tileEnd);
+            scoreCombos(scores, tile, tileEnd);
+        }
+        tail.score(dice, scores, bound, to);
+    }
+
+    /**
+     * First pass: stores the per-face counts in the upper section columns and the dice
+     * sum in the Chance column.
+     */
+    private static void countFaces(byte[][] dice, byte[][] scores, int from, int to) {
+        ByteVector zero = ByteVector.zero(SPECIES);
+        for (int i = from; i < to; i += SPECIES.length()) {
+            ByteVector d0 = ByteVector.fromArray(SPECIES, dice[0], i);
+            ByteVector d1 = ByteVector.fromArray(SPECIES, dice[1], i);
+            ByteVector d2 = ByteVector.fromArray(SPECIES, dice[2], i);
+            ByteVector d3 = ByteVector.fromArray(SPECIES, dice[3], i);
+            ByteVector d4 = ByteVector.fromArray(SPECIES, dice[4], i);
+            for (int face = 1; face <= FACES; face++) {
+                byte f = (byte) face;
+                zero.add((byte) 1, d0.eq(f)).add((byte) 1, d1.eq(f)).add((byte) 1, d2.eq(f))
+                        .add((byte) 1, d3.eq(f)).add((byte) 1, d4.eq(f)).intoArray(scores[face - 1], i);
+            }
+            d0.add(d1).add(d2).add(d3).add(d4).intoArray(scores[CHANCE], i);
+        }
+    }
+
+    /**
+     * Second pass: scores the lower section from the counts and the sum, then turns the
+     * counts into upper section points.
+     */
+    private static void scoreCombos(byte[][] scores, int from, int to) {
+        ByteVector zero = ByteVector.zero(SPECIES);
+        for (int i = from; i < to; i += SPECIES.length()) {
+            ByteVector c1 = ByteVector.fromArray(SPECIES, scores[0], i);
+            ByteVector c2 = ByteVector.fromArray(SPECIES, scores[1], i);
+            ByteVector c3 = ByteVector.fromArray(SPECIES, scores[2], i);
+            ByteVector c4 = ByteVector.fromArray(SPECIES, scores[3], i);
+            ByteVector c5 = ByteVector.fromArray(SPECIES, scores[4], i);
+            ByteVector c6 = ByteVector.fromArray(SPECIES, scores[5], i);
+            ByteVector sum = ByteVector.fromArray(SPECIES, scores[CHANCE], i);
+
+            ByteVector maxCount = c1.max(c2).max(c3).max(c4).max(c5).max(c6);
+            VectorMask<Byte> hasThree = c1.eq((byte) 3).or(c2.eq((byte) 3)).or(c3.eq((byte) 3))
+                    .or(c4.eq((byte) 3)).or(c5.eq((byte) 3)).or(c6.eq((byte) 3));
+            VectorMask<Byte> hasTwo = c1.eq((byte) 2).or(c2.eq((byte) 2)).or(c3.eq((byte) 2))
+                    .or(c4.eq((byte) 2)).or(c5.eq((byte) 2)).or(c6.eq((byte) 2));
+
+            VectorMask<Byte> p1 = c1.compare(VectorOperators.GT, (byte) 0);
+            VectorMask<Byte> p2 = c2.compare(VectorOperators.GT, (byte) 0);
+            VectorMask<Byte> p5 = c5.compare(VectorOperators.GT, (byte) 0);
+            VectorMask<Byte> p6 = c6.compare(VectorOperators.GT, (byte) 0);
+            VectorMask<Byte> middle = c3.compare(VectorOperators.GT, (byte) 0)
+                    .and(c4.compare(VectorOperators.GT, (byte) 0));
+            VectorMask<Byte> smallStraight = middle.and(p1.and(p2).or(p2.and(p5)).or(p5.and(p6)));
+            // Five distinct faces form a large straight unless both 1 and 6 are among them
+            VectorMask<Byte> largeStraight = maxCount.eq((byte) 1).andNot(p1.and(p6));
+
+            zero.blend(sum, maxCount.compare(VectorOperators.GE, (byte) 3)).intoArray(scores[6], i);
+            zero.blend(sum, maxCount.compare(VectorOperators.GE, (byte) 4)).intoArray(scores[7], i);
+            zero.blend((byte) 25, hasThree.and(hasTwo)).intoArray(scores[8], i);
+            zero.blend((byte) 30, smallStraight).intoArray(scores[9], i);
+            zero.blend((byte) 40, largeStraight).intoArray(scores[10], i);
+            zero.blend((byte) 50, maxCount.eq((byte) 5)).intoArray(scores[11], i);
+
+            c2.mul((byte) 2).intoArray(scores[1], i);
+            c3.mul((byte) 3).intoArray(scores[2], i);
+            c4.mul((byte) 4).intoArray(scores[3], i);
+            c5.mul((byte) 5).intoArray(scores[4], i);
+            c6.mul((byte) 6).intoArray(scores[5], i);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "Vector API, " + SPECIES.length() + " hands per vector";
+    }
+}
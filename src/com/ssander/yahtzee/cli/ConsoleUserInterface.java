@@ -1,120 +1,263 @@
 package com.ssander.yahtzee.cli;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
 import com.ssander.yahtzee.player.Die;
 import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.sim.WinProbabilityEstimator;
+import com.ssander.yahtzee.solver.MoveAdvisor;
 import com.ssander.yahtzee.ui.GameUI;
 
 /**
  * Console implementation of the {@link GameUI} contract.
  * Handles user prompts, dice display, and result summaries via standard input/output.
+ *
+ * <p>In batch mode the answers come from a {@link MoveScript} instead of a player, and
+ * the output of a game is buffered until the game is closed, so scripted games run through
+ * the console at thousands per second. The prompts and screens are the same as in an
+ * interactive game; the answers are not echoed, just as with piped input.</p>
  */
 public class ConsoleUserInterface implements GameUI {
+    private static final int MAX_ROLLS = 3;
+
     private final Scanner input;
+    private final MoveScript script;
+    private final PrintStream out;
+    private final MoveAdvisor advisor;
+    private final WinProbabilityEstimator estimator;
+    private final List<Player> seats;
+    private final List<double[]> winChances;
+
+    private int playerCount;
+    private Player currentPlayer;
+    private List<Die> currentDice;
+    private int rollCount;
     
     /**
      * Constructs a new console user interface with a scanner for console input.
      */
     public ConsoleUserInterface() {
-        this.input = new Scanner(System.in);
+        this(System.in, System.out);
+    }
+
+    /**
+     * Constructs a console-style user interface over arbitrary streams,
+     * e.g. a network connection. Output is flushed before every read.
+     *
+     * @param in the stream player answers are read from
+     * @param out the stream prompts and results are written to
+     */
+    public ConsoleUserInterface(InputStream in, PrintStream out) {
+        this(in, out, null);
+    }
+
+    /**
+     * Constructs a console-style user interface that shows the advisor's suggested
+     * move after every roll.
+     *
+     * @param in the stream player answers are read from
+     * @param out the stream prompts and results are written to
+     * @param advisor the move advisor, or null to show no advice
+     */
+    public ConsoleUserInterface(InputStream in, PrintStream out, MoveAdvisor advisor) {
+        this(in, out, advisor, null);
+    }
+
+    /**
+     * Constructs a console-style user interface that can show move advice and, in
+     * multiplayer games, every player's chance of winning after each round.
+     *
+     * @param in the stream player answers are read from
+     * @param out the stream prompts and results are written to
+     * @param advisor the move advisor, or null to show no advice
+     * @param estimator the win probability estimator, or null to show no win chances
+     */
+    public ConsoleUserInterface(InputStream in, PrintStream out, MoveAdvisor advisor,
+                                WinProbabilityEstimator estimator) {
+        this.input = new Scanner(in);
+        this.script = null;
+        this.out = out;
+        this.advisor = advisor;
+        this.estimator = estimator;
+        this.seats = new ArrayList<>();
+        this.winChances = new ArrayList<>();
     }
     
+    /**
+     * Constructs a console user interface in batch mode: every answer is taken from a move
+     * script, and the screens of a game are collected in memory and written in one piece
+     * when the game is closed. The script is positioned on a game with
+     * {@link MoveScript#nextGame()} before every game and is not closed with this interface.
+     *
+     * @param script the moves of the games to play
+     * @param out the stream each game's screens are written to when it ends, or null to discard them
+     */
+    public ConsoleUserInterface(MoveScript script, OutputStream out) {
+        this.input = null;
+        this.script = Objects.requireNonNull(script, "Move script must not be null");
+        this.out = new GameTranscript(out);
+        this.advisor = null;
+        this.estimator = null;
+        this.seats = new ArrayList<>();
+        this.winChances = new ArrayList<>();
+    }
+
     /** {@inheritDoc} */
     @Override
     public int askPlayerCount() {
-        System.out.print("Enter number of players (maximum 3): ");
-        int count = Integer.parseInt(input.nextLine());
+        out.print("Enter number of players (maximum 3): ");
+        if (script != null) {
+            playerCount = script.getPlayerCount();
+            seats.clear();
+            winChances.clear();
+            return playerCount;
+        }
+        int count = parseNumber(readLine());
         while (count > 3 || count < 1) {
-            System.out.println("Invalid number. Please try again!");
-            System.out.print("Enter number of players (maximum 3): ");
-            count = Integer.parseInt(input.nextLine());
+            out.println("Invalid number. Please try again!");
+            out.print("Enter number of players (maximum 3): ");
+            count = parseNumber(readLine());
         }
+        playerCount = count;
+        seats.clear();
+        winChances.clear();
         return count;
     }
     
     /** {@inheritDoc} */
     @Override
     public String askPlayerName(int orderNumber) {
-        System.out.print("Enter player " + orderNumber + " name: ");
-        return input.nextLine();
+        out.print("Enter player " + orderNumber + " name: ");
+        return script != null ? script.getPlayerName(orderNumber - 1) : readLine();
     }
     
     /** {@inheritDoc} */
     @Override
     public void displayGameStart() {
-        System.out.println("\nGame starts!\n");
+        out.println("\nGame starts!\n");
     }
     
     /** {@inheritDoc} */
     @Override
     public void displayPlayerTurn(int orderNumber, Player player) {
-        System.out.println("Player " + orderNumber + "'s turn to roll dice:");
-        System.out.println(player);
+        out.println("Player " + orderNumber + "'s turn to roll dice:");
+        out.println(player);
+        currentPlayer = player;
+        rollCount = 0;
+        if (script != null) {
+            script.startTurn();
+        }
+        if (seats.size() < orderNumber) {
+            seats.add(player);
+        }
     }
     
     /** {@inheritDoc} */
     @Override
     public void displayDice(List<Die> dice) {
-        System.out.println("Values are:");
+        currentDice = dice;
+        out.println("Values are:");
         int dieNumber = 1;
         for (Die die : dice) {
-            System.out.println((dieNumber++) + ". die - value: " + die.getCurrentValue());
+            out.println((dieNumber++) + ". die - value: " + die.getCurrentValue());
         }
     }
     
     /** {@inheritDoc} */
     @Override
-    public void displayPossibleCombos(List<Combination> combos, List<Integer> values, boolean[] usedCombos) {
-        System.out.println("\nAvailable combinations:");
+    public void displayPossibleCombos(List<Combination> combos, int hand, int usedCombosMask) {
+        out.println("\nAvailable combinations:");
         for (int i = 0; i < combos.size(); i++) {
-            if (!usedCombos[i]) {
+            if ((usedCombosMask & (1 << i)) == 0) {
                 Combination combo = combos.get(i);
-                if (combo.isPossible(values)) {
-                    System.out.println((i + 1) + ". " + combo.getComboName() + " - " + combo.calculatePoints(values));
+                if (combo.isPossible(hand)) {
+                    out.println((i + 1) + ". " + combo.getComboName() + " - " + combo.calculatePoints(hand));
                 } else {
-                    System.out.println((i + 1) + ". " + combo.getComboName() + " - /");
+                    out.println((i + 1) + ". " + combo.getComboName() + " - /");
                 }
             }
         }
-        System.out.println();
+        rollCount++;
+        if (advisor != null && currentPlayer != null) {
+            displayAdvice(combos, advisor.advise(currentPlayer, hand, MAX_ROLLS - rollCount), hand);
+        }
+        out.println();
+    }
+
+    /**
+     * Shows a suggested move, naming the dice to keep by the numbers the player types.
+     */
+    private void displayAdvice(List<Combination> combos, MoveAdvisor.Advice advice, int hand) {
+        String source = advice.isOptimal()
+                ? String.format("optimal, expected final score %.1f", advice.getExpectedFinalScore())
+                : "estimate, optimal strategy still loading";
+        String comboName = combos.get(advice.getComboIndex()).getComboName();
+        if (advice.getKeptHand() == hand) {
+            out.println("\nAdvisor (" + source + "): score " + comboName);
+            return;
+        }
+
+        StringBuilder kept = new StringBuilder();
+        int remaining = advice.getKeptHand();
+        for (int i = 0; i < currentDice.size(); i++) {
+            int face = currentDice.get(i).getCurrentValue();
+            if (DiceHand.count(remaining, face) > 0) {
+                remaining -= DiceHand.withDie(DiceHand.EMPTY, face);
+                kept.append(kept.isEmpty() ? "" : ", ").append(i + 1);
+            }
+        }
+        out.println("\nAdvisor (" + source + "): "
+                + (kept.isEmpty() ? "reroll all dice" : "keep dice " + kept + " and roll again"));
     }
 
     /** {@inheritDoc} */
     @Override
     public void displayInvalidCombinationSelection() {
-        System.out.println("Invalid choice or already used combination. Please pick an available option.");
+        out.println("Invalid choice or already used combination. Please pick an available option.");
     }
     
     /** {@inheritDoc} */
     @Override
     public boolean askRollAgain() {
-        System.out.print("Do you want to roll dice again? (yes/no): ");
-        String answer = input.nextLine();
+        out.print("Do you want to roll dice again? (yes/no): ");
+        if (script != null) {
+            return script.hasReroll();
+        }
+        String answer = readLine();
         while (!answer.equals("no") && !answer.equals("yes")) {
-            System.out.print("Please try again, you can only enter 'yes' or 'no': ");
-            answer = input.nextLine();
+            out.print("Please try again, you can only enter 'yes' or 'no': ");
+            answer = readLine();
         }
         return answer.equals("yes");
     }
     
     /** {@inheritDoc} */
     @Override
-    public int[] askKeptDice() {
-        System.out.println("""
+    public int askKeptDice() {
+        out.println("""
                 
                 Which dice do you want to keep?\
                 
                 Enter the dice numbers one by one on separate lines (will not be rerolled/'ENTER' to finish):\s""");
-        int[] kept = new int[5];
+        if (script != null) {
+            return script.nextKeptDice();
+        }
+        int kept = 0;
         while (true) {
-            String diceChoice = input.nextLine();
+            String diceChoice = readLine();
             if (diceChoice.isEmpty()) break;
-            int index = Integer.parseInt(diceChoice) - 1;
-            if (index >= 0 && index < 5) {
-                kept[index] = 1;
+            int index = parseNumber(diceChoice) - 1;
+            if (index >= 0 && index < (currentDice != null ? currentDice.size() : 5)) {
+                kept |= 1 << index;
             }
         }
         return kept;
@@ -123,36 +266,115 @@ public class ConsoleUserInterface implements GameUI {
     /** {@inheritDoc} */
     @Override
     public int askCombination() {
-        System.out.print("\nWhich combination do you want to score? (enter combination line number): ");
-        return Integer.parseInt(input.nextLine()) - 1;
+        out.print("\nWhich combination do you want to score? (enter combination line number): ");
+        if (script != null) {
+            return script.nextCombination();
+        }
+        return parseNumber(readLine()) - 1;
     }
     
     /** {@inheritDoc} */
     @Override
     public void displayBonusMessage() {
-        System.out.println("\nYou got 35 bonus points for the upper section. Good job!");
+        out.println("\nYou got the bonus points for the upper section. Good job!");
     }
     
     /** {@inheritDoc} */
     @Override
     public void displayScoreUpdate(int playerNumber, Player player) {
-        System.out.println("\nUpdated score of Player " + playerNumber + ":\n");
-        System.out.println(player);
+        out.println("\nUpdated score of Player " + playerNumber + ":\n");
+        out.println(player);
+        if (estimator != null && playerCount > 1 && playerNumber == playerCount
+                && player.getRolledComboCount() < player.getComboCount()) {
+            displayWinChances();
+        }
+    }
+
+    /**
+     * Shows every player's estimated chance of winning at the end of a round. The
+     * partial estimates are printed as the rollouts converge, the final one with its
+     * confidence intervals.
+     */
+    private void displayWinChances() {
+        out.println("\nEstimating win chances...");
+        WinProbabilityEstimator.Estimate estimate = estimator.estimate(seats,
+                ThreadLocalRandom.current().nextLong(), this::displayPartialWinChances);
+        out.println("Win chances after " + String.format("%,d", estimate.getRollouts()) + " simulated games:");
+        double[] chances = new double[seats.size()];
+        for (int i = 0; i < seats.size(); i++) {
+            chances[i] = estimate.getProbability(i);
+            out.printf("%s: %.1f%% (+/- %.1f%%)%n", seats.get(i).getPlayerName(),
+                    chances[i] * 100, estimate.getHalfWidth(i) * 100);
+        }
+        winChances.add(chances);
+    }
+
+    /**
+     * Prints one line of a running win chance estimate.
+     *
+     * @param estimate the estimate after the latest round of rollouts
+     */
+    private void displayPartialWinChances(WinProbabilityEstimator.Estimate estimate) {
+        out.printf("  %,9d games:", estimate.getRollouts());
+        for (int i = 0; i < seats.size(); i++) {
+            out.printf(" %s %.1f%%", seats.get(i).getPlayerName(), estimate.getProbability(i) * 100);
+        }
+        out.println();
+        out.flush();
     }
     
     /** {@inheritDoc} */
     @Override
     public void displayGameEnd(List<Player> players) {
-        System.out.println("\nGame over! Here are the results:");
-        System.out.println("Winner!!!");
+        out.println("\nGame over! Here are the results:");
+        out.println("Winner!!!");
         for (Player player : players) {
-            System.out.println(player);
+            out.println(player);
+        }
+        if (!winChances.isEmpty()) {
+            out.println("How the win chances developed:");
+            for (int round = 0; round < winChances.size(); round++) {
+                out.printf("After round %2d:", round + 1);
+                double[] chances = winChances.get(round);
+                for (int i = 0; i < chances.length; i++) {
+                    out.printf(" %s %.1f%%", seats.get(i).getPlayerName(), chances[i] * 100);
+                }
+                out.println();
+            }
         }
     }
     
     /** {@inheritDoc} */
     @Override
     public void close() {
-        input.close();
+        out.flush();
+        if (input != null) {
+            input.close();
+        }
+    }
+
+    /**
+     * Reads the next answer line, flushing pending output first so the prompt is visible.
+     *
+     * @return the line without its terminator
+     */
+    private String readLine() {
+        out.flush();
+        return input.nextLine();
+    }
+
+    /**
+     * Parses a numeric answer. Anything that is not a number maps to 0,
+     * which every prompt treats as an invalid choice and asks again.
+     *
+     * @param answer the raw answer line
+     * @return the parsed number, or 0 if the answer is not a number
+     */
+    private static int parseNumber(String answer) {
+        try {
+            return Integer.parseInt(answer.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
@@ -0,0 +1,145 @@
+package com.ssander.yahtzee.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Print stream that collects the text of a game in memory and writes it to the underlying
+ * stream in one piece when flushed, or discards it.
+ *
+ * <p>A plain {@link PrintStream} locks, encodes and copies on every call, which costs more
+ * than playing a scripted turn. Here printing only appends to a {@link StringBuilder}; the
+ * text is encoded once per flush, i.e. once per game. Write errors are reported through
+ * {@link #checkError()}, as with any print stream.</p>
+ */
+final class GameTranscript extends PrintStream {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private final OutputStream sink;
+    private final StringBuilder text;
+
+    /**
+     * Creates a transcript.
+     *
+     * @param sink the stream the text is written to when flushed, or null to discard it
+     */
+    GameTranscript(OutputStream sink) {
+        super(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+        this.sink = sink;
+        this.text = new StringBuilder(sink != null ? INITIAL_CAPACITY : 0);
+    }
+
+    @Override
+    public void print(String s) {
+        if (sink != null) {
+            text.append(s);
+        }
+    }
+
+    @Override
+    public void print(Object obj) {
+        if (sink != null) {
+            text.append(obj);
+        }
+    }
+
+    @Override
+    public void print(char c) {
+        if (sink != null) {
+            text.append(c);
+        }
+    }
+
+    @Override
+    public void print(int i) {
+        if (sink != null) {
+            text.append(i);
+        }
+    }
+
+    @Override
+    public void println() {
+        if (sink != null) {
+            text.append(System.lineSeparator());
+        }
+    }
+
+    @Override
+    public void println(String x) {
+        if (sink != null) {
+            text.append(x).append(System.lineSeparator());
+        }
+    }
+
+    @Override
+    public void println(Object x) {
+        if (sink != null) {
+            text.append(x).append(System.lineSeparator());
+        }
+    }
+
+    @Override
+    public void println(int x) {
+        if (sink != null) {
+            text.append(x).append(System.lineSeparator());
+        }
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq) {
+        if (sink != null) {
+            text.append(csq);
+        }
+        return this;
+    }
+
+    @Override
+    public PrintStream format(String format, Object... args) {
+        if (sink != null) {
+            text.append(String.format(format, args));
+        }
+        return this;
+    }
+
+    @Override
+    public PrintStream format(Locale l, String format, Object... args) {
+        if (sink != null) {
+            text.append(String.format(l, format, args));
+        }
+        return this;
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+        if (sink != null) {
+            text.append(new String(buf, off, len, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (sink == null || text.isEmpty()) {
+            return;
+        }
+        try {
+            sink.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            sink.flush();
+        } catch (IOException e) {
+            setError();
+        }
+        text.setLength(0);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
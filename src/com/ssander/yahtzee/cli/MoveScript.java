@@ -0,0 +1,364 @@
+package com.ssander.yahtzee.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Compact script of the moves of any number of games, read by a {@link ConsoleUserInterface}
+ * in batch mode instead of prompting a player.
+ *
+ * <p>A script is a text file. Every game starts with a header line naming the dice seed and
+ * the players, followed by one line per turn in the order the turns are played:</p>
+ * <pre>
+ * # comment
+ * game 20240101 Ana Ben
+ * 135 24 7
+ * - 13
+ * 12
+ * </pre>
+ * <p>The last number of a turn line is the combination to score, as numbered in the list of
+ * available combinations. Any numbers before it are rerolls: the digits name the dice to
+ * keep (as numbered on screen), {@code -} rerolls all of them. Blank lines and lines
+ * starting with {@code #} are ignored.</p>
+ *
+ * <p>The script is read through a single buffer straight from a channel and parsed byte by
+ * byte, so playing a turn allocates nothing; only player names become strings. A malformed
+ * script, or one whose moves do not fit the game (a combination that is already used, more
+ * turns than the game has), fails with an {@link IllegalArgumentException} naming the line.
+ * Instances are not thread-safe.</p>
+ */
+public final class MoveScript implements Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_PLAYERS = 3;
+    private static final int MAX_REROLLS = 2;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+    private boolean endOfInput;
+    private int lineNumber;
+    private int lineEnd;
+    private int position;
+
+    private long seed;
+    private final String[] playerNames = new String[MAX_PLAYERS];
+    private int playerCount;
+    private final int[] keptDice = new int[MAX_REROLLS];
+    private final int[] tokenStarts = new int[MAX_REROLLS + 1];
+    private int rerolls;
+    private int nextReroll;
+    private int combination;
+    private boolean combinationTaken;
+    /** True between reading a game header and the first turn line of the next game. */
+    private boolean inGame;
+
+    /**
+     * Reads a script from a channel, e.g. standard input.
+     *
+     * @param channel the channel to read from; closed with this script
+     */
+    public MoveScript(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        this.bytes = buffer.array();
+        buffer.flip();
+    }
+
+    /**
+     * Opens a script file.
+     *
+     * @param file the script to read
+     * @return the script
+     * @throws IOException if the file cannot be opened
+     */
+    public static MoveScript open(Path file) throws IOException {
+        return new MoveScript(FileChannel.open(file));
+    }
+
+    /**
+     * Advances to the header of the next game.
+     *
+     * @return true if there is another game, false at the end of the script
+     * @throws IllegalArgumentException if the next line is not a game header
+     * @throws UncheckedIOException if the script cannot be read
+     */
+    public boolean nextGame() {
+        if (!nextLine()) {
+            inGame = false;
+            return false;
+        }
+        if (!skipWord("game")) {
+            throw malformed(inGame ? "turn after the end of the game" : "expected 'game <seed> <names>'");
+        }
+        seed = parseLong();
+        playerCount = 0;
+        while (skipSpaces()) {
+            if (playerCount == MAX_PLAYERS) {
+                throw malformed("at most " + MAX_PLAYERS + " players are allowed");
+            }
+            int start = position;
+            while (position < lineEnd && !isSpace(bytes[position])) {
+                position++;
+            }
+            playerNames[playerCount++] = new String(bytes, start, position - start, StandardCharsets.UTF_8);
+        }
+        if (playerCount == 0) {
+            throw malformed("a game needs at least one player");
+        }
+        inGame = true;
+        return true;
+    }
+
+    /**
+     * Gets the dice seed of the current game, for {@link com.ssander.yahtzee.player.DiceRandom#reseed(long)}.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of players in the current game.
+     *
+     * @return the player count (1-3)
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Gets the name of a player in the current game.
+     *
+     * @param seat the seat index of the player
+     * @return the player name
+     */
+    public String getPlayerName(int seat) {
+        return playerNames[seat];
+    }
+
+    /**
+     * Reads the line of the next turn.
+     */
+    void startTurn() {
+        if (!inGame || !nextLine() || skipWord("game")) {
+            throw malformed("the script ends before the game does");
+        }
+        int tokens = 0;
+        do {
+            if (tokens == MAX_REROLLS + 1) {
+                throw malformed("at most " + MAX_REROLLS + " rerolls per turn are allowed");
+            }
+            tokenStarts[tokens++] = position;
+            while (position < lineEnd && !isSpace(bytes[position])) {
+                position++;
+            }
+        } while (skipSpaces());
+
+        rerolls = tokens - 1;
+        nextReroll = 0;
+        for (int i = 0; i < rerolls; i++) {
+            keptDice[i] = parseKeptDice(tokenStarts[i]);
+        }
+        combination = parseCombination(tokenStarts[rerolls]) - 1;
+        combinationTaken = false;
+    }
+
+    /**
+     * Tells whether the current turn rolls again.
+     */
+    boolean hasReroll() {
+        return nextReroll < rerolls;
+    }
+
+    /**
+     * Gets the dice kept for the next reroll of the current turn.
+     *
+     * @return the bit mask of kept dice positions
+     */
+    int nextKeptDice() {
+        if (nextReroll == rerolls) {
+            throw malformed("no reroll left in this turn");
+        }
+        return keptDice[nextReroll++];
+    }
+
+    /**
+     * Gets the combination the current turn scores. Asking a second time, i.e. after the
+     * game rejected the answer, fails.
+     *
+     * @return the combination index, 0-based
+     */
+    int nextCombination() {
+        if (nextReroll < rerolls) {
+            throw malformed("the game allows only " + nextReroll + " rerolls");
+        }
+        if (combinationTaken) {
+            throw malformed("combination " + (combination + 1) + " is not available");
+        }
+        combinationTaken = true;
+        return combination;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Parses a keep token: the digits of the kept dice, or {@code -} for none.
+     *
+     * @return the bit mask of kept dice positions
+     */
+    private int parseKeptDice(int start) {
+        if (bytes[start] == '-' && isTokenEnd(start + 1)) {
+            return 0;
+        }
+        int kept = 0;
+        for (int i = start; !isTokenEnd(i); i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 1 || digit > 9) {
+                throw malformed("expected the numbers of the dice to keep, or '-'");
+            }
+            kept |= 1 << (digit - 1);
+        }
+        return kept;
+    }
+
+    private int parseCombination(int start) {
+        int number = 0;
+        for (int i = start; !isTokenEnd(i); i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || number > 999) {
+                throw malformed("expected a combination number");
+            }
+            number = number * 10 + digit;
+        }
+        if (number == 0) {
+            throw malformed("expected a combination number");
+        }
+        return number;
+    }
+
+    private boolean isTokenEnd(int index) {
+        return index == lineEnd || isSpace(bytes[index]);
+    }
+
+    private long parseLong() {
+        if (!skipSpaces()) {
+            throw malformed("expected a seed");
+        }
+        boolean negative = bytes[position] == '-';
+        if (negative) {
+            position++;
+        }
+        int start = position;
+        long value = 0;
+        while (position < lineEnd && !isSpace(bytes[position])) {
+            int digit = bytes[position++] - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                throw malformed("expected a seed");
+            }
+            value = value * 10 + digit;
+        }
+        if (position == start) {
+            throw malformed("expected a seed");
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean skipWord(String word) {
+        int length = word.length();
+        if (lineEnd - position < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[position + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        if (position + length < lineEnd && !isSpace(bytes[position + length])) {
+            return false;
+        }
+        position += length;
+        return true;
+    }
+
+    /**
+     * Skips spaces and tabs.
+     *
+     * @return true if another token follows on the line
+     */
+    private boolean skipSpaces() {
+        while (position < lineEnd && isSpace(bytes[position])) {
+            position++;
+        }
+        return position < lineEnd;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Moves to the next line that is neither blank nor a comment.
+     *
+     * @return false at the end of the script
+     */
+    private boolean nextLine() {
+        while (true) {
+            buffer.position(lineEnd < buffer.limit() ? lineEnd + 1 : lineEnd);
+            int end = findLineEnd();
+            if (end < 0) {
+                return false;
+            }
+            lineNumber++;
+            position = buffer.position();
+            lineEnd = end;
+            if (skipSpaces() && bytes[position] != '#') {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finds the end of the line at the buffer position, reading more input as needed.
+     *
+     * @return the index of the line terminator (or of the end of input), or -1 if no input is left
+     */
+    private int findLineEnd() {
+        int from = buffer.position();
+        while (true) {
+            for (int i = from; i < buffer.limit(); i++) {
+                if (bytes[i] == '\n') {
+                    return i;
+                }
+            }
+            if (endOfInput) {
+                return buffer.hasRemaining() ? buffer.limit() : -1;
+            }
+            from = buffer.limit() - buffer.position();
+            if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+                throw malformed("line longer than " + BUFFER_BYTES + " bytes");
+            }
+            buffer.compact();
+            try {
+                endOfInput = channel.read(buffer) < 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read move script", e);
+            }
+            buffer.flip();
+        }
+    }
+
+    private IllegalArgumentException malformed(String problem) {
+        return new IllegalArgumentException("Move script line " + lineNumber + ": " + problem);
+    }
+}
@@ -1,7 +1,5 @@
 package com.ssander.yahtzee.combos;
 
-import java.util.List;
-
 public class Chance extends Combination {
     /**
      * Constructs a Chance combination.
@@ -16,27 +14,23 @@ public class Chance extends Combination {
      * Calculates points for Chance.
      * The Chance combination scores the sum of all dice, regardless of values.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return the sum of all dice values
      */
     @Override
-    public int calculatePoints(List<Integer> values) {
-        int sum = 0;
-        for (Integer v : values) {
-            sum += v;
-        }
-        return sum;
+    public int calculatePoints(int hand) {
+        return DiceHand.sum(hand);
     }
     
     /**
      * Checks if the Chance combination is possible.
      * This combination is always valid with any dice values.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return always returns true
      */
     @Override
-    public boolean isPossible(List<Integer> values) {
+    public boolean isPossible(int hand) {
         return true; // Chance is always possible
     }
 }
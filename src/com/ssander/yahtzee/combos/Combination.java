@@ -43,21 +43,45 @@ public abstract class Combination {
     }
     
     /**
-     * Calculates the score for this combination based on the given dice values.
+     * Calculates the score for this combination based on a packed hand.
      * If the combination is not possible, should return 0.
+     * Implementations must not allocate.
+     *
+     * @param hand the packed face-count histogram of the dice (see {@link DiceHand})
+     * @return the calculated score, or 0 if combination is invalid
+     */
+    public abstract int calculatePoints(int hand);
+
+    /**
+     * Checks if this combination can be formed with a packed hand.
+     * Implementations must not allocate.
+     *
+     * @param hand the packed face-count histogram of the dice (see {@link DiceHand})
+     * @return true if the combination is valid, false otherwise
+     */
+    public abstract boolean isPossible(int hand);
+
+    /**
+     * Calculates the score for this combination based on the given dice values.
+     * Adapter over {@link #calculatePoints(int)} kept for list-based callers.
      * 
      * @param values the list of dice values (typically 5 dice, each 1-6)
      * @return the calculated score, or 0 if combination is invalid
      */
-    public abstract int calculatePoints(List<Integer> values);
+    public int calculatePoints(List<Integer> values) {
+        return calculatePoints(DiceHand.fromValues(values));
+    }
     
     /**
      * Checks if this combination can be formed with the given dice values.
+     * Adapter over {@link #isPossible(int)} kept for list-based callers.
      * 
      * @param values the list of dice values (typically 5 dice, each 1-6)
      * @return true if the combination is valid, false otherwise
      */
-    public abstract boolean isPossible(List<Integer> values);
+    public boolean isPossible(List<Integer> values) {
+        return isPossible(DiceHand.fromValues(values));
+    }
 
     /**
      * Returns the string representation of this combination.
@@ -0,0 +1,177 @@
+package com.ssander.yahtzee.combos;
+
+import java.util.List;
+
+/**
+ * Primitive representation of a hand of dice, packed into a single {@code int}.
+ * A hand is stored as a face-count histogram with three bits per face,
+ * face 1 occupying the lowest bits. Because the histogram is order independent,
+ * equal hands always pack to the same value regardless of how the dice were rolled.
+ *
+ * <p>All operations work on plain ints and never allocate, which lets the
+ * combinations score a roll without boxing values or building collections.</p>
+ */
+public final class DiceHand {
+    /** A hand that contains no dice. */
+    public static final int EMPTY = 0;
+
+    private static final int BITS_PER_FACE = 3;
+    private static final int FACE_MASK = 0b111;
+
+    private DiceHand() {
+        // Utility class
+    }
+
+    /**
+     * Adds a single die to the hand.
+     *
+     * @param hand the packed hand
+     * @param face the face value of the added die (1-6)
+     * @return the packed hand including the new die
+     */
+    public static int withDie(int hand, int face) {
+        return hand + (1 << shift(face));
+    }
+
+    /**
+     * Gets the number of dice in the hand showing the given face.
+     *
+     * @param hand the packed hand
+     * @param face the face value to count (1-6)
+     * @return how many dice show the face
+     */
+    public static int count(int hand, int face) {
+        return (hand >>> shift(face)) & FACE_MASK;
+    }
+
+    /**
+     * Gets the total number of dice in the hand.
+     *
+     * @param hand the packed hand
+     * @return the number of dice
+     */
+    public static int size(int hand) {
+        int size = 0;
+        for (int rest = hand; rest != 0; rest >>>= BITS_PER_FACE) {
+            size += rest & FACE_MASK;
+        }
+        return size;
+    }
+
+    /**
+     * Sums the face values of all dice in the hand.
+     *
+     * @param hand the packed hand
+     * @return the sum of all dice
+     */
+    public static int sum(int hand) {
+        int sum = 0;
+        int face = 1;
+        for (int rest = hand; rest != 0; rest >>>= BITS_PER_FACE) {
+            sum += face++ * (rest & FACE_MASK);
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the highest number of dice sharing the same face.
+     *
+     * @param hand the packed hand
+     * @return the largest face count, or 0 for an empty hand
+     */
+    public static int maxCount(int hand) {
+        int max = 0;
+        for (int rest = hand; rest != 0; rest >>>= BITS_PER_FACE) {
+            max = Math.max(max, rest & FACE_MASK);
+        }
+        return max;
+    }
+
+    /**
+     * Checks whether some face appears exactly the given number of times.
+     *
+     * @param hand the packed hand
+     * @param count the exact count to look for
+     * @return true if at least one face appears exactly {@code count} times
+     */
+    public static boolean hasExactCount(int hand, int count) {
+        for (int rest = hand; rest != 0; rest >>>= BITS_PER_FACE) {
+            if ((rest & FACE_MASK) == count) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a bit mask of the faces present in the hand.
+     * Bit 0 is set when a one is present, bit 1 for a two, and so on.
+     *
+     * @param hand the packed hand
+     * @return the mask of present faces
+     */
+    public static int faceMask(int hand) {
+        int mask = 0;
+        int bit = 1;
+        for (int rest = hand; rest != 0; rest >>>= BITS_PER_FACE) {
+            if ((rest & FACE_MASK) != 0) {
+                mask |= bit;
+            }
+            bit <<= 1;
+        }
+        return mask;
+    }
+
+    /**
+     * Packs a list of dice values into a hand.
+     * Adapter for callers that still work with boxed values.
+     *
+     * @param values the dice values (each 1-6)
+     * @return the packed hand
+     */
+    public static int fromValues(List<Integer> values) {
+        int hand = EMPTY;
+        for (int i = 0; i < values.size(); i++) {
+            hand = withDie(hand, values.get(i));
+        }
+        return hand;
+    }
+
+    /**
+     * Packs an array of dice values into a hand.
+     *
+     * @param values the dice values (each 1-6)
+     * @return the packed hand
+     */
+    public static int fromValues(int[] values) {
+        int hand = EMPTY;
+        for (int value : values) {
+            hand = withDie(hand, value);
+        }
+        return hand;
+    }
+
+    /**
+     * Formats the hand as its sorted dice values, e.g. {@code [1, 3, 3, 5, 6]}.
+     *
+     * @param hand the packed hand
+     * @return readable representation of the hand
+     */
+    public static String toString(int hand) {
+        StringBuilder result = new StringBuilder("[");
+        int face = 1;
+        for (int rest = hand; rest != 0; rest >>>= BITS_PER_FACE, face++) {
+            for (int i = rest & FACE_MASK; i > 0; i--) {
+                if (result.length() > 1) {
+                    result.append(", ");
+                }
+                result.append(face);
+            }
+        }
+        return result.append(']').toString();
+    }
+
+    private static int shift(int face) {
+        return (face - 1) * BITS_PER_FACE;
+    }
+}
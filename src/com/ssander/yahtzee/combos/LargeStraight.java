@@ -1,10 +1,9 @@
 package com.ssander.yahtzee.combos;
 
-import java.util.List;
-import java.util.HashSet;
-import java.util.Set;
-
 public class LargeStraight extends Combination {
+    private static final int ONE_TO_FIVE = 0b011111;
+    private static final int TWO_TO_SIX = 0b111110;
+
     /**
      * Constructs a Large Straight combination.
      * 
@@ -18,37 +17,30 @@ public class LargeStraight extends Combination {
      * Calculates points for Large Straight.
      * A Large Straight is always worth 40 points if valid.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return 40 if valid Large Straight, 0 otherwise
      */
     @Override
-    public int calculatePoints(List<Integer> values) {
-        return isPossible(values) ? 40 : 0;
+    public int calculatePoints(int hand) {
+        return isPossible(hand) ? 40 : 0;
     }
     
     /**
      * Checks if all 5 dice form a consecutive sequence.
      * Valid patterns: 1-2-3-4-5 or 2-3-4-5-6.
-     * Uses a set-based approach for cleaner detection.
+     * Matches the mask of present faces against both sequences.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return true if all 5 dice are consecutive
      */
     @Override
-    public boolean isPossible(List<Integer> values) {
-        Set<Integer> uniqueValues = new HashSet<>(values);
-        
-        // Must have exactly 5 different values for a straight
-        if (uniqueValues.size() != 5) {
+    public boolean isPossible(int hand) {
+        // Must hold exactly 5 dice; the face mask check below makes them 5 different values
+        if (DiceHand.size(hand) != 5) {
             return false;
         }
-        
-        // Check for sequences: 1-2-3-4-5 or 2-3-4-5-6
-        return (uniqueValues.contains(1) && uniqueValues.contains(2) && 
-                uniqueValues.contains(3) && uniqueValues.contains(4) && 
-                uniqueValues.contains(5)) ||
-               (uniqueValues.contains(2) && uniqueValues.contains(3) && 
-                uniqueValues.contains(4) && uniqueValues.contains(5) && 
-                uniqueValues.contains(6));
+
+        int faces = DiceHand.faceMask(hand);
+        return (faces & ONE_TO_FIVE) == ONE_TO_FIVE || (faces & TWO_TO_SIX) == TWO_TO_SIX;
     }
 }
@@ -1,7 +1,5 @@
 package com.ssander.yahtzee.combos;
 
-import java.util.List;
-
 /**
  * Represents the upper section number combinations (Ones, Twos, Threes, Fours, Fives, Sixes).
  * Scores the sum of all dice matching the target number.
@@ -25,26 +23,22 @@ public class Numbers extends Combination {
      * Calculates points by counting all dice matching the target number.
      * Score equals the count multiplied by the target number.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return count of matching dice times the target number
      */
     @Override
-    public int calculatePoints(List<Integer> values) {
-        int count = 0;
-        for (Integer v : values) {
-            if (v == targetNumber) count++;
-        }
-        return count * targetNumber;
+    public int calculatePoints(int hand) {
+        return DiceHand.count(hand, targetNumber) * targetNumber;
     }
     
     /**
      * Checks if at least one die shows the target number.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return true if at least one die matches the target number
      */
     @Override
-    public boolean isPossible(List<Integer> values) {
-        return values.contains(targetNumber);
+    public boolean isPossible(int hand) {
+        return DiceHand.count(hand, targetNumber) > 0;
     }
 }
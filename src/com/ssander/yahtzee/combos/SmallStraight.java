@@ -1,10 +1,10 @@
 package com.ssander.yahtzee.combos;
 
-import java.util.List;
-import java.util.HashSet;
-import java.util.Set;
-
 public class SmallStraight extends Combination {
+    private static final int ONE_TO_FOUR = 0b001111;
+    private static final int TWO_TO_FIVE = 0b011110;
+    private static final int THREE_TO_SIX = 0b111100;
+
     /**
      * Constructs a Small Straight combination.
      * 
@@ -18,32 +18,27 @@ public class SmallStraight extends Combination {
      * Calculates points for Small Straight.
      * A Small Straight is always worth 30 points if valid.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return 30 if valid Small Straight, 0 otherwise
      */
     @Override
-    public int calculatePoints(List<Integer> values) {
-        return isPossible(values) ? 30 : 0;
+    public int calculatePoints(int hand) {
+        return isPossible(hand) ? 30 : 0;
     }
     
     /**
      * Checks if dice contain at least 4 consecutive numbers.
      * Valid patterns: 1-2-3-4, 2-3-4-5, or 3-4-5-6.
-     * Uses a set-based approach for cleaner detection.
+     * Matches the mask of present faces against each sequence.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return true if at least 4 consecutive numbers exist
      */
     @Override
-    public boolean isPossible(List<Integer> values) {
-        Set<Integer> uniqueValues = new HashSet<>(values);
-        
-        // Check for sequences: 1-2-3-4, 2-3-4-5, 3-4-5-6
-        return (uniqueValues.contains(1) && uniqueValues.contains(2) && 
-                uniqueValues.contains(3) && uniqueValues.contains(4)) ||
-               (uniqueValues.contains(2) && uniqueValues.contains(3) && 
-                uniqueValues.contains(4) && uniqueValues.contains(5)) ||
-               (uniqueValues.contains(3) && uniqueValues.contains(4) && 
-                uniqueValues.contains(5) && uniqueValues.contains(6));
+    public boolean isPossible(int hand) {
+        int faces = DiceHand.faceMask(hand);
+        return (faces & ONE_TO_FOUR) == ONE_TO_FOUR ||
+               (faces & TWO_TO_FIVE) == TWO_TO_FIVE ||
+               (faces & THREE_TO_SIX) == THREE_TO_SIX;
     }
 }
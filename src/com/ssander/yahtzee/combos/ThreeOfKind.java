@@ -1,9 +1,5 @@
 package com.ssander.yahtzee.combos;
 
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-
 public class ThreeOfKind extends Combination {
     /**
      * Constructs a Three of a Kind combination.
@@ -18,35 +14,23 @@ public class ThreeOfKind extends Combination {
      * Calculates points for Three of a Kind.
      * If the combination is valid, returns the sum of all dice.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return sum of all dice if valid, 0 otherwise
      */
     @Override
-    public int calculatePoints(List<Integer> values) {
-        if (!isPossible(values)) return 0;
-        int sum = 0;
-        for (Integer v : values) {
-            sum += v;
-        }
-        return sum;
+    public int calculatePoints(int hand) {
+        return isPossible(hand) ? DiceHand.sum(hand) : 0;
     }
     
     /**
      * Checks if at least three dice show the same value.
-     * Uses a frequency map for more reliable detection.
+     * Reads the face counts straight from the packed histogram.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return true if at least three dice have the same value
      */
     @Override
-    public boolean isPossible(List<Integer> values) {
-        Map<Integer, Integer> frequency = new HashMap<>();
-        for (Integer value : values) {
-            frequency.put(value, frequency.getOrDefault(value, 0) + 1);
-            if (frequency.get(value) >= 3) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isPossible(int hand) {
+        return DiceHand.maxCount(hand) >= 3;
     }
 }
@@ -1,9 +1,5 @@
 package com.ssander.yahtzee.combos;
 
-import java.util.List;
-import java.util.HashSet;
-import java.util.Set;
-
 public class Yahtzee extends Combination {
     /**
      * Constructs a Yahtzee combination.
@@ -18,24 +14,23 @@ public class Yahtzee extends Combination {
      * Calculates points for Yahtzee.
      * A Yahtzee is always worth 50 points if valid.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return 50 if valid Yahtzee, 0 otherwise
      */
     @Override
-    public int calculatePoints(List<Integer> values) {
-        return isPossible(values) ? 50 : 0;
+    public int calculatePoints(int hand) {
+        return isPossible(hand) ? 50 : 0;
     }
     
     /**
      * Checks if all 5 dice show the same value.
-     * Uses a set to verify all values are identical.
+     * Verifies that exactly one face is present in the hand.
      * 
-     * @param values the sorted list of dice values
+     * @param hand the packed dice hand
      * @return true if all 5 dice have the same value
      */
     @Override
-    public boolean isPossible(List<Integer> values) {
-        Set<Integer> uniqueValues = new HashSet<>(values);
-        return uniqueValues.size() == 1;
+    public boolean isPossible(int hand) {
+        return Integer.bitCount(DiceHand.faceMask(hand)) == 1;
     }
 }
@@ -0,0 +1,321 @@
+package com.ssander.yahtzee.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.metrics.LatencyRecorder;
+
+/**
+ * Hands the events of a game to several consumers on their own threads, so slow consumers
+ * (printing, persistence, telemetry) do not stall the game loop.
+ *
+ * <p>Register the bus with {@link GameManager#setEventListener(GameEventListener)}. Every
+ * event is written into a preallocated ring buffer of fixed-size slots, so publishing
+ * never allocates. The game thread is the single producer; every consumer owns a thread
+ * and a sequence cursor and sees every event, in order, through its own
+ * {@link GameEventListener}. Cursors are published with release/acquire ordering and
+ * live on separate cache lines, so the producer and the consumers never lock or share
+ * a written cache line. A consumer catches up in batches: it handles everything
+ * published since its last look before publishing its own cursor.</p>
+ *
+ * <p>The buffer gives backpressure: when the slowest consumer is a whole buffer behind,
+ * the producer waits for it. Waiting threads spin briefly, then yield, then park. Each
+ * consumer records the latency from publishing to handling every event.</p>
+ *
+ * <p>Only one thread may publish. A consumer that throws stops receiving events and no
+ * longer holds back the producer; {@link #close()} reports the failure.</p>
+ */
+public class GameEventBus implements GameEventListener, AutoCloseable {
+    private static final int TURN_STARTED = 1;
+    private static final int GAME_STARTED = 2;
+    private static final int DICE_ROLLED = 3;
+    private static final int DICE_KEPT = 4;
+    private static final int COMBO_SCORED = 5;
+    private static final int BONUS_AWARDED = 6;
+    private static final int PLAYER_FINISHED = 7;
+
+    /** Longs per cursor: cursors 128 bytes apart never share a cache line (or an adjacent-line prefetch). */
+    private static final int CURSOR_STRIDE = 16;
+    /** Each slot holds the packed event and the time it was published. */
+    private static final int SLOT_LONGS = 2;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 10_000;
+    private static final VarHandle CURSORS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] slots;
+    private final int mask;
+    /** Cursor 0 is the last published sequence, cursor {@code i + 1} the last one consumer {@code i} handled. */
+    private final long[] cursors;
+    private final Consumer[] consumers;
+    private long nextSequence;
+    private long cachedGate = -1;
+    private long producerWaitNanos;
+    private volatile boolean closed;
+
+    /**
+     * Creates a bus and starts one daemon thread per consumer.
+     *
+     * @param capacity the number of events the buffer holds, a power of two
+     * @param consumers the listeners that receive every event on their own threads
+     */
+    public GameEventBus(int capacity, List<? extends GameEventListener> consumers) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2: " + capacity);
+        }
+        if (consumers.isEmpty()) {
+            throw new IllegalArgumentException("At least one consumer is required");
+        }
+        this.slots = new long[capacity * SLOT_LONGS];
+        this.mask = capacity - 1;
+        this.cursors = new long[(consumers.size() + 1) * CURSOR_STRIDE];
+        for (int i = 0; i <= consumers.size(); i++) {
+            cursors[i * CURSOR_STRIDE] = -1;
+        }
+        this.consumers = new Consumer[consumers.size()];
+        for (int i = 0; i < this.consumers.length; i++) {
+            this.consumers[i] = new Consumer(i, Objects.requireNonNull(consumers.get(i), "Consumer must not be null"));
+        }
+        for (Consumer consumer : this.consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void turnStarted(int player) {
+        publish(TURN_STARTED, player, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void gameStarted(int playerCount) {
+        publish(GAME_STARTED, 0, playerCount);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void diceRolled(int player, int faces) {
+        publish(DICE_ROLLED, player, faces);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void diceKept(int player, int keptMask) {
+        publish(DICE_KEPT, player, keptMask);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void comboScored(int player, int comboIndex, int points) {
+        publish(COMBO_SCORED, player, comboIndex | points << 8);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bonusAwarded(int player, int points) {
+        publish(BONUS_AWARDED, player, points);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void playerFinished(int player, int totalScore) {
+        publish(PLAYER_FINISHED, player, totalScore);
+    }
+
+    private void publish(int type, int player, int payload) {
+        if (closed) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        long sequence = nextSequence++;
+        long wrapPoint = sequence - (mask + 1);
+        if (wrapPoint > cachedGate) {
+            cachedGate = awaitConsumers(wrapPoint);
+        }
+        int slot = (int) (sequence & mask) * SLOT_LONGS;
+        slots[slot] = type | (long) player << 8 | (long) payload << 32;
+        slots[slot + 1] = System.nanoTime();
+        CURSORS.setRelease(cursors, 0, sequence);
+    }
+
+    /**
+     * Waits until every consumer has handled the given sequence, so its slot can be reused.
+     *
+     * @return the lowest consumer cursor
+     */
+    private long awaitConsumers(long sequence) {
+        long gate = minimumConsumerCursor();
+        if (gate >= sequence) {
+            return gate;
+        }
+        long start = System.nanoTime();
+        for (int tries = 0; gate < sequence; tries++) {
+            idle(tries);
+            gate = minimumConsumerCursor();
+        }
+        producerWaitNanos += System.nanoTime() - start;
+        return gate;
+    }
+
+    private long minimumConsumerCursor() {
+        long minimum = Long.MAX_VALUE;
+        for (int i = 1; i <= consumers.length; i++) {
+            minimum = Math.min(minimum, (long) CURSORS.getAcquire(cursors, i * CURSOR_STRIDE));
+        }
+        return minimum;
+    }
+
+    private static void idle(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * Gets the number of events published so far.
+     *
+     * @return the published event count
+     */
+    public long getPublished() {
+        return nextSequence;
+    }
+
+    /**
+     * Gets the time the producer spent waiting for slow consumers.
+     *
+     * @return the total wait in nanoseconds
+     */
+    public long getProducerWaitNanos() {
+        return producerWaitNanos;
+    }
+
+    /**
+     * Gets the number of consumers.
+     *
+     * @return the consumer count
+     */
+    public int getConsumerCount() {
+        return consumers.length;
+    }
+
+    /**
+     * Gets the number of events a consumer has handled so far.
+     *
+     * @param consumer the index of the consumer, in the order given to the constructor
+     * @return the handled event count
+     */
+    public long getConsumed(int consumer) {
+        return consumers[consumer].handled;
+    }
+
+    /**
+     * Gets a percentile of the time from publishing an event to a consumer having handled
+     * it, within about 6%. Only complete once the bus is closed.
+     *
+     * @param consumer the index of the consumer, in the order given to the constructor
+     * @param fraction the percentile as a fraction, e.g. 0.99
+     * @return the latency in nanoseconds, or 0 if the consumer has handled no events
+     */
+    public long getLatencyPercentileNanos(int consumer, double fraction) {
+        return consumers[consumer].latencies.getPercentileNanos(fraction);
+    }
+
+    /**
+     * Waits until every consumer has handled every published event, then stops the
+     * consumer threads. No events may be published afterwards.
+     *
+     * @throws IllegalStateException if a consumer failed
+     */
+    @Override
+    public void close() {
+        closed = true;
+        RuntimeException failure = null;
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (consumer.failure != null && failure == null) {
+                failure = new IllegalStateException("Event consumer " + consumer.index + " failed", consumer.failure);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void dispatch(long event, GameEventListener listener) {
+        int player = (int) (event >>> 8) & 0xFF;
+        int payload = (int) (event >>> 32);
+        switch ((int) event & 0xFF) {
+            case TURN_STARTED -> listener.turnStarted(player);
+            case GAME_STARTED -> listener.gameStarted(payload);
+            case DICE_ROLLED -> listener.diceRolled(player, payload);
+            case DICE_KEPT -> listener.diceKept(player, payload);
+            case COMBO_SCORED -> listener.comboScored(player, payload & 0xFF, payload >>> 8);
+            case BONUS_AWARDED -> listener.bonusAwarded(player, payload);
+            case PLAYER_FINISHED -> listener.playerFinished(player, payload);
+            default -> throw new IllegalStateException("Unknown event type in slot: " + event);
+        }
+    }
+
+    /** A consumer thread with its cursor and latency histogram. */
+    private final class Consumer implements Runnable {
+        private final int index;
+        private final int cursor;
+        private final GameEventListener listener;
+        private final Thread thread;
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private volatile long handled;
+        private Throwable failure;
+
+        Consumer(int index, GameEventListener listener) {
+            this.index = index;
+            this.cursor = (index + 1) * CURSOR_STRIDE;
+            this.listener = listener;
+            this.thread = new Thread(this, "event-consumer-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            try {
+                int tries = 0;
+                while (true) {
+                    long available = (long) CURSORS.getAcquire(cursors, 0);
+                    if (available < next) {
+                        if (closed && (long) CURSORS.getAcquire(cursors, 0) < next) {
+                            return;
+                        }
+                        idle(tries++);
+                        continue;
+                    }
+                    tries = 0;
+                    for (; next <= available; next++) {
+                        int slot = (int) (next & mask) * SLOT_LONGS;
+                        dispatch(slots[slot], listener);
+                        latencies.record(System.nanoTime() - slots[slot + 1]);
+                    }
+                    handled = next;
+                    CURSORS.setRelease(cursors, cursor, available);
+                }
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                // Stop holding back the producer
+                CURSORS.setRelease(cursors, cursor, Long.MAX_VALUE);
+            }
+        }
+    }
+}
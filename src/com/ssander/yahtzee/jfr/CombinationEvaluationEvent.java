@@ -0,0 +1,28 @@
+package com.ssander.yahtzee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for looking up the points of a turn's final hand in the chosen
+ * combination's score table, the evaluation every scored turn goes through.
+ */
+@Name("com.ssander.yahtzee.CombinationEvaluation")
+@Label("Combination Evaluation")
+@Category("Yahtzee")
+@Description("Looking up the points of the final hand in the chosen combination")
+@Enabled(false)
+@StackTrace(false)
+public class CombinationEvaluationEvent extends jdk.jfr.Event {
+    /** Name of the evaluated combination. */
+    @Label("Category")
+    public String category;
+
+    /** Points the hand scores in the combination. */
+    @Label("Points")
+    public int points;
+}
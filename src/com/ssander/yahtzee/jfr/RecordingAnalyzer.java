@@ -0,0 +1,160 @@
+package com.ssander.yahtzee.jfr;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes the Yahtzee events of a flight recording: a histogram of turn latencies,
+ * the cost of evaluating each combination and the points scored in each.
+ *
+ * <p>The recording is streamed event by event, so recordings of long simulations do not
+ * need to fit in memory. Events other than the Yahtzee ones are skipped.</p>
+ */
+public final class RecordingAnalyzer {
+    private static final String TURN = "com.ssander.yahtzee.Turn";
+    private static final String ROLL = "com.ssander.yahtzee.Roll";
+    private static final String SCORE = "com.ssander.yahtzee.Score";
+    private static final String EVALUATION = "com.ssander.yahtzee.CombinationEvaluation";
+    /** Turn latency buckets: bucket {@code i} holds turns of {@code [2^(i-1), 2^i)} microseconds. */
+    private static final int TURN_BUCKETS = 40;
+    private static final int BAR_WIDTH = 40;
+
+    private RecordingAnalyzer() {
+        // Utility class
+    }
+
+    /**
+     * Prints the summary of a recording.
+     *
+     * @param recording the flight recording file
+     * @param out where to print the summary
+     * @throws IOException if the recording cannot be read
+     */
+    public static void summarize(Path recording, PrintStream out) throws IOException {
+        long[] turnBuckets = new long[TURN_BUCKETS];
+        List<Long> turnNanos = new ArrayList<>();
+        Stats rolls = new Stats();
+        Map<String, Stats> evaluations = new TreeMap<>();
+        Map<String, Stats> scores = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                long nanos = event.getDuration().toNanos();
+                switch (event.getEventType().getName()) {
+                    case TURN -> {
+                        turnNanos.add(nanos);
+                        turnBuckets[Math.min(TURN_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos / 1000))]++;
+                    }
+                    case ROLL -> rolls.add(nanos, event.getInt("rolledDice"));
+                    case SCORE -> scores.computeIfAbsent(event.getString("category"), key -> new Stats())
+                            .add(nanos, event.getInt("points"));
+                    case EVALUATION -> evaluations.computeIfAbsent(event.getString("category"), key -> new Stats())
+                            .add(nanos, event.getInt("points"));
+                    default -> {
+                        // Not a Yahtzee event
+                    }
+                }
+            }
+        }
+
+        printTurns(turnNanos, turnBuckets, out);
+        out.printf("%nRolls: %,d | mean %,.0f ns | %.2f dice per roll%n",
+                rolls.count, rolls.meanNanos(), rolls.meanValue());
+        printCategories("Combination evaluations", evaluations, out);
+        printCategories("Scores", scores, out);
+    }
+
+    private static void printTurns(List<Long> turnNanos, long[] buckets, PrintStream out) {
+        out.printf("Turns: %,d%n", turnNanos.size());
+        if (turnNanos.isEmpty()) {
+            return;
+        }
+        turnNanos.sort(Comparator.naturalOrder());
+        out.printf("  mean %,.1f us | p50 %,.1f us | p90 %,.1f us | p99 %,.1f us | max %,.1f us%n",
+                turnNanos.stream().mapToLong(Long::longValue).average().orElse(0) / 1e3,
+                percentile(turnNanos, 0.50) / 1e3, percentile(turnNanos, 0.90) / 1e3,
+                percentile(turnNanos, 0.99) / 1e3, turnNanos.get(turnNanos.size() - 1) / 1e3);
+        long largest = 0;
+        int first = buckets.length;
+        int last = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                largest = Math.max(largest, buckets[i]);
+                first = Math.min(first, i);
+                last = i;
+            }
+        }
+        for (int i = first; i <= last; i++) {
+            String range = i == 0 ? "< 1 us" : "< " + formatMicros(1L << i);
+            out.printf("  %10s | %-" + BAR_WIDTH + "s | %,d%n",
+                    range, "#".repeat((int) Math.ceil((double) BAR_WIDTH * buckets[i] / largest)), buckets[i]);
+        }
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros >= 1_000_000) {
+            return micros / 1_000_000 + " s";
+        }
+        return micros >= 1000 ? micros / 1000 + " ms" : micros + " us";
+    }
+
+    private static long percentile(List<Long> sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static void printCategories(String title, Map<String, Stats> categories, PrintStream out) {
+        out.printf("%n%s: %,d%n", title, categories.values().stream().mapToLong(stats -> stats.count).sum());
+        categories.entrySet().stream()
+                .sorted(Map.Entry.<String, Stats>comparingByValue(Comparator.comparingLong(stats -> stats.totalNanos))
+                        .reversed())
+                .forEach(entry -> out.printf("  %-16s %,10d | mean %,8.0f ns | total %,9.3f ms | mean points %5.2f%n",
+                        entry.getKey(), entry.getValue().count, entry.getValue().meanNanos(),
+                        entry.getValue().totalNanos / 1e6, entry.getValue().meanValue()));
+    }
+
+    /**
+     * Summarizes a recording from the command line.
+     * Usage: {@code RecordingAnalyzer <recording.jfr>}.
+     *
+     * @param args the recording file
+     * @throws IOException if the recording cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        summarize(Path.of(args[0]), System.out);
+    }
+
+    /** Count, total duration and value sum of one kind of event. */
+    private static final class Stats {
+        private long count;
+        private long totalNanos;
+        private long valueSum;
+
+        void add(long nanos, int value) {
+            count++;
+            totalNanos += nanos;
+            valueSum += value;
+        }
+
+        double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        double meanValue() {
+            return count == 0 ? 0 : (double) valueSum / count;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ssander.yahtzee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for rolling the dice a player did not keep.
+ */
+@Name("com.ssander.yahtzee.Roll")
+@Label("Dice Roll")
+@Category("Yahtzee")
+@Description("Rolling the dice that were not kept")
+@Enabled(false)
+@StackTrace(false)
+public class RollEvent extends jdk.jfr.Event {
+    /** Number of dice rolled. */
+    @Label("Rolled Dice")
+    public int rolledDice;
+}
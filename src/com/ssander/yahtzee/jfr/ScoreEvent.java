@@ -0,0 +1,31 @@
+package com.ssander.yahtzee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for scoring the final hand of a turn in the chosen combination.
+ */
+@Name("com.ssander.yahtzee.Score")
+@Label("Score")
+@Category("Yahtzee")
+@Description("Scoring the final hand of a turn in the chosen combination")
+@Enabled(false)
+@StackTrace(false)
+public class ScoreEvent extends jdk.jfr.Event {
+    /** Seat index of the player. */
+    @Label("Seat")
+    public int seat;
+
+    /** Name of the scored combination. */
+    @Label("Category")
+    public String category;
+
+    /** Points scored in the combination, without bonus. */
+    @Label("Points")
+    public int points;
+}
@@ -0,0 +1,36 @@
+package com.ssander.yahtzee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one player's turn, from the first roll to the updated
+ * score, including the time spent waiting for the player's decisions.
+ */
+@Name("com.ssander.yahtzee.Turn")
+@Label("Turn")
+@Category("Yahtzee")
+@Description("One player's turn, from the first roll to the scored combination")
+@Enabled(false)
+@StackTrace(false)
+public class TurnEvent extends jdk.jfr.Event {
+    /** Seat index of the player. */
+    @Label("Seat")
+    public int seat;
+
+    /** Rolls taken this turn (1-3). */
+    @Label("Rolls")
+    public int rolls;
+
+    /** Name of the scored combination. */
+    @Label("Category")
+    public String category;
+
+    /** Points scored, including an upper section bonus earned this turn. */
+    @Label("Points")
+    public int points;
+}
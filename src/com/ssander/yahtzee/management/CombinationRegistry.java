@@ -1,10 +1,12 @@
 package com.ssander.yahtzee.management;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.ssander.yahtzee.combos.Chance;
 import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
 import com.ssander.yahtzee.combos.FourOfKind;
 import com.ssander.yahtzee.combos.FullHouse;
 import com.ssander.yahtzee.combos.LargeStraight;
@@ -16,46 +18,194 @@ import com.ssander.yahtzee.combos.Yahtzee;
 /**
  * Registry that manages all available Yahtzee scoring combinations.
  * Creates and stores all 13 combinations (6 upper section + 7 lower section).
+ *
+ * <p>Because there are only 252 distinct sorted hands of five dice, the registry
+ * also precomputes a dense score table once per JVM. Each hand is mapped to a
+ * canonical index by {@link #handIndex(int)}, after which the points and
+ * possibility of every combination are plain array reads.</p>
  */
 public class CombinationRegistry {
+    /** Number of dice in a hand. */
+    public static final int DICE_COUNT = 5;
+    /** Number of faces on each die. */
+    public static final int FACE_COUNT = 6;
+    /** Number of scoring combinations on the score sheet. */
+    public static final int COMBO_COUNT = 13;
+    /** Number of distinct sorted hands of {@value #DICE_COUNT} dice. */
+    public static final int HAND_COUNT = 252;
+    /** Upper section total needed for the upper section bonus. */
+    public static final int UPPER_BONUS_THRESHOLD = 63;
+    /** Points awarded once the upper section reaches {@value #UPPER_BONUS_THRESHOLD}. */
+    public static final int UPPER_BONUS_POINTS = 35;
+
+    private static final List<Combination> COMBOS = List.copyOf(createCombos());
+
+    /** BINOMIAL[n][k] = n choose k, enough for ranking hands of up to five dice. */
+    private static final int[][] BINOMIAL = buildBinomials(FACE_COUNT + DICE_COUNT);
+    private static final int[] HANDS = new int[HAND_COUNT];
+    private static final byte[] POINTS = new byte[HAND_COUNT * COMBO_COUNT];
+    private static final short[] POSSIBLE = new short[HAND_COUNT];
+
+    static {
+        buildScoreTable();
+    }
+
     private final List<Combination> allCombos;
 
     /**
-     * Constructs a new registry and initializes all 13 Yahtzee combinations.
+     * Constructs a new registry over the shared, immutable set of 13 Yahtzee combinations.
      */
     public CombinationRegistry() {
-        allCombos = new ArrayList<>();
-        initCombos();
+        allCombos = COMBOS;
     }
 
     /**
-     * Initializes all 13 Yahtzee combinations in order.
+     * Creates all 13 Yahtzee combinations in order.
      * Upper section (0-5): Ones through Sixes.
      * Lower section (6-12): Three of a Kind through Chance.
+     *
+     * @return the combinations in score sheet order
      */
-    private void initCombos() {
+    private static List<Combination> createCombos() {
+        List<Combination> combos = new ArrayList<>(COMBO_COUNT);
+
         // Upper section (numbers 1-6)
-        allCombos.add(new Numbers("Ones", 0, 1));
-        allCombos.add(new Numbers("Twos", 1, 2));
-        allCombos.add(new Numbers("Threes", 2, 3));
-        allCombos.add(new Numbers("Fours", 3, 4));
-        allCombos.add(new Numbers("Fives", 4, 5));
-        allCombos.add(new Numbers("Sixes", 5, 6));
+        combos.add(new Numbers("Ones", 0, 1));
+        combos.add(new Numbers("Twos", 1, 2));
+        combos.add(new Numbers("Threes", 2, 3));
+        combos.add(new Numbers("Fours", 3, 4));
+        combos.add(new Numbers("Fives", 4, 5));
+        combos.add(new Numbers("Sixes", 5, 6));
 
         // Lower section (combinations)
-        allCombos.add(new ThreeOfKind(6));
-        allCombos.add(new FourOfKind(7));
-        allCombos.add(new FullHouse(8));
-        allCombos.add(new SmallStraight(9));
-        allCombos.add(new LargeStraight(10));
-        allCombos.add(new Yahtzee(11));
-        allCombos.add(new Chance(12));
+        combos.add(new ThreeOfKind(6));
+        combos.add(new FourOfKind(7));
+        combos.add(new FullHouse(8));
+        combos.add(new SmallStraight(9));
+        combos.add(new LargeStraight(10));
+        combos.add(new Yahtzee(11));
+        combos.add(new Chance(12));
+        return combos;
+    }
+
+    /**
+     * Enumerates every sorted hand and scores it once with each combination.
+     * Hands are enumerated as non-decreasing dice sequences, and each one is
+     * stored at the slot given by {@link #handIndex(int)}.
+     */
+    private static void buildScoreTable() {
+        int[] dice = new int[DICE_COUNT];
+        Arrays.fill(dice, 1);
+        while (true) {
+            int hand = DiceHand.fromValues(dice);
+            int handIndex = handIndex(hand);
+            HANDS[handIndex] = hand;
+
+            int possible = 0;
+            for (int combo = 0; combo < COMBO_COUNT; combo++) {
+                Combination combination = COMBOS.get(combo);
+                POINTS[handIndex * COMBO_COUNT + combo] = (byte) combination.calculatePoints(hand);
+                if (combination.isPossible(hand)) {
+                    possible |= 1 << combo;
+                }
+            }
+            POSSIBLE[handIndex] = (short) possible;
+
+            // Advance to the next non-decreasing sequence
+            int position = DICE_COUNT - 1;
+            while (position >= 0 && dice[position] == FACE_COUNT) {
+                position--;
+            }
+            if (position < 0) {
+                return;
+            }
+            dice[position]++;
+            for (int i = position + 1; i < DICE_COUNT; i++) {
+                dice[i] = dice[position];
+            }
+        }
+    }
+
+    private static int[][] buildBinomials(int size) {
+        int[][] binomial = new int[size + 1][DICE_COUNT + 1];
+        for (int n = 0; n <= size; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, DICE_COUNT); k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+            }
+        }
+        return binomial;
+    }
+
+    /**
+     * Maps a packed hand of five dice to its canonical index.
+     * The sorted dice d1 &lt;= ... &lt;= d5 are turned into the strictly increasing
+     * sequence d_i + i and ranked in the combinatorial number system, which
+     * yields a dense index in the range 0-251 without any lookup structure.
+     *
+     * @param hand the packed hand of exactly five dice (see {@link DiceHand})
+     * @return the canonical hand index (0-251)
+     */
+    public static int handIndex(int hand) {
+        int index = 0;
+        int position = 0;
+        int face = 0;
+        for (int rest = hand; rest != 0; rest >>>= 3, face++) {
+            for (int count = rest & 0b111; count > 0; count--) {
+                index += BINOMIAL[face + position][position + 1];
+                position++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the packed hand stored at a canonical index.
+     *
+     * @param handIndex the canonical hand index (0-251)
+     * @return the packed hand (see {@link DiceHand})
+     */
+    public static int handAt(int handIndex) {
+        return HANDS[handIndex];
+    }
+
+    /**
+     * Reads the precomputed points of a combination for a canonical hand.
+     *
+     * @param handIndex the canonical hand index (0-251)
+     * @param comboIndex the combination index (0-12)
+     * @return the points the combination scores with that hand
+     */
+    public static int points(int handIndex, int comboIndex) {
+        return POINTS[handIndex * COMBO_COUNT + comboIndex];
+    }
+
+    /**
+     * Reads whether a combination is possible for a canonical hand.
+     *
+     * @param handIndex the canonical hand index (0-251)
+     * @param comboIndex the combination index (0-12)
+     * @return true if the combination can be formed with that hand
+     */
+    public static boolean isPossible(int handIndex, int comboIndex) {
+        return (POSSIBLE[handIndex] & (1 << comboIndex)) != 0;
+    }
+
+    /**
+     * Reads the mask of combinations that are possible for a canonical hand.
+     * Bit {@code i} is set when the combination with index {@code i} is possible.
+     *
+     * @param handIndex the canonical hand index (0-251)
+     * @return the bit mask of possible combinations
+     */
+    public static int possibleMask(int handIndex) {
+        return POSSIBLE[handIndex];
     }
 
     /**
      * Gets the complete list of all combinations.
      *
-     * @return list containing all 13 combinations
+     * @return unmodifiable list containing all 13 combinations
      */
     public List<Combination> getAllCombos() {
         return allCombos;
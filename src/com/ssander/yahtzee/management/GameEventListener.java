@@ -0,0 +1,88 @@
+package com.ssander.yahtzee.management;
+
+/**
+ * Receives the events of a game as {@link GameManager} plays it.
+ *
+ * <p>All arguments are primitives, so emitting an event never allocates. Players are
+ * identified by their seat index (0-based order of joining), dice by their position
+ * in the displayed, sorted dice list. Every method has an empty default, so listeners
+ * only override the events they need.</p>
+ */
+public interface GameEventListener {
+    /** Listener that ignores all events. */
+    GameEventListener NONE = new GameEventListener() { };
+
+    /**
+     * Called once all players have joined a new game.
+     *
+     * @param playerCount the number of players
+     */
+    default void gameStarted(int playerCount) {
+    }
+
+    /**
+     * Called when a player's turn begins, before the first roll.
+     *
+     * @param player the seat index of the player
+     */
+    default void turnStarted(int player) {
+    }
+
+    /**
+     * Called after every roll, once the dice are sorted.
+     *
+     * @param player the seat index of the rolling player
+     * @param faces the dice faces, 4 bits per position (see {@link #face(int, int)})
+     */
+    default void diceRolled(int player, int faces) {
+    }
+
+    /**
+     * Called when a player decides to roll again, before the roll.
+     *
+     * @param player the seat index of the player
+     * @param keptMask bit {@code i} set means the die at position {@code i} is kept
+     */
+    default void diceKept(int player, int keptMask) {
+    }
+
+    /**
+     * Called when a player scores a combination.
+     *
+     * @param player the seat index of the player
+     * @param comboIndex the registry index of the scored combination
+     * @param points the points awarded
+     */
+    default void comboScored(int player, int comboIndex, int points) {
+    }
+
+    /**
+     * Called when a player is awarded the upper section bonus.
+     *
+     * @param player the seat index of the player
+     * @param points the bonus points
+     */
+    default void bonusAwarded(int player, int points) {
+    }
+
+    /**
+     * Called for every player, in seat order, when a game ends.
+     *
+     * @param player the seat index of the player
+     * @param totalScore the player's final total score
+     */
+    default void playerFinished(int player, int totalScore) {
+    }
+
+    /**
+     * Extracts one die from packed faces. Four bits per die hold every face count and
+     * dice count that {@link com.ssander.yahtzee.rules.RulesDefinition} allows.
+     *
+     * @param faces dice faces packed 4 bits per position, position 0 in the lowest bits
+     * @param position the die position
+     * @return the face value (1-6 with standard dice)
+     */
+    static int face(int faces, int position) {
+        return (faces >>> (4 * position)) & 0xF;
+    }
+}
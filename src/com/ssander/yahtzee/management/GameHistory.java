@@ -0,0 +1,121 @@
+package com.ssander.yahtzee.management;
+
+import java.util.Objects;
+
+/**
+ * Immutable timeline of {@link GameState}s with undo and redo.
+ *
+ * <p>The states before and after the current one are kept in two persistent stacks that
+ * share their tails, so moving, undoing and redoing each cost one small object and
+ * never copy the history. Because nothing is ever modified, a history is its own
+ * snapshot: keep a reference and {@link #advance(GameState) advance} it in different
+ * directions to fork any number of branches, all sharing the common past.</p>
+ */
+public final class GameHistory {
+    private final GameState current;
+    private final Node undo;
+    private final Node redo;
+
+    private GameHistory(GameState current, Node undo, Node redo) {
+        this.current = current;
+        this.undo = undo;
+        this.redo = redo;
+    }
+
+    /**
+     * Starts a history at a state, with nothing to undo or redo.
+     *
+     * @param state the initial state
+     * @return the history
+     */
+    public static GameHistory of(GameState state) {
+        return new GameHistory(Objects.requireNonNull(state, "State must not be null"), null, null);
+    }
+
+    /**
+     * Moves on to a new state. The current state can be restored with {@link #undo()};
+     * anything that could have been redone is dropped from this branch.
+     *
+     * @param next the new current state, usually derived from {@link #current()}
+     * @return the history with the new state
+     */
+    public GameHistory advance(GameState next) {
+        return new GameHistory(Objects.requireNonNull(next, "State must not be null"),
+                new Node(current, undo), null);
+    }
+
+    /**
+     * Goes back to the previous state.
+     *
+     * @return the history one move earlier
+     * @throws IllegalStateException if there is nothing to undo
+     */
+    public GameHistory undo() {
+        if (undo == null) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        return new GameHistory(undo.state, undo.next, new Node(current, redo));
+    }
+
+    /**
+     * Repeats the most recently undone move.
+     *
+     * @return the history one move later
+     * @throws IllegalStateException if there is nothing to redo
+     */
+    public GameHistory redo() {
+        if (redo == null) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        return new GameHistory(redo.state, new Node(current, undo), redo.next);
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the current state
+     */
+    public GameState current() {
+        return current;
+    }
+
+    /**
+     * Indicates whether {@link #undo()} is possible.
+     *
+     * @return true if there is an earlier state
+     */
+    public boolean canUndo() {
+        return undo != null;
+    }
+
+    /**
+     * Indicates whether {@link #redo()} is possible.
+     *
+     * @return true if there is an undone state
+     */
+    public boolean canRedo() {
+        return redo != null;
+    }
+
+    /**
+     * Gets the number of states before the current one.
+     *
+     * @return the number of possible undo steps
+     */
+    public int getUndoDepth() {
+        return undo == null ? 0 : undo.depth;
+    }
+
+    /** One cell of a persistent stack of states. */
+    private static final class Node {
+        private final GameState state;
+        private final Node next;
+        private final int depth;
+
+        Node(GameState state, Node next) {
+            this.state = state;
+            this.next = next;
+            this.depth = next == null ? 1 : next.depth + 1;
+        }
+    }
+}
@@ -4,71 +4,209 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.random.RandomGenerator;
 
+import com.ssander.yahtzee.archive.GameArchiveWriter;
 import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.jfr.CombinationEvaluationEvent;
+import com.ssander.yahtzee.jfr.ScoreEvent;
+import com.ssander.yahtzee.jfr.TurnEvent;
 import com.ssander.yahtzee.player.Die;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.DiceRoller;
 import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.replay.GameLogWriter;
+import com.ssander.yahtzee.rules.Ruleset;
 import com.ssander.yahtzee.ui.GameUI;
 
 /**
  * Manages the overall flow of a Yahtzee game.
  * Coordinates player turns, dice rolling, scoring, and game completion.
+ *
+ * <p>Once a manager has played its first game, later games reuse the same dice,
+ * players and roller, and the turn loop itself works on primitives only (packed
+ * hands and bit masks), so headless games run without allocating.</p>
+ *
+ * <p>The number of dice, the score sheet and the upper section bonus come from a
+ * compiled {@link Ruleset}; standard Yahtzee unless another ruleset is given.</p>
+ *
+ * <p>With {@linkplain #setHistoryRecording(boolean) history recording} on, every roll and
+ * score also advances an immutable {@link GameState}, and the {@link GameHistory} of the
+ * game can be undone, redone and forked afterwards. Recording allocates a small object
+ * per move, so it is off by default.</p>
+ *
+ * <p>Turns and scores are also reported to the flight recorder as {@link TurnEvent}s and
+ * {@link ScoreEvent}s, and the score table lookup of each scored turn as a
+ * {@link CombinationEvaluationEvent}. They are disabled unless a recording enables them (see
+ * {@code config/yahtzee.jfc}); a disabled event costs a flag check and no allocation.</p>
  */
 public class GameManager {
     private final List<Player> players;
+    private final List<Player> playersView;
+    private final List<Player> seats;
     private final List<Die> dice;
-    private final CombinationRegistry registry;
+    private final Ruleset rules;
+    private final int allDiceMask;
     private final GameUI ui;
+    private final DiceRoller roller;
+    private GameEventListener events;
+    private GameArchiveWriter archive;
+    private boolean recordHistory;
+    private GameHistory history;
 
     /**
-     * Constructs a new game manager.
-     * Initializes empty player list, creates 5 dice, combination registry, and user interface.
+     * Constructs a new game manager with unpredictable dice.
+     * Initializes empty player list, creates 5 dice, the standard rules, and user interface.
      *
      * @param ui user interface implementation to interact with players
      */
     public GameManager(GameUI ui) {
+        this(ui, new DiceRandom());
+    }
+
+    /**
+     * Constructs a new game manager rolling dice from the given randomness source.
+     * Dice are drawn in batches through a {@link DiceRoller}; with a seeded source
+     * (see {@link DiceRandom}) every game is reproducible.
+     *
+     * @param ui user interface implementation to interact with players
+     * @param random the source all dice rolls are drawn from
+     */
+    public GameManager(GameUI ui, RandomGenerator random) {
+        this(ui, random, Ruleset.standard());
+    }
+
+    /**
+     * Constructs a new game manager playing a Yahtzee variant, e.g. Maxi Yahtzee
+     * with six dice.
+     *
+     * @param ui user interface implementation to interact with players
+     * @param random the source all dice rolls are drawn from
+     * @param rules the compiled rules of the variant
+     */
+    public GameManager(GameUI ui, RandomGenerator random, Ruleset rules) {
+        this.rules = Objects.requireNonNull(rules, "Ruleset must not be null");
         this.players = new ArrayList<>();
-        this.dice = new ArrayList<>(5);
-        this.registry = new CombinationRegistry();
+        this.playersView = Collections.unmodifiableList(players);
+        this.seats = new ArrayList<>();
+        this.dice = new ArrayList<>(rules.getDiceCount());
+        this.allDiceMask = (1 << rules.getDiceCount()) - 1;
         this.ui = Objects.requireNonNull(ui, "Game UI must not be null");
+        this.roller = new DiceRoller(random, rules.getFaceCount(), rules.getDiceCount());
+        this.events = GameEventListener.NONE;
 
-        for (int i = 0; i < 5; i++) {
+        for (int i = 0; i < rules.getDiceCount(); i++) {
             dice.add(new Die());
         }
+    }
+
+    /**
+     * Sets the listener that receives every roll, keep decision and score of later games,
+     * e.g. a binary event log.
+     *
+     * @param events the event listener, or {@link GameEventListener#NONE}
+     * @throws IllegalArgumentException if the listener is an event log and the rules are not standard
+     */
+    public void setEventListener(GameEventListener events) {
+        Objects.requireNonNull(events, "Event listener must not be null");
+        if (events instanceof GameLogWriter && rules != Ruleset.standard()) {
+            throw new IllegalArgumentException("Event logs are for standard rules, games are played with "
+                    + rules.getName());
+        }
+        this.events = events;
+    }
+
+    /**
+     * Sets the archive that receives the final score sheets of later games.
+     *
+     * @param archive the archive to append completed games to, or null to archive nothing
+     * @throws IllegalArgumentException if the archive was opened for other rules
+     */
+    public void setArchive(GameArchiveWriter archive) {
+        if (archive != null && archive.getRules() != rules) {
+            throw new IllegalArgumentException("Archive is for " + archive.getRules().getName()
+                    + " rules, games are played with " + rules.getName());
+        }
+        this.archive = archive;
+    }
+
+    /**
+     * Sets whether later games record every move as an immutable {@link GameState}.
+     *
+     * @param recordHistory true to record the {@link #getHistory() history} of each game
+     */
+    public void setHistoryRecording(boolean recordHistory) {
+        this.recordHistory = recordHistory;
+    }
 
-        // Add shutdown hook for Ctrl+C
-        Runtime.getRuntime().addShutdownHook(new Thread(() ->
-            System.out.println("\n\nGame aborted. Closing now...")
-        ));
+    /**
+     * Gets the recorded history of the current or most recently finished game.
+     * Its current state is the latest move; undoing leads back to the start of the game.
+     *
+     * @return the history, or null if the game was played without recording
+     */
+    public GameHistory getHistory() {
+        return history;
     }
 
     /**
      * Starts and manages the complete game flow.
      * Sets up players, runs all game rounds, displays results, and cleans up resources.
+     * A manager can play several games in a row; each game starts with reset players.
      */
     public void startGame() {
+        players.clear();
+        roller.reset();
         int playerCount = ui.askPlayerCount();
 
         for (int i = 0; i < playerCount; i++) {
             String name = ui.askPlayerName(i + 1);
-            players.add(new Player(name));
+            if (i < seats.size()) {
+                seats.get(i).reset(name);
+            } else {
+                seats.add(new Player(name, rules.getScorecardLayout()));
+            }
+            players.add(seats.get(i));
         }
+        history = recordHistory ? GameHistory.of(GameState.start(rules, playerNames())) : null;
 
+        events.gameStarted(playerCount);
         ui.displayGameStart();
         playRounds();
         displayFinalResults();
         ui.close();
     }
 
+    /**
+     * Gets the players of the current or most recently finished game.
+     * After a game ends they are ordered by total score, highest first.
+     * The player objects are reused by the next game.
+     *
+     * @return unmodifiable view of the players
+     */
+    public List<Player> getPlayers() {
+        return playersView;
+    }
+
+    private List<String> playerNames() {
+        List<String> names = new ArrayList<>(players.size());
+        for (Player player : players) {
+            names.add(player.getPlayerName());
+        }
+        return names;
+    }
+
     /**
      * Executes the main game loop.
-     * Continues until all players have completed all 13 combinations.
+     * Continues until all players have filled their whole score sheet.
      */
     private void playRounds() {
         while (!allFinished()) {
-            for (Player player : players) {
-                if (player.getRolledComboCount() < 13) {
-                    playOneTurn(player);
+            for (int seat = 0; seat < players.size(); seat++) {
+                Player player = players.get(seat);
+                if (player.getRolledComboCount() < rules.getCategoryCount()) {
+                    playOneTurn(player, seat);
                 }
             }
         }
@@ -77,11 +215,11 @@ public class GameManager {
     /**
      * Checks if all players have completed their games.
      *
-     * @return true if all players have rolled all 13 combinations, false otherwise
+     * @return true if all players have scored every combination, false otherwise
      */
     private boolean allFinished() {
-        for (Player player : players) {
-            if (player.getRolledComboCount() < 13) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getRolledComboCount() < rules.getCategoryCount()) {
                 return false;
             }
         }
@@ -91,52 +229,97 @@ public class GameManager {
     /**
      * Manages one complete turn for a player.
      * Allows up to 3 dice rolls, displays options after each roll, and saves the chosen combination.
-     * Also checks and awards the 35-point upper section bonus if applicable.
+     * Also checks and awards the upper section bonus if applicable.
      *
      * @param player the player taking this turn
+     * @param seat the seat index of the player
      */
-    private void playOneTurn(Player player) {
-        int[] kept = new int[5];
-
-        int playerNumber = players.indexOf(player) + 1;
+    private void playOneTurn(Player player, int seat) {
+        TurnEvent turn = new TurnEvent();
+        turn.begin();
+        int scoreBefore = player.getTotalScore();
+        int playerNumber = seat + 1;
+        events.turnStarted(seat);
         ui.displayPlayerTurn(playerNumber, player);
 
-        rollAndDisplay(kept, player);
-        List<Integer> values = collectValues();
-        ui.displayPossibleCombos(registry.getAllCombos(), values, player.getUsedCombosSnapshot());
+        rollAndDisplay(0, player, seat);
+        int hand = collectValues();
+        ui.displayPossibleCombos(rules.getCombinations(), hand, player.getUsedCombosMask());
 
         int rollCount = 1;
         while (rollCount < 3 && ui.askRollAgain()) {
-            kept = ui.askKeptDice();
-            rollAndDisplay(kept, player);
-            values = collectValues();
-            ui.displayPossibleCombos(registry.getAllCombos(), values, player.getUsedCombosSnapshot());
+            int keptMask = ui.askKeptDice() & allDiceMask;
+            events.diceKept(seat, keptMask);
+            rollAndDisplay(keptMask, player, seat);
+            hand = collectValues();
+            ui.displayPossibleCombos(rules.getCombinations(), hand, player.getUsedCombosMask());
             rollCount++;
         }
 
         int chosenIndex = requestCombinationIndex(player);
-        saveScore(player, chosenIndex, values);
-        awardBonusIfEligible(player);
+        saveScore(player, seat, chosenIndex, hand);
+        awardBonusIfEligible(player, seat);
         ui.displayScoreUpdate(playerNumber, player);
+        if (turn.shouldCommit()) {
+            turn.seat = seat;
+            turn.rolls = rollCount;
+            turn.category = rules.getCombinations().get(chosenIndex).getComboName();
+            turn.points = player.getTotalScore() - scoreBefore;
+            turn.commit();
+        }
     }
 
-    private void rollAndDisplay(int[] kept, Player player) {
-        player.rollDice(dice, kept);
-        Collections.sort(dice);
+    private void rollAndDisplay(int keptMask, Player player, int seat) {
+        player.rollDice(dice, keptMask, roller);
+        sortDice();
+        int faces = packFaces();
+        events.diceRolled(seat, faces);
+        if (history != null) {
+            history = history.advance(history.current().withRoll(faces));
+        }
         ui.displayDice(dice);
     }
 
     /**
-     * Collects current values from all dice into a list.
+     * Sorts the dice values in ascending order with an in-place insertion sort.
+     * The die objects keep their positions; only their values move.
+     */
+    private void sortDice() {
+        for (int i = 1; i < dice.size(); i++) {
+            int value = dice.get(i).getCurrentValue();
+            int j = i - 1;
+            while (j >= 0 && dice.get(j).getCurrentValue() > value) {
+                dice.get(j + 1).setCurrentValue(dice.get(j).getCurrentValue());
+                j--;
+            }
+            dice.get(j + 1).setCurrentValue(value);
+        }
+    }
+
+    /**
+     * Packs the current dice faces in position order, 4 bits per die.
+     *
+     * @return the packed faces (see {@link GameEventListener#face(int, int)})
+     */
+    private int packFaces() {
+        int faces = 0;
+        for (int i = 0; i < dice.size(); i++) {
+            faces |= dice.get(i).getCurrentValue() << (4 * i);
+        }
+        return faces;
+    }
+
+    /**
+     * Collects current values from all dice into a packed hand.
      *
-     * @return list of current dice values
+     * @return the packed hand of current dice values (see {@link DiceHand})
      */
-    private List<Integer> collectValues() {
-        List<Integer> values = new ArrayList<>(dice.size());
-        for (Die die : dice) {
-            values.add(die.getCurrentValue());
+    private int collectValues() {
+        int hand = DiceHand.EMPTY;
+        for (int i = 0; i < dice.size(); i++) {
+            hand = DiceHand.withDie(hand, dice.get(i).getCurrentValue());
         }
-        return values;
+        return hand;
     }
 
     private int requestCombinationIndex(Player player) {
@@ -149,35 +332,62 @@ public class GameManager {
     }
 
     private boolean isValidCombinationChoice(int index, Player player) {
-        return index >= 0 && index < registry.getAllCombos().size() && !player.isCombinationUsed(index);
+        return index >= 0 && index < rules.getCategoryCount() && !player.isCombinationUsed(index);
     }
 
     /**
      * Saves a player's chosen combination and updates their score.
      *
      * @param player the player whose score is being saved
+     * @param seat the seat index of the player
      * @param index the index of the chosen combination
-     * @param values the current dice values
+     * @param hand the current packed dice hand
      */
-    private void saveScore(Player player, int index, List<Integer> values) {
-        Combination chosen = registry.getComboByIndex(index);
-        int points = chosen.calculatePoints(values);
-        player.applyScore(chosen, points, registry.isUpperSection(index));
+    private void saveScore(Player player, int seat, int index, int hand) {
+        ScoreEvent event = new ScoreEvent();
+        event.begin();
+        Combination chosen = rules.getCombinations().get(index);
+        CombinationEvaluationEvent evaluation = new CombinationEvaluationEvent();
+        evaluation.begin();
+        int points = rules.points(rules.handIndex(hand), index);
+        if (evaluation.shouldCommit()) {
+            evaluation.category = chosen.getComboName();
+            evaluation.points = points;
+            evaluation.commit();
+        }
+        player.applyScore(chosen, points, rules.isUpperSection(index));
+        if (event.shouldCommit()) {
+            event.seat = seat;
+            event.category = chosen.getComboName();
+            event.points = points;
+            event.commit();
+        }
+        events.comboScored(seat, index, points);
+        if (history != null) {
+            history = history.advance(history.current().withScore(index));
+        }
     }
 
-    private void awardBonusIfEligible(Player player) {
-        if (!player.isUpperSectionBonusAwarded() && player.getUpperSectionScore() >= 63) {
+    private void awardBonusIfEligible(Player player, int seat) {
+        int bonus = rules.awardUpperBonus(player);
+        if (bonus > 0) {
             ui.displayBonusMessage();
-            player.setTotalScore(player.getTotalScore() + 35);
-            player.setUpperSectionBonusAwarded(true);
+            events.bonusAwarded(seat, bonus);
         }
     }
 
     /**
      * Displays final game results.
-     * Sorts players by score in descending order and displays rankings.
+     * Reports every player's final score to the event listener and the archive in seat
+     * order, then sorts players by score in descending order and displays rankings.
      */
     private void displayFinalResults() {
+        for (int i = 0; i < players.size(); i++) {
+            events.playerFinished(i, players.get(i).getTotalScore());
+        }
+        if (archive != null) {
+            archive.append(players);
+        }
         players.sort(Collections.reverseOrder());
         ui.displayGameEnd(players);
     }
@@ -0,0 +1,215 @@
+package com.ssander.yahtzee.management;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.player.Scorecard;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Immutable snapshot of a game: every player's score sheet, whose turn it is, the dice
+ * on the table and how often they were rolled this turn.
+ *
+ * <p>Every move returns a new state and leaves this one untouched, so a state is its own
+ * snapshot and any number of alternative continuations can branch from it, e.g. to see
+ * what scoring Chance instead would have led to. States share everything that a move
+ * does not change: the rules, the player names and, for rolls, the score sheets. A roll
+ * creates one small object; a score additionally creates one {@link Scorecard} and copies
+ * the array of score sheet references, which has one entry per player.</p>
+ *
+ * <p>Dice are stored per position as in {@link GameEventListener#face(int, int)}, four
+ * bits per die. See {@link GameHistory} for undo and redo.</p>
+ */
+public final class GameState {
+    private static final int MAX_ROLLS = 3;
+
+    private final Ruleset rules;
+    private final List<String> names;
+    private final Scorecard[] sheets;
+    private final int seat;
+    private final int faces;
+    private final int rollCount;
+
+    private GameState(Ruleset rules, List<String> names, Scorecard[] sheets, int seat, int faces, int rollCount) {
+        this.rules = rules;
+        this.names = names;
+        this.sheets = sheets;
+        this.seat = seat;
+        this.faces = faces;
+        this.rollCount = rollCount;
+    }
+
+    /**
+     * Creates the state before the first roll of a new game.
+     *
+     * @param rules the rules of the game
+     * @param names the player names in seat order
+     * @return the initial state
+     */
+    public static GameState start(Ruleset rules, List<String> names) {
+        Objects.requireNonNull(rules, "Ruleset must not be null");
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("A game needs at least one player");
+        }
+        Scorecard[] sheets = new Scorecard[names.size()];
+        Scorecard empty = Scorecard.empty(rules.getScorecardLayout());
+        for (int i = 0; i < sheets.length; i++) {
+            sheets[i] = empty;
+        }
+        return new GameState(rules, List.copyOf(names), sheets, 0, 0, 0);
+    }
+
+    /**
+     * Returns the state after the current player rolled the dice.
+     *
+     * @param rolledFaces the faces of all dice by position, 4 bits per die
+     * @return the new state
+     * @throws IllegalStateException if the game is over or the turn has no rolls left
+     * @throws IllegalArgumentException if a face is out of range
+     */
+    public GameState withRoll(int rolledFaces) {
+        if (isFinished()) {
+            throw new IllegalStateException("The game is over");
+        }
+        if (rollCount == MAX_ROLLS) {
+            throw new IllegalStateException("No rolls left this turn");
+        }
+        for (int i = 0; i < rules.getDiceCount(); i++) {
+            int face = GameEventListener.face(rolledFaces, i);
+            if (face < 1 || face > rules.getFaceCount()) {
+                throw new IllegalArgumentException("Invalid die face " + face + " at position " + i);
+            }
+        }
+        return new GameState(rules, names, sheets, seat, rolledFaces, rollCount + 1);
+    }
+
+    /**
+     * Returns the state after the current player scored a combination with the current
+     * dice. The upper section bonus is awarded once it is reached, and the turn passes to
+     * the next player.
+     *
+     * @param combo the combination index
+     * @return the new state
+     * @throws IllegalStateException if the dice have not been rolled this turn or the
+     *         combination was already scored
+     */
+    public GameState withScore(int combo) {
+        if (rollCount == 0) {
+            throw new IllegalStateException("Roll the dice before scoring");
+        }
+        Scorecard sheet = sheets[seat].withScore(combo, getPoints(combo));
+        if (rules.upperBonus(sheet.getUpperScore(), sheet.isBonusAwarded()) > 0) {
+            sheet = sheet.withBonus();
+        }
+        Scorecard[] next = sheets.clone();
+        next[seat] = sheet;
+        return new GameState(rules, names, next, (seat + 1) % sheets.length, 0, 0);
+    }
+
+    /**
+     * Gets the points a combination would score with the current dice.
+     *
+     * @param combo the combination index
+     * @return the points, or 0 before the first roll of the turn
+     */
+    public int getPoints(int combo) {
+        return rollCount == 0 ? 0 : rules.points(rules.handIndex(getHand()), combo);
+    }
+
+    /**
+     * Gets the rules of the game.
+     *
+     * @return the ruleset
+     */
+    public Ruleset getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return sheets.length;
+    }
+
+    /**
+     * Gets the name of a player.
+     *
+     * @param seat the seat index
+     * @return the player name
+     */
+    public String getPlayerName(int seat) {
+        return names.get(seat);
+    }
+
+    /**
+     * Gets the score sheet of a player.
+     *
+     * @param seat the seat index
+     * @return the player's score sheet
+     */
+    public Scorecard getScorecard(int seat) {
+        return sheets[seat];
+    }
+
+    /**
+     * Gets the seat of the player whose turn it is.
+     *
+     * @return the current seat index
+     */
+    public int getCurrentSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the dice by position.
+     *
+     * @return the faces, 4 bits per die, or 0 before the first roll of the turn
+     */
+    public int getFaces() {
+        return faces;
+    }
+
+    /**
+     * Gets the dice as a packed hand.
+     *
+     * @return the packed hand (see {@link DiceHand}), empty before the first roll of the turn
+     */
+    public int getHand() {
+        int hand = DiceHand.EMPTY;
+        if (rollCount > 0) {
+            for (int i = 0; i < rules.getDiceCount(); i++) {
+                hand = DiceHand.withDie(hand, GameEventListener.face(faces, i));
+            }
+        }
+        return hand;
+    }
+
+    /**
+     * Gets how often the dice were rolled this turn.
+     *
+     * @return the roll count (0-3)
+     */
+    public int getRollCount() {
+        return rollCount;
+    }
+
+    /**
+     * Indicates whether every player has filled their score sheet.
+     *
+     * @return true when the game is over
+     */
+    public boolean isFinished() {
+        // Players take turns in seat order, so the last seat finishes last
+        Scorecard last = sheets[sheets.length - 1];
+        return Integer.bitCount(last.getUsedMask()) == rules.getCategoryCount();
+    }
+
+    @Override
+    public String toString() {
+        return "GameState[seat=" + seat + ", rolls=" + rollCount + ", dice=" + DiceHand.toString(getHand()) + "]";
+    }
+}
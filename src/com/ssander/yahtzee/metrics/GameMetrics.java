@@ -0,0 +1,291 @@
+package com.ssander.yahtzee.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live counters of the games played through any number of {@link InstrumentedGameUI}s,
+ * published over JMX.
+ *
+ * <p>Counters are {@link LongAdder}s and latencies go to striped
+ * {@link LatencyRecorder}s, so many game threads update them without contending on a
+ * shared cache line. One instance is meant to be shared by every game of a process (or
+ * of a group of games that should be reported together); {@link #register} publishes it
+ * as a {@link GameMetricsMXBean} plus one {@link UiCallMXBean} per
+ * {@link com.ssander.yahtzee.ui.GameUI} method, e.g. for JConsole or a JMX exporter.</p>
+ *
+ * <p>While registered, a virtual thread samples the turn counter twice a second, and the
+ * turn rate is taken over the last five seconds of samples. Reading the rate does not
+ * change it, so any number of JMX clients can poll it.</p>
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    private static final String DOMAIN = "com.ssander.yahtzee";
+    private static final long RATE_SAMPLE_MILLIS = 500;
+    /** Samples spanning the rate window: the newest one and ten intervals before it. */
+    private static final int RATE_SAMPLES = 11;
+
+    private final LongAdder activeGames = new LongAdder();
+    private final LongAdder completedGames = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder scores = new LongAdder();
+    private final LatencyRecorder turnLatencies = new LatencyRecorder();
+    private final CallStats[] calls = new CallStats[UiCall.values().length];
+    private final long[] sampleTurns = new long[RATE_SAMPLES];
+    private final long[] sampleNanos = new long[RATE_SAMPLES];
+    private long samples;
+    private volatile double turnsPerSecond;
+    private Thread sampler;
+
+    /**
+     * Creates metrics with all counters at zero.
+     */
+    public GameMetrics() {
+        for (UiCall call : UiCall.values()) {
+            calls[call.ordinal()] = new CallStats(call.method());
+        }
+    }
+
+    /**
+     * Registers these metrics and the per-method UI call metrics with an MBean server.
+     *
+     * @param server the MBean server, typically the platform MBean server
+     * @param name the value of the {@code name} key of every object name
+     * @throws JMException if an MBean cannot be registered, e.g. because the name is taken
+     */
+    public synchronized void register(MBeanServer server, String name) throws JMException {
+        server.registerMBean(this, objectName(name));
+        for (CallStats call : calls) {
+            server.registerMBean(call, callObjectName(name, call.method));
+        }
+        if (sampler == null) {
+            sampler = Thread.ofVirtual().name("game-metrics-" + name).start(this::sampleTurnRate);
+        }
+    }
+
+    /**
+     * Removes these metrics from an MBean server.
+     *
+     * @param server the MBean server they were registered with
+     * @param name the name they were registered under
+     * @throws JMException if an MBean is not registered
+     */
+    public synchronized void unregister(MBeanServer server, String name) throws JMException {
+        server.unregisterMBean(objectName(name));
+        for (CallStats call : calls) {
+            server.unregisterMBean(callObjectName(name, call.method));
+        }
+        if (sampler != null) {
+            sampler.interrupt();
+            sampler = null;
+        }
+    }
+
+    /**
+     * Samples the turn counter until interrupted and publishes the rate between the
+     * newest sample and the oldest one still in the window.
+     */
+    private void sampleTurnRate() {
+        try {
+            while (true) {
+                int newest = (int) (samples % RATE_SAMPLES);
+                sampleTurns[newest] = turns.sum();
+                sampleNanos[newest] = System.nanoTime();
+                if (samples > 0) {
+                    int oldest = samples < RATE_SAMPLES ? 0 : (int) ((samples + 1) % RATE_SAMPLES);
+                    turnsPerSecond = (sampleTurns[newest] - sampleTurns[oldest]) * 1e9
+                            / (sampleNanos[newest] - sampleNanos[oldest]);
+                }
+                samples++;
+                Thread.sleep(RATE_SAMPLE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the object name of the game metrics registered under a name.
+     *
+     * @param name the value of the {@code name} key
+     * @return the object name
+     * @throws JMException if the name is not a valid object name value
+     */
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=GameMetrics,name=" + ObjectName.quote(name));
+    }
+
+    /**
+     * Gets the object name of the metrics of one UI method registered under a name.
+     *
+     * @param name the value of the {@code name} key
+     * @param method the name of the {@link com.ssander.yahtzee.ui.GameUI} method
+     * @return the object name
+     * @throws JMException if the name is not a valid object name value
+     */
+    public static ObjectName callObjectName(String name, String method) throws JMException {
+        return new ObjectName(DOMAIN + ":type=UiCall,name=" + ObjectName.quote(name) + ",call=" + method);
+    }
+
+    void gameStarted() {
+        activeGames.increment();
+    }
+
+    void gameCompleted() {
+        completedGames.increment();
+    }
+
+    void gameClosed() {
+        activeGames.decrement();
+    }
+
+    void turnCompleted(long nanos) {
+        turns.increment();
+        if (nanos != InstrumentedGameUI.NOT_TIMED) {
+            turnLatencies.record(nanos);
+        }
+    }
+
+    void rolled() {
+        rolls.increment();
+    }
+
+    void scored() {
+        scores.increment();
+    }
+
+    void called(UiCall call, long nanos) {
+        CallStats stats = calls[call.ordinal()];
+        stats.calls.increment();
+        if (nanos != InstrumentedGameUI.NOT_TIMED) {
+            stats.latencies.record(nanos);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getActiveGames() {
+        return activeGames.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getCompletedGames() {
+        return completedGames.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getTurnsPerSecond() {
+        return turnsPerSecond;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getRolls() {
+        return rolls.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getScores() {
+        return scores.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getTurnMeanMicros() {
+        return turnLatencies.getMeanNanos() / 1e3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getTurnP50Micros() {
+        return turnLatencies.getPercentileNanos(0.50) / 1e3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getTurnP99Micros() {
+        return turnLatencies.getPercentileNanos(0.99) / 1e3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getTurnP999Micros() {
+        return turnLatencies.getPercentileNanos(0.999) / 1e3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getTurnMaxMicros() {
+        return turnLatencies.getMaxNanos() / 1e3;
+    }
+
+    /**
+     * Returns a one-line summary of the metrics.
+     *
+     * @return formatted metrics
+     */
+    @Override
+    public String toString() {
+        return String.format("active: %,d | completed: %,d | turns: %,d | turn p50: %.1f us, p99: %.1f us",
+                getActiveGames(), getCompletedGames(), getTurns(), getTurnP50Micros(), getTurnP99Micros());
+    }
+
+    /** Time spent in one UI method. */
+    private static final class CallStats implements UiCallMXBean {
+        private final String method;
+        private final LongAdder calls = new LongAdder();
+        private final LatencyRecorder latencies = new LatencyRecorder();
+
+        CallStats(String method) {
+            this.method = Objects.requireNonNull(method);
+        }
+
+        @Override
+        public String getCall() {
+            return method;
+        }
+
+        @Override
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return latencies.getMeanNanos() / 1e3;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return latencies.getPercentileNanos(0.50) / 1e3;
+        }
+
+        @Override
+        public double getP99Micros() {
+            return latencies.getPercentileNanos(0.99) / 1e3;
+        }
+
+        @Override
+        public double getP999Micros() {
+            return latencies.getPercentileNanos(0.999) / 1e3;
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return latencies.getMaxNanos() / 1e3;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ssander.yahtzee.metrics;
+
+/**
+ * Management interface of the game counters collected by a {@link GameMetrics}.
+ * Registered as {@code com.ssander.yahtzee:type=GameMetrics,name=<name>}.
+ */
+public interface GameMetricsMXBean {
+    /**
+     * Gets the number of games currently being played.
+     *
+     * @return the active game count
+     */
+    long getActiveGames();
+
+    /**
+     * Gets the number of games played to the end.
+     *
+     * @return the completed game count
+     */
+    long getCompletedGames();
+
+    /**
+     * Gets the number of turns played.
+     *
+     * @return the turn count
+     */
+    long getTurns();
+
+    /**
+     * Gets the turn rate over the last five seconds (or since the metrics were
+     * registered, during the first five seconds). Reading it has no side effects.
+     *
+     * @return the turns per second
+     */
+    double getTurnsPerSecond();
+
+    /**
+     * Gets the number of dice rolls.
+     *
+     * @return the roll count
+     */
+    long getRolls();
+
+    /**
+     * Gets the number of scored combinations.
+     *
+     * @return the score count
+     */
+    long getScores();
+
+    /**
+     * Gets the mean turn duration, from the start of a turn to its score update.
+     *
+     * @return the mean in microseconds
+     */
+    double getTurnMeanMicros();
+
+    /**
+     * Gets the median turn duration.
+     *
+     * @return the median in microseconds
+     */
+    double getTurnP50Micros();
+
+    /**
+     * Gets the 99th percentile of the turn duration.
+     *
+     * @return the percentile in microseconds
+     */
+    double getTurnP99Micros();
+
+    /**
+     * Gets the 99.9th percentile of the turn duration.
+     *
+     * @return the percentile in microseconds
+     */
+    double getTurnP999Micros();
+
+    /**
+     * Gets the longest turn duration.
+     *
+     * @return the maximum in microseconds
+     */
+    double getTurnMaxMicros();
+}
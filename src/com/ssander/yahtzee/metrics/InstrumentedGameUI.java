@@ -0,0 +1,188 @@
+package com.ssander.yahtzee.metrics;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.player.Die;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.ui.GameUI;
+
+/**
+ * {@link GameUI} decorator that reports a game to shared {@link GameMetrics}: it counts
+ * games, turns, rolls, scores and the calls of every method, and times every 16th call
+ * (for the {@code ask*} methods that is the wait for the player's answer) and every 16th
+ * turn. Reading the clock costs more than the rest of a bot's call, so timing every call
+ * would halve the speed of headless games; sampling keeps the percentiles while the
+ * counts stay exact.
+ *
+ * <p>A game is active from {@link #askPlayerCount()}, the first call of
+ * {@link com.ssander.yahtzee.management.GameManager#startGame()}, until {@link #close()},
+ * its last. A game that ends by an exception should still be closed, so it stops
+ * counting as active; closing twice is harmless. Each instance serves one game at a
+ * time, like the UI it wraps.</p>
+ */
+public class InstrumentedGameUI implements GameUI {
+    /** One in this many calls and turns is timed; all are counted. */
+    private static final int SAMPLE_INTERVAL = 16;
+    private static final int SAMPLE_MASK = SAMPLE_INTERVAL - 1;
+    /** Marks a call or turn that is counted but not timed. */
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final GameUI delegate;
+    private final GameMetrics metrics;
+    private long calls;
+    private long turns;
+    private long turnStart;
+    private boolean inGame;
+
+    /**
+     * Wraps a user interface.
+     *
+     * @param delegate the user interface that does the actual work
+     * @param metrics the metrics to report to, typically shared by many games
+     */
+    public InstrumentedGameUI(GameUI delegate, GameMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "Game UI must not be null");
+        this.metrics = Objects.requireNonNull(metrics, "Metrics must not be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int askPlayerCount() {
+        if (!inGame) {
+            inGame = true;
+            metrics.gameStarted();
+        }
+        long start = begin();
+        int answer = delegate.askPlayerCount();
+        end(UiCall.ASK_PLAYER_COUNT, start);
+        return answer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String askPlayerName(int orderNumber) {
+        long start = begin();
+        String answer = delegate.askPlayerName(orderNumber);
+        end(UiCall.ASK_PLAYER_NAME, start);
+        return answer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayGameStart() {
+        long start = begin();
+        delegate.displayGameStart();
+        end(UiCall.DISPLAY_GAME_START, start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayPlayerTurn(int orderNumber, Player player) {
+        turnStart = (++turns & SAMPLE_MASK) == 0 ? System.nanoTime() : NOT_TIMED;
+        long start = begin();
+        delegate.displayPlayerTurn(orderNumber, player);
+        end(UiCall.DISPLAY_PLAYER_TURN, start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayDice(List<Die> dice) {
+        metrics.rolled();
+        long start = begin();
+        delegate.displayDice(dice);
+        end(UiCall.DISPLAY_DICE, start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayPossibleCombos(List<Combination> combos, int hand, int usedCombosMask) {
+        long start = begin();
+        delegate.displayPossibleCombos(combos, hand, usedCombosMask);
+        end(UiCall.DISPLAY_POSSIBLE_COMBOS, start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayInvalidCombinationSelection() {
+        long start = begin();
+        delegate.displayInvalidCombinationSelection();
+        end(UiCall.DISPLAY_INVALID_COMBINATION_SELECTION, start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean askRollAgain() {
+        long start = begin();
+        boolean answer = delegate.askRollAgain();
+        end(UiCall.ASK_ROLL_AGAIN, start);
+        return answer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int askKeptDice() {
+        long start = begin();
+        int answer = delegate.askKeptDice();
+        end(UiCall.ASK_KEPT_DICE, start);
+        return answer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int askCombination() {
+        long start = begin();
+        int answer = delegate.askCombination();
+        end(UiCall.ASK_COMBINATION, start);
+        return answer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayBonusMessage() {
+        long start = begin();
+        delegate.displayBonusMessage();
+        end(UiCall.DISPLAY_BONUS_MESSAGE, start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayScoreUpdate(int playerNumber, Player player) {
+        metrics.scored();
+        long start = begin();
+        delegate.displayScoreUpdate(playerNumber, player);
+        end(UiCall.DISPLAY_SCORE_UPDATE, start);
+        metrics.turnCompleted(turnStart == NOT_TIMED ? NOT_TIMED : System.nanoTime() - turnStart);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayGameEnd(List<Player> players) {
+        long start = begin();
+        delegate.displayGameEnd(players);
+        end(UiCall.DISPLAY_GAME_END, start);
+        metrics.gameCompleted();
+    }
+
+    private long begin() {
+        return (++calls & SAMPLE_MASK) == 0 ? System.nanoTime() : NOT_TIMED;
+    }
+
+    private void end(UiCall call, long start) {
+        metrics.called(call, start == NOT_TIMED ? NOT_TIMED : System.nanoTime() - start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            if (inGame) {
+                inGame = false;
+                metrics.gameClosed();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ssander.yahtzee.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records nanosecond latencies from many threads into a histogram with logarithmic
+ * buckets of 16 steps per power of two, so every recorded value is known within about
+ * 6% (the layout of an HDR histogram with one significant digit).
+ *
+ * <p>The buckets are striped: each thread counts into one of several copies of the
+ * histogram (about one per core), picked by its thread id, so concurrent recorders
+ * rarely touch the same cache line. Recording is a bucket computation and two atomic
+ * adds (a maximum is only written when it grows); reading sums the stripes and may
+ * miss values that are being recorded at the same time.</p>
+ */
+public final class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+    /** Per-stripe slots: the buckets, the sum, the maximum, and padding up to a cache line. */
+    private static final int SUM = BUCKETS;
+    private static final int MAX = BUCKETS + 1;
+    private static final int STRIDE = BUCKETS + 16;
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    private final AtomicLongArray slots = new AtomicLongArray(STRIPES * STRIDE);
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int stripe = (int) (Thread.currentThread().threadId() & (STRIPES - 1)) * STRIDE;
+        slots.getAndIncrement(stripe + bucket(value));
+        slots.getAndAdd(stripe + SUM, value);
+        long max = slots.get(stripe + MAX);
+        while (value > max && !slots.weakCompareAndSetVolatile(stripe + MAX, max, value)) {
+            max = slots.get(stripe + MAX);
+        }
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                count += slots.get(stripe * STRIDE + bucket);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded latencies.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMeanNanos() {
+        long count = getCount();
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            sum += slots.get(stripe * STRIDE + SUM);
+        }
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Gets the largest recorded latency.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMaxNanos() {
+        long max = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            max = Math.max(max, slots.get(stripe * STRIDE + MAX));
+        }
+        return max;
+    }
+
+    /**
+     * Gets the lower bound of the bucket holding a percentile.
+     *
+     * @param fraction the percentile as a fraction, e.g. 0.99
+     * @return the latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                long count = slots.get(stripe * STRIDE + bucket);
+                counts[bucket] += count;
+                total += count;
+            }
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return lowerBound(bucket);
+            }
+        }
+        return 0;
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int mantissa = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    private static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+}
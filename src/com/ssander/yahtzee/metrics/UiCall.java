@@ -0,0 +1,30 @@
+package com.ssander.yahtzee.metrics;
+
+/**
+ * The measured {@link com.ssander.yahtzee.ui.GameUI} methods.
+ */
+enum UiCall {
+    ASK_PLAYER_COUNT("askPlayerCount"),
+    ASK_PLAYER_NAME("askPlayerName"),
+    DISPLAY_GAME_START("displayGameStart"),
+    DISPLAY_PLAYER_TURN("displayPlayerTurn"),
+    DISPLAY_DICE("displayDice"),
+    DISPLAY_POSSIBLE_COMBOS("displayPossibleCombos"),
+    DISPLAY_INVALID_COMBINATION_SELECTION("displayInvalidCombinationSelection"),
+    ASK_ROLL_AGAIN("askRollAgain"),
+    ASK_KEPT_DICE("askKeptDice"),
+    ASK_COMBINATION("askCombination"),
+    DISPLAY_BONUS_MESSAGE("displayBonusMessage"),
+    DISPLAY_SCORE_UPDATE("displayScoreUpdate"),
+    DISPLAY_GAME_END("displayGameEnd");
+
+    private final String method;
+
+    UiCall(String method) {
+        this.method = method;
+    }
+
+    String method() {
+        return method;
+    }
+}
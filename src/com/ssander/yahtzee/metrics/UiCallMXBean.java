@@ -0,0 +1,57 @@
+package com.ssander.yahtzee.metrics;
+
+/**
+ * Management interface of the time spent in one {@link com.ssander.yahtzee.ui.GameUI}
+ * method, such as waiting for a player's answer to {@code askRollAgain}.
+ * Registered as {@code com.ssander.yahtzee:type=UiCall,name=<name>,call=<method>}.
+ */
+public interface UiCallMXBean {
+    /**
+     * Gets the name of the measured method.
+     *
+     * @return the method name
+     */
+    String getCall();
+
+    /**
+     * Gets the number of calls.
+     *
+     * @return the call count
+     */
+    long getCalls();
+
+    /**
+     * Gets the mean time per call.
+     *
+     * @return the mean in microseconds
+     */
+    double getMeanMicros();
+
+    /**
+     * Gets the median time per call.
+     *
+     * @return the median in microseconds
+     */
+    double getP50Micros();
+
+    /**
+     * Gets the 99th percentile of the time per call.
+     *
+     * @return the percentile in microseconds
+     */
+    double getP99Micros();
+
+    /**
+     * Gets the 99.9th percentile of the time per call.
+     *
+     * @return the percentile in microseconds
+     */
+    double getP999Micros();
+
+    /**
+     * Gets the longest call.
+     *
+     * @return the maximum in microseconds
+     */
+    double getMaxMicros();
+}
@@ -0,0 +1,69 @@
+package com.ssander.yahtzee.player;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fast, seedable source of dice randomness.
+ * Uses the SplitMix64 algorithm (the one behind {@link java.util.SplittableRandom}),
+ * but can be reseeded in place, so a single instance per thread can replay any number
+ * of independent game streams without allocating.
+ *
+ * <p>A root seed fans out deterministically through {@link #streamSeed(long, long)}:
+ * game {@code n} always gets the same stream no matter which thread plays it, which
+ * makes parallel runs reproducible. Instances are not thread-safe.</p>
+ */
+public final class DiceRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Constructs a generator with an unpredictable seed.
+     */
+    public DiceRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a generator with a fixed seed.
+     *
+     * @param seed the initial seed
+     */
+    public DiceRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Restarts the generator from a new seed.
+     *
+     * @param seed the new seed
+     */
+    public void reseed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Derives the seed of an independent stream (for example one game) from a root seed.
+     *
+     * @param rootSeed the seed of the whole run
+     * @param streamIndex the index of the stream, e.g. the game number
+     * @return the seed of that stream
+     */
+    public static long streamSeed(long rootSeed, long streamIndex) {
+        return mix64(mix64(rootSeed) + GOLDEN_GAMMA * (streamIndex + 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
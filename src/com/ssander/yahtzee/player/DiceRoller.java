@@ -0,0 +1,191 @@
+package com.ssander.yahtzee.player;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+import com.ssander.yahtzee.combos.DiceHand;
+
+/**
+ * Rolls many dice from few random numbers.
+ *
+ * <p>Each accepted 64-bit word from the underlying generator is read as 23 base-6
+ * digits, one die per digit. To keep every face equally likely, words at or above
+ * the largest multiple of 6<sup>23</sup> below 2<sup>64</sup> (23 &middot; 6<sup>23</sup>)
+ * are rejected, about 1.5% of them, so the remaining words map uniformly onto
+ * 6<sup>23</sup> digit strings. That yields about 22.7 dice per word; reading 24 digits
+ * would reject about 23% of the words and yield only 18.5. Unused digits are buffered
+ * for the next roll. Dice with other face counts work the same way, with the number of
+ * base-M digits per word that yields the most dice per word. Instances are not
+ * thread-safe.</p>
+ */
+public final class DiceRoller {
+    private static final int FACES = 6;
+    private static final int DICE = 5;
+
+    private final RandomGenerator random;
+    private final int faces;
+    private final int dice;
+    private final int digitsPerWord;
+    /** faces^digitsPerWord, the number of distinct digit strings in a word. */
+    private final long digitSpace;
+    /** Largest multiple of {@link #digitSpace} below 2^64, or 0 if every word is accepted. */
+    private final long acceptLimit;
+    private long digits;
+    private int remaining;
+
+    /**
+     * Constructs a roller for hands of five six-sided dice.
+     *
+     * @param random the source of random 64-bit words
+     */
+    public DiceRoller(RandomGenerator random) {
+        this(random, FACES, DICE);
+    }
+
+    /**
+     * Constructs a roller for hands of the given number of dice with the given number of faces.
+     *
+     * @param random the source of random 64-bit words
+     * @param faces the number of faces on each die (2-10)
+     * @param dice the number of dice in a hand (1-7)
+     */
+    public DiceRoller(RandomGenerator random, int faces, int dice) {
+        if (faces < 2 || faces > 10) {
+            throw new IllegalArgumentException("Face count must be between 2 and 10");
+        }
+        if (dice < 1 || dice > 7) {
+            throw new IllegalArgumentException("Dice count must be between 1 and 7");
+        }
+        this.random = Objects.requireNonNull(random, "Random generator must not be null");
+        this.faces = faces;
+        this.dice = dice;
+
+        int bestDigits = 0;
+        long bestSpace = 0;
+        double bestYield = 0;
+        long space = 1;
+        for (int count = 1; space <= Long.MAX_VALUE / faces; count++) {
+            space *= faces;
+            double yield = count * acceptedFraction(acceptLimit(space));
+            if (yield > bestYield) {
+                bestDigits = count;
+                bestSpace = space;
+                bestYield = yield;
+            }
+        }
+        this.digitsPerWord = bestDigits;
+        this.digitSpace = bestSpace;
+        this.acceptLimit = acceptLimit(bestSpace);
+    }
+
+    /**
+     * Gets the largest multiple of a digit space below 2^64, or 0 if the space divides 2^64.
+     */
+    private static long acceptLimit(long space) {
+        long multiples = Long.divideUnsigned(-1L, space);
+        if (Long.remainderUnsigned(-1L, space) == space - 1) {
+            multiples++;
+        }
+        return multiples * space;
+    }
+
+    private static double acceptedFraction(long acceptLimit) {
+        return acceptLimit == 0 ? 1.0 : (acceptLimit >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Gets how many dice each accepted word yields.
+     *
+     * @return the base-M digits read from a word
+     */
+    public int getDigitsPerWord() {
+        return digitsPerWord;
+    }
+
+    /**
+     * Gets the share of random words that are accepted.
+     *
+     * @return the acceptance rate (0-1)
+     */
+    public double getAcceptanceRate() {
+        return acceptedFraction(acceptLimit);
+    }
+
+    /**
+     * Discards buffered digits, so the next roll starts from a fresh word.
+     * Call after reseeding the generator to make rolls depend only on the new seed.
+     */
+    public void reset() {
+        remaining = 0;
+    }
+
+    /**
+     * Rolls a single die.
+     *
+     * @return a face value between 1 and the face count (6 by default)
+     */
+    public int nextFace() {
+        if (remaining == 0) {
+            refill();
+        }
+        int face;
+        if (faces == FACES) {
+            // Constant divisor: compiled to a multiplication on the common path
+            face = (int) (digits % FACES) + 1;
+            digits /= FACES;
+        } else {
+            face = (int) (digits % faces) + 1;
+            digits /= faces;
+        }
+        remaining--;
+        return face;
+    }
+
+    /**
+     * Completes a hand by rolling every die that is not kept.
+     *
+     * @param keptHand the packed hand of kept dice (see {@link DiceHand})
+     * @return the packed hand of the roller's dice count
+     */
+    public int rollHand(int keptHand) {
+        int hand = keptHand;
+        for (int i = DiceHand.size(keptHand); i < dice; i++) {
+            hand = DiceHand.withDie(hand, nextFace());
+        }
+        return hand;
+    }
+
+    /**
+     * Fills an array with freshly rolled hands, e.g. one per game.
+     *
+     * @param hands the array receiving packed hands (see {@link DiceHand})
+     */
+    public void rollHands(int[] hands) {
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = rollHand(DiceHand.EMPTY);
+        }
+    }
+
+    /**
+     * Rerolls the dice values whose position is not kept.
+     *
+     * @param values the dice values, updated in place
+     * @param keptMask bit {@code i} set means position {@code i} is kept
+     */
+    public void roll(int[] values, int keptMask) {
+        for (int i = 0; i < values.length; i++) {
+            if ((keptMask & (1 << i)) == 0) {
+                values[i] = nextFace();
+            }
+        }
+    }
+
+    private void refill() {
+        long word;
+        do {
+            word = random.nextLong();
+        } while (acceptLimit != 0 && Long.compareUnsigned(word, acceptLimit) >= 0);
+        digits = Long.remainderUnsigned(word, digitSpace);
+        remaining = digitsPerWord;
+    }
+}
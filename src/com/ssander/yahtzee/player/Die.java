@@ -1,6 +1,7 @@
 package com.ssander.yahtzee.player;
 
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a single six-sided die in the Yahtzee game.
@@ -43,7 +44,18 @@ public class Die implements Rollable, Comparable<Die> {
      */
     @Override
     public void roll() {
-        this.setCurrentValue(ThreadLocalRandom.current().nextInt(1, 7));
+        roll(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Rolls the die using the given randomness source.
+     * Implements the Rollable interface.
+     *
+     * @param random the randomness source to draw from
+     */
+    @Override
+    public void roll(RandomGenerator random) {
+        this.setCurrentValue(random.nextInt(1, 7));
     }
 
     /**
@@ -1,10 +1,12 @@
 package com.ssander.yahtzee.player;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.jfr.RollEvent;
 
 /**
  * Represents a player in the Yahtzee game.
@@ -14,32 +16,55 @@ import com.ssander.yahtzee.combos.Combination;
  * <p>Responsibility for updating combination usage and section totals now
  * lives inside this class via {@link #applyScore(Combination, int, boolean)},
  * reducing direct score mutations from the game manager.</p>
+ *
+ * <p>The score sheet is kept as the two packed words of a {@link Scorecard}: scores,
+ * usage and bonus state take 16 bytes per player, section totals and the list of
+ * scored combinations are derived from them on demand.</p>
  */
 public class Player implements Comparable<Player> {
     private String playerName;
     private int totalScore;
-    private final boolean[] usedCombos;
-    private int upperSectionScore;
-    private int lowerSectionScore;
-    private boolean upperSectionBonusAwarded;
-    private final List<String> rolledComboNames;
-    private final List<Integer> rolledComboScores;
+    private final Scorecard.Layout layout;
+    private long sheetLow;
+    private long sheetHigh;
 
     /**
-     * Constructs a new player with the given name.
-     * Initializes score to 0 and creates empty combination tracking lists.
+     * Constructs a new player with the given name for the 13 standard combinations.
+     * Initializes score to 0 and an empty score sheet.
      *
      * @param name the player's name
      */
     public Player(String name) {
+        this(name, Scorecard.Layout.standard());
+    }
+
+    /**
+     * Constructs a new player with the given name for a score sheet of any layout,
+     * e.g. the categories of a {@link com.ssander.yahtzee.rules.Ruleset}.
+     *
+     * @param name the player's name
+     * @param layout the layout of the score sheet
+     */
+    public Player(String name, Scorecard.Layout layout) {
+        this.layout = Objects.requireNonNull(layout, "Layout must not be null");
+        clear(name);
+    }
+
+    /**
+     * Clears all scores and combinations so the player can take a seat in a new game.
+     * Reusing players this way keeps repeated games free of allocation.
+     *
+     * @param name the player's name for the new game
+     */
+    public void reset(String name) {
+        clear(name);
+    }
+
+    private void clear(String name) {
         this.playerName = name;
         this.totalScore = 0;
-        this.rolledComboNames = new ArrayList<>();
-        this.rolledComboScores = new ArrayList<>();
-        this.usedCombos = new boolean[13];
-        this.upperSectionScore = 0;
-        this.lowerSectionScore = 0;
-        this.upperSectionBonusAwarded = false;
+        this.sheetLow = 0;
+        this.sheetHigh = 0;
     }
 
     /**
@@ -88,23 +113,23 @@ public class Player implements Comparable<Player> {
      * @param points the points earned for this combination
      * @param upperSection true if the combination belongs to the upper section
      * @throws IllegalStateException if the combination was already used
+     * @throws IllegalArgumentException if the section or points do not fit the score sheet
      */
     public void applyScore(Combination combination, int points, boolean upperSection) {
         int index = combination.getIndex();
-        if (usedCombos[index]) {
+        if (layout.isUsed(sheetLow, sheetHigh, index)) {
             throw new IllegalStateException("Combination already used: " + combination.getComboName());
         }
+        if (upperSection != layout.isUpperSection(index)) {
+            throw new IllegalArgumentException("Section does not match the score sheet: " + combination.getComboName());
+        }
 
-        usedCombos[index] = true;
-        rolledComboNames.add(combination.getComboName());
-        rolledComboScores.add(points);
-
-        totalScore += points;
-        if (upperSection) {
-            upperSectionScore += points;
+        if (layout.isInHighWord(index)) {
+            sheetHigh = layout.withScore(sheetHigh, index, points);
         } else {
-            lowerSectionScore += points;
+            sheetLow = layout.withScore(sheetLow, index, points);
         }
+        totalScore += points;
     }
 
     /**
@@ -113,7 +138,17 @@ public class Player implements Comparable<Player> {
      * @return the count of rolled combinations
      */
     public int getRolledComboCount() {
-        return rolledComboNames.size();
+        return Integer.bitCount(getUsedCombosMask());
+    }
+
+    /**
+     * Gets the number of combinations on the player's score sheet, i.e. the number of
+     * turns in a game by the player's rules.
+     *
+     * @return the count of combinations
+     */
+    public int getComboCount() {
+        return layout.getComboCount();
     }
 
     /**
@@ -122,7 +157,21 @@ public class Player implements Comparable<Player> {
      * @return a copy of the used combination flags
      */
     public boolean[] getUsedCombosSnapshot() {
-        return Arrays.copyOf(usedCombos, usedCombos.length);
+        boolean[] used = new boolean[layout.getComboCount()];
+        for (int i = 0; i < used.length; i++) {
+            used[i] = layout.isUsed(sheetLow, sheetHigh, i);
+        }
+        return used;
+    }
+
+    /**
+     * Packs the combination usage flags into a bit mask.
+     * Bit {@code i} is set when the combination with index {@code i} has been scored.
+     *
+     * @return the mask of used combinations
+     */
+    public int getUsedCombosMask() {
+        return layout.usedMask(sheetLow, sheetHigh);
     }
 
     /**
@@ -132,7 +181,26 @@ public class Player implements Comparable<Player> {
      * @return true if the combination was scored before
      */
     public boolean isCombinationUsed(int index) {
-        return usedCombos[index];
+        return layout.isUsed(sheetLow, sheetHigh, index);
+    }
+
+    /**
+     * Gets the points scored for a combination.
+     *
+     * @param index the combination index
+     * @return the points earned, or 0 if the combination has not been scored yet
+     */
+    public int getComboScore(int index) {
+        return layout.points(sheetLow, sheetHigh, index);
+    }
+
+    /**
+     * Takes an immutable snapshot of the score sheet, e.g. for archiving.
+     *
+     * @return the current score sheet
+     */
+    public Scorecard getScorecard() {
+        return Scorecard.of(layout, sheetLow, sheetHigh);
     }
 
     /**
@@ -141,7 +209,7 @@ public class Player implements Comparable<Player> {
      * @return true if bonus has been awarded, false otherwise
      */
     public boolean isUpperSectionBonusAwarded() {
-        return upperSectionBonusAwarded;
+        return Scorecard.Layout.hasBonus(sheetHigh);
     }
 
     /**
@@ -150,7 +218,7 @@ public class Player implements Comparable<Player> {
      * @param upperSectionBonusAwarded true if bonus awarded, false otherwise
      */
     public void setUpperSectionBonusAwarded(boolean upperSectionBonusAwarded) {
-        this.upperSectionBonusAwarded = upperSectionBonusAwarded;
+        this.sheetHigh = Scorecard.Layout.withBonus(sheetHigh, upperSectionBonusAwarded);
     }
 
     /**
@@ -159,7 +227,7 @@ public class Player implements Comparable<Player> {
      * @return the upper section score
      */
     public int getUpperSectionScore() {
-        return upperSectionScore;
+        return layout.upperScore(sheetLow, sheetHigh);
     }
 
     /**
@@ -168,7 +236,7 @@ public class Player implements Comparable<Player> {
      * @return the lower section score
      */
     public int getLowerSectionScore() {
-        return lowerSectionScore;
+        return layout.lowerScore(sheetLow, sheetHigh);
     }
 
     /**
@@ -178,23 +246,51 @@ public class Player implements Comparable<Player> {
      * @param kept array where 0 means roll the die, 1 means keep it
      */
     public void rollDice(List<Die> dice, int[] kept) {
+        rollDice(dice, kept, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Rolls all dice that are not marked as kept, drawing from the given randomness source.
+     * Dice are rolled in list order, so a seeded source always yields the same dice.
+     *
+     * @param dice the list of dice to potentially roll
+     * @param kept array where 0 means roll the die, 1 means keep it
+     * @param random the randomness source to draw from
+     */
+    public void rollDice(List<Die> dice, int[] kept, RandomGenerator random) {
         int counter = 0;
         for (Die die : dice) {
-            if (kept[counter++] == 0) die.roll();
+            if (kept[counter++] == 0) die.roll(random);
         }
     }
 
     /**
-     * Creates a formatted string displaying all rolled combinations and their scores.
+     * Rolls all dice that are not marked as kept, drawing faces in batches from a dice roller.
+     *
+     * @param dice the list of dice to potentially roll
+     * @param keptMask bit {@code i} set means die {@code i} is kept
+     * @param roller the batch roller supplying face values
+     */
+    public void rollDice(List<Die> dice, int keptMask, DiceRoller roller) {
+        RollEvent event = new RollEvent();
+        event.begin();
+        for (int i = 0; i < dice.size(); i++) {
+            if ((keptMask & (1 << i)) == 0) dice.get(i).setCurrentValue(roller.nextFace());
+        }
+        if (event.shouldCommit()) {
+            event.rolledDice = dice.size() - Integer.bitCount(keptMask & ((1 << dice.size()) - 1));
+            event.commit();
+        }
+    }
+
+    /**
+     * Creates a formatted string displaying all rolled combinations and their scores,
+     * in score sheet order.
      *
      * @return formatted string of all rolled combinations
      */
     public String displayCombos() {
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < rolledComboNames.size(); i++) {
-            result.append("\n").append(rolledComboNames.get(i)).append(" - earned points: ").append(rolledComboScores.get(i));
-        }
-        return result + "\n";
+        return layout.describe(sheetLow, sheetHigh);
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.ssander.yahtzee.player;
 
+import java.util.random.RandomGenerator;
+
 /**
  * Interface for objects that can be rolled to generate random values.
  * Primarily implemented by dice in the Yahtzee game.
@@ -9,4 +11,12 @@ public interface Rollable {
      * Performs a roll action to generate a new random value.
      */
     void roll();
+
+    /**
+     * Performs a roll action drawing randomness from the given source.
+     * Rolling from a seeded source makes the outcome reproducible.
+     *
+     * @param random the randomness source to draw from
+     */
+    void roll(RandomGenerator random);
 }
@@ -0,0 +1,489 @@
+package com.ssander.yahtzee.player;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Immutable, bit-packed score sheet: which combinations are used, the points of each,
+ * and whether the upper section bonus was awarded, all in two {@code long}s.
+ *
+ * <p>Each combination owns a bit field of its {@link Layout}, just wide enough for its
+ * highest possible score. The field holds the points plus one, so zero means "not scored
+ * yet" and no separate used flags are needed. For standard Yahtzee the 13 fields fill
+ * the low word exactly and the bonus flag is the top bit of the high word. Totals and
+ * the printed list of scored combinations are derived on demand.</p>
+ *
+ * <p>Players keep their sheet as two plain words and use the allocation-free word
+ * operations of the layout; a {@code Scorecard} object is only created when a snapshot
+ * is requested (see {@link Player#getScorecard()}).</p>
+ */
+public final class Scorecard {
+    private static final long BONUS_BIT = 1L << 63;
+
+    private final Layout layout;
+    private final long low;
+    private final long high;
+
+    private Scorecard(Layout layout, long low, long high) {
+        this.layout = layout;
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Creates an empty score sheet.
+     *
+     * @param layout the layout of the score sheet
+     * @return a sheet without scored combinations
+     */
+    public static Scorecard empty(Layout layout) {
+        return new Scorecard(Objects.requireNonNull(layout, "Layout must not be null"), 0, 0);
+    }
+
+    /**
+     * Recreates a score sheet from its packed words, e.g. read back from an archive.
+     *
+     * @param layout the layout the words were packed with
+     * @param low the low word (see {@link #getLow()})
+     * @param high the high word (see {@link #getHigh()})
+     * @return the score sheet
+     */
+    public static Scorecard of(Layout layout, long low, long high) {
+        return new Scorecard(Objects.requireNonNull(layout, "Layout must not be null"), low, high);
+    }
+
+    /**
+     * Returns a sheet with one more combination scored.
+     *
+     * @param combo the combination index
+     * @param points the points scored
+     * @return the updated sheet
+     * @throws IllegalStateException if the combination was already scored
+     * @throws IllegalArgumentException if the points do not fit the combination
+     */
+    public Scorecard withScore(int combo, int points) {
+        if (layout.isUsed(low, high, combo)) {
+            throw new IllegalStateException("Combination already used: " + layout.getName(combo));
+        }
+        return layout.isInHighWord(combo)
+                ? new Scorecard(layout, low, layout.withScore(high, combo, points))
+                : new Scorecard(layout, layout.withScore(low, combo, points), high);
+    }
+
+    /**
+     * Returns a sheet with the upper section bonus awarded.
+     *
+     * @return the updated sheet
+     */
+    public Scorecard withBonus() {
+        return new Scorecard(layout, low, Layout.withBonus(high, true));
+    }
+
+    /**
+     * Gets the layout of this sheet.
+     *
+     * @return the layout
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Gets the low packed word.
+     *
+     * @return the low word
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Gets the high packed word.
+     *
+     * @return the high word
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Indicates whether a combination has been scored.
+     *
+     * @param combo the combination index
+     * @return true if scored
+     */
+    public boolean isUsed(int combo) {
+        return layout.isUsed(low, high, combo);
+    }
+
+    /**
+     * Gets the points of a combination.
+     *
+     * @param combo the combination index
+     * @return the points, or 0 if not scored yet
+     */
+    public int getPoints(int combo) {
+        return layout.points(low, high, combo);
+    }
+
+    /**
+     * Gets the mask of scored combinations.
+     *
+     * @return bit {@code i} set when combination {@code i} is scored
+     */
+    public int getUsedMask() {
+        return layout.usedMask(low, high);
+    }
+
+    /**
+     * Gets the upper section total.
+     *
+     * @return the sum of all scored upper section combinations
+     */
+    public int getUpperScore() {
+        return layout.upperScore(low, high);
+    }
+
+    /**
+     * Gets the lower section total.
+     *
+     * @return the sum of all scored lower section combinations
+     */
+    public int getLowerScore() {
+        return layout.lowerScore(low, high);
+    }
+
+    /**
+     * Indicates whether the upper section bonus was awarded.
+     *
+     * @return true if awarded
+     */
+    public boolean isBonusAwarded() {
+        return Layout.hasBonus(high);
+    }
+
+    /**
+     * Gets the total score: all scored combinations plus the bonus, if awarded.
+     *
+     * @return the total score
+     */
+    public int getTotalScore() {
+        return layout.upperScore(low, high) + layout.lowerScore(low, high)
+                + (Layout.hasBonus(high) ? layout.getBonusPoints() : 0);
+    }
+
+    /**
+     * Lists the scored combinations in score sheet order, one per line.
+     *
+     * @return the text, e.g. {@code "\nOnes - earned points: 3\n"}
+     */
+    public String describe() {
+        return layout.describe(low, high);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Scorecard sheet && sheet.layout == layout && sheet.low == low && sheet.high == high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return "Scorecard[total=" + getTotalScore() + ", used=" + Integer.bitCount(getUsedMask()) + "]";
+    }
+
+    /**
+     * Where each combination lives in the two packed words, plus what is needed to
+     * interpret them: names, the upper section and the bonus points. One layout is
+     * shared by all score sheets of a rule variant.
+     */
+    public static final class Layout {
+        private static final Layout STANDARD = standardLayout();
+
+        private final String[] names;
+        private final int[] shifts;
+        private final long[] masks;
+        private final int highMask;
+        private final int upperMask;
+        private final int bonusPoints;
+
+        /**
+         * Packs the combinations in order, each into a field wide enough for its highest
+         * score, filling the low word first. The top bit of the high word is reserved for
+         * the bonus flag.
+         *
+         * @param names the combination names, in score sheet order
+         * @param maxPoints the highest score of each combination
+         * @param upperMask bit {@code i} set when combination {@code i} is in the upper section
+         * @param bonusPoints the points of the upper section bonus
+         * @throws IllegalArgumentException if the fields do not fit into two words
+         */
+        public Layout(String[] names, int[] maxPoints, int upperMask, int bonusPoints) {
+            if (names.length != maxPoints.length || names.length == 0 || names.length >= Integer.SIZE) {
+                throw new IllegalArgumentException("Expected between 1 and 31 names and maximum scores");
+            }
+            this.names = names.clone();
+            this.shifts = new int[names.length];
+            this.masks = new long[names.length];
+            this.upperMask = upperMask;
+            this.bonusPoints = bonusPoints;
+
+            int high = 0;
+            int lowBits = 0;
+            int highBits = 0;
+            for (int combo = 0; combo < names.length; combo++) {
+                int width = Integer.SIZE - Integer.numberOfLeadingZeros(maxPoints[combo] + 1);
+                masks[combo] = (1L << width) - 1;
+                if (highBits == 0 && lowBits + width <= Long.SIZE) {
+                    shifts[combo] = lowBits;
+                    lowBits += width;
+                } else if (highBits + width <= Long.SIZE - 1) {
+                    high |= 1 << combo;
+                    shifts[combo] = highBits;
+                    highBits += width;
+                } else {
+                    throw new IllegalArgumentException("Score sheet of " + names.length
+                            + " combinations does not fit into two words");
+                }
+            }
+            this.highMask = high;
+        }
+
+        /**
+         * Gets the layout of the 13 standard Yahtzee combinations.
+         *
+         * @return the standard layout
+         */
+        public static Layout standard() {
+            return STANDARD;
+        }
+
+        private static Layout standardLayout() {
+            CombinationRegistry registry = new CombinationRegistry();
+            String[] names = new String[CombinationRegistry.COMBO_COUNT];
+            int[] maxPoints = new int[CombinationRegistry.COMBO_COUNT];
+            int upper = 0;
+            for (int combo = 0; combo < CombinationRegistry.COMBO_COUNT; combo++) {
+                names[combo] = registry.getComboByIndex(combo).getComboName();
+                for (int hand = 0; hand < CombinationRegistry.HAND_COUNT; hand++) {
+                    maxPoints[combo] = Math.max(maxPoints[combo], CombinationRegistry.points(hand, combo));
+                }
+                if (registry.isUpperSection(combo)) {
+                    upper |= 1 << combo;
+                }
+            }
+            return new Layout(names, maxPoints, upper, CombinationRegistry.UPPER_BONUS_POINTS);
+        }
+
+        /**
+         * Gets the number of combinations on the sheet.
+         *
+         * @return the combination count
+         */
+        public int getComboCount() {
+            return names.length;
+        }
+
+        /**
+         * Gets the name of a combination.
+         *
+         * @param combo the combination index
+         * @return the name
+         */
+        public String getName(int combo) {
+            return names[combo];
+        }
+
+        /**
+         * Checks if a combination belongs to the upper section.
+         *
+         * @param combo the combination index
+         * @return true for upper section combinations
+         */
+        public boolean isUpperSection(int combo) {
+            return (upperMask & (1 << combo)) != 0;
+        }
+
+        /**
+         * Gets the points of the upper section bonus.
+         *
+         * @return the bonus points
+         */
+        public int getBonusPoints() {
+            return bonusPoints;
+        }
+
+        /**
+         * Indicates which word holds a combination's field.
+         *
+         * @param combo the combination index
+         * @return true for the high word, false for the low word
+         */
+        public boolean isInHighWord(int combo) {
+            return (highMask & (1 << combo)) != 0;
+        }
+
+        /**
+         * Stores the points of a combination in the word that holds its field.
+         *
+         * @param word the low or high word, as given by {@link #isInHighWord(int)}
+         * @param combo the combination index
+         * @param points the points scored
+         * @return the updated word
+         * @throws IllegalArgumentException if the points do not fit the field
+         */
+        public long withScore(long word, int combo, int points) {
+            long code = points + 1L;
+            if (points < 0 || code > masks[combo]) {
+                throw new IllegalArgumentException(points + " points do not fit " + names[combo]);
+            }
+            return (word & ~(masks[combo] << shifts[combo])) | code << shifts[combo];
+        }
+
+        /**
+         * Reads the points of a combination.
+         *
+         * @param low the low word
+         * @param high the high word
+         * @param combo the combination index
+         * @return the points, or 0 if not scored yet
+         */
+        public int points(long low, long high, int combo) {
+            return Math.max(0, code(low, high, combo) - 1);
+        }
+
+        /**
+         * Reads whether a combination is scored.
+         *
+         * @param low the low word
+         * @param high the high word
+         * @param combo the combination index
+         * @return true if scored
+         */
+        public boolean isUsed(long low, long high, int combo) {
+            return code(low, high, combo) != 0;
+        }
+
+        /**
+         * Builds the mask of scored combinations.
+         *
+         * @param low the low word
+         * @param high the high word
+         * @return bit {@code i} set when combination {@code i} is scored
+         */
+        public int usedMask(long low, long high) {
+            int mask = 0;
+            for (int combo = 0; combo < names.length; combo++) {
+                if (code(low, high, combo) != 0) {
+                    mask |= 1 << combo;
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Sums the scored upper section combinations.
+         *
+         * @param low the low word
+         * @param high the high word
+         * @return the upper section total
+         */
+        public int upperScore(long low, long high) {
+            return sum(low, high, upperMask);
+        }
+
+        /**
+         * Sums the scored lower section combinations.
+         *
+         * @param low the low word
+         * @param high the high word
+         * @return the lower section total
+         */
+        public int lowerScore(long low, long high) {
+            return sum(low, high, ~upperMask);
+        }
+
+        /**
+         * Sets or clears the bonus flag.
+         *
+         * @param high the high word
+         * @param awarded whether the bonus is awarded
+         * @return the updated high word
+         */
+        public static long withBonus(long high, boolean awarded) {
+            return awarded ? high | BONUS_BIT : high & ~BONUS_BIT;
+        }
+
+        /**
+         * Reads the bonus flag.
+         *
+         * @param high the high word
+         * @return true if the bonus was awarded
+         */
+        public static boolean hasBonus(long high) {
+            return (high & BONUS_BIT) != 0;
+        }
+
+        /**
+         * Lists the scored combinations in score sheet order, one per line.
+         *
+         * @param low the low word
+         * @param high the high word
+         * @return the text, e.g. {@code "\nOnes - earned points: 3\n"}
+         */
+        public String describe(long low, long high) {
+            StringBuilder result = new StringBuilder();
+            for (int combo = 0; combo < names.length; combo++) {
+                if (isUsed(low, high, combo)) {
+                    result.append("\n").append(names[combo]).append(" - earned points: ")
+                            .append(points(low, high, combo));
+                }
+            }
+            return result.append("\n").toString();
+        }
+
+        private int sum(long low, long high, int comboMask) {
+            int total = 0;
+            for (int combo = 0; combo < names.length; combo++) {
+                if ((comboMask & (1 << combo)) != 0) {
+                    total += points(low, high, combo);
+                }
+            }
+            return total;
+        }
+
+        private int code(long low, long high, int combo) {
+            long word = isInHighWord(combo) ? high : low;
+            return (int) ((word >>> shifts[combo]) & masks[combo]);
+        }
+
+        /**
+         * Layouts are equal when they pack the same combinations into the same fields,
+         * with the same upper section and bonus, e.g. the standard layout and the one
+         * compiled from the standard {@link com.ssander.yahtzee.rules.Ruleset}.
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Layout layout && Arrays.equals(layout.names, names)
+                    && Arrays.equals(layout.shifts, shifts) && Arrays.equals(layout.masks, masks)
+                    && layout.highMask == highMask && layout.upperMask == upperMask
+                    && layout.bonusPoints == bonusPoints;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(names) * 31 + Arrays.hashCode(masks);
+        }
+
+        @Override
+        public String toString() {
+            return "Scorecard.Layout" + Arrays.toString(names);
+        }
+    }
+}
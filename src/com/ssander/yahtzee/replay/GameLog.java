@@ -0,0 +1,67 @@
+package com.ssander.yahtzee.replay;
+
+/**
+ * Binary layout of a game event log.
+ *
+ * <p>A log starts with an 8-byte header (magic number and format version) followed by
+ * fixed-width 4-byte little-endian records, one per event:</p>
+ * <pre>
+ *  bits  0-3   event type
+ *  bits  4-11  player seat index
+ *  bits 12-31  payload
+ * </pre>
+ * <p>Payloads: player count (game start), dice faces 4 bits per position (roll),
+ * kept position mask (keep), combination index in the low 4 bits and points above
+ * it (score), bonus points (bonus) and final total score (player finished).</p>
+ * <p>These field widths only fit the standard rules, so a log holds standard games only.</p>
+ */
+final class GameLog {
+    static final int MAGIC = 0x474C5A59; // "YZLG" in little-endian byte order
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_BYTES = 4;
+
+    static final int GAME_STARTED = 1;
+    static final int DICE_ROLLED = 2;
+    static final int DICE_KEPT = 3;
+    static final int COMBO_SCORED = 4;
+    static final int BONUS_AWARDED = 5;
+    static final int PLAYER_FINISHED = 6;
+
+    static final int MAX_PLAYER = 0xFF;
+    static final int MAX_PAYLOAD = 0xFFFFF;
+    static final int MAX_COMBO = 0xF;
+
+    private GameLog() {
+        // Utility class
+    }
+
+    static int record(int type, int player, int payload) {
+        if (player < 0 || player > MAX_PLAYER) {
+            throw new IllegalArgumentException("Player index out of range: " + player);
+        }
+        if (payload < 0 || payload > MAX_PAYLOAD) {
+            throw new IllegalArgumentException("Event payload out of range: " + payload);
+        }
+        return type | player << 4 | payload << 12;
+    }
+
+    static int scorePayload(int comboIndex, int points) {
+        if (comboIndex < 0 || comboIndex > MAX_COMBO) {
+            throw new IllegalArgumentException("Combination index out of range: " + comboIndex);
+        }
+        return comboIndex | points << 4;
+    }
+
+    static int type(int record) {
+        return record & 0xF;
+    }
+
+    static int player(int record) {
+        return (record >>> 4) & MAX_PLAYER;
+    }
+
+    static int payload(int record) {
+        return record >>> 12;
+    }
+}
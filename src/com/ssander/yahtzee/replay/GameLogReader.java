@@ -0,0 +1,111 @@
+package com.ssander.yahtzee.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.ssander.yahtzee.management.GameEventListener;
+
+/**
+ * Reads a binary game event log written by {@link GameLogWriter}.
+ *
+ * <p>The file is memory-mapped in chunks of up to 1 GiB and decoded record by record
+ * straight from the mapping, handing each event to a {@link GameEventListener} as
+ * primitives, so reading allocates nothing per event or per game.</p>
+ */
+public class GameLogReader implements Closeable {
+    private static final long CHUNK_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+
+    /**
+     * Opens a log file and checks its header.
+     *
+     * @param file the log file to read
+     * @throws IOException if the file cannot be read or is not a game log
+     */
+    public GameLogReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        try {
+            checkHeader();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void checkHeader() throws IOException {
+        if (size < GameLog.HEADER_BYTES || (size - GameLog.HEADER_BYTES) % GameLog.RECORD_BYTES != 0) {
+            throw new IOException("Not a game log or truncated: " + size + " bytes");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, GameLog.HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != GameLog.MAGIC) {
+            throw new IOException("Not a game log: bad magic number");
+        }
+        int version = header.getInt(4);
+        if (version != GameLog.VERSION) {
+            throw new IOException("Unsupported game log version: " + version);
+        }
+    }
+
+    /**
+     * Gets the number of event records in the log.
+     *
+     * @return the record count
+     */
+    public long getEventCount() {
+        return (size - GameLog.HEADER_BYTES) / GameLog.RECORD_BYTES;
+    }
+
+    /**
+     * Feeds every event of the log, in order, to a listener.
+     *
+     * @param listener the listener receiving the events
+     * @return the number of events read
+     * @throws IOException if the file cannot be mapped
+     */
+    public long read(GameEventListener listener) throws IOException {
+        long events = 0;
+        for (long position = GameLog.HEADER_BYTES; position < size; position += CHUNK_BYTES) {
+            int length = (int) Math.min(CHUNK_BYTES, size - position);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            chunk.order(ByteOrder.LITTLE_ENDIAN);
+            for (int offset = 0; offset < length; offset += GameLog.RECORD_BYTES) {
+                dispatch(chunk.getInt(offset), listener);
+            }
+            events += length / GameLog.RECORD_BYTES;
+        }
+        return events;
+    }
+
+    private static void dispatch(int record, GameEventListener listener) throws IOException {
+        int player = GameLog.player(record);
+        int payload = GameLog.payload(record);
+        switch (GameLog.type(record)) {
+            case GameLog.GAME_STARTED -> listener.gameStarted(payload);
+            case GameLog.DICE_ROLLED -> listener.diceRolled(player, payload);
+            case GameLog.DICE_KEPT -> listener.diceKept(player, payload);
+            case GameLog.COMBO_SCORED -> listener.comboScored(player, payload & GameLog.MAX_COMBO, payload >>> 4);
+            case GameLog.BONUS_AWARDED -> listener.bonusAwarded(player, payload);
+            case GameLog.PLAYER_FINISHED -> listener.playerFinished(player, payload);
+            default -> throw new IOException("Corrupt game log: unknown event type " + GameLog.type(record));
+        }
+    }
+
+    /**
+     * Closes the log file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ssander.yahtzee.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.management.GameManager;
+
+/**
+ * Appends game events to a compact binary log (see {@link GameLog} for the layout).
+ *
+ * <p>Register an instance with {@link GameManager#setEventListener(GameEventListener)};
+ * every event becomes one 4-byte record in an in-memory buffer that is written to the
+ * file whenever it fills up, so logging costs no allocation per event. A typical
+ * single-player game takes about 300 bytes. Instances are not thread-safe; give every
+ * thread its own log file.</p>
+ *
+ * <p>The log format and {@link GameReplay} only support the standard rules: a game manager
+ * with other rules refuses a log writer, and an event that does not fit its record throws
+ * an {@link IllegalArgumentException}.</p>
+ */
+public class GameLogWriter implements GameEventListener, Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new log file, replacing any existing file.
+     *
+     * @param file the log file to write
+     * @throws IOException if the file cannot be created
+     */
+    public GameLogWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(GameLog.MAGIC).putInt(GameLog.VERSION);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void gameStarted(int playerCount) {
+        append(GameLog.record(GameLog.GAME_STARTED, 0, playerCount));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void diceRolled(int player, int faces) {
+        append(GameLog.record(GameLog.DICE_ROLLED, player, faces));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void diceKept(int player, int keptMask) {
+        append(GameLog.record(GameLog.DICE_KEPT, player, keptMask));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void comboScored(int player, int comboIndex, int points) {
+        append(GameLog.record(GameLog.COMBO_SCORED, player, GameLog.scorePayload(comboIndex, points)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bonusAwarded(int player, int points) {
+        append(GameLog.record(GameLog.BONUS_AWARDED, player, points));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void playerFinished(int player, int totalScore) {
+        append(GameLog.record(GameLog.PLAYER_FINISHED, player, totalScore));
+    }
+
+    private void append(int record) {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putInt(record);
+    }
+
+    /**
+     * Writes all buffered records to the file.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void flush() {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write game log", e);
+        }
+    }
+
+    /**
+     * Flushes the remaining records and closes the file.
+     *
+     * @throws IOException if the file cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
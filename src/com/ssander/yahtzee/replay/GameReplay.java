@@ -0,0 +1,167 @@
+package com.ssander.yahtzee.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.management.GameEventListener;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Replays logged games and verifies them.
+ *
+ * <p>Every logged game is rebuilt on reset {@link Player} objects: each score is
+ * recomputed from the last rolled dice, applied through
+ * {@link Player#applyScore(com.ssander.yahtzee.combos.Combination, int, boolean)}, the
+ * upper section bonus is checked against the game rule, and each rebuilt final score
+ * must equal the logged one. Any difference throws an {@link IllegalStateException}.</p>
+ */
+public class GameReplay implements GameEventListener {
+    private static final String PLAYER_NAME = "Replayed player";
+    private static final Ruleset RULES = Ruleset.standard();
+
+    private final CombinationRegistry registry = new CombinationRegistry();
+    private Player[] players = new Player[0];
+    private int[] hands = new int[0];
+    private int playersFinished;
+    private long gamesStarted;
+    private long gamesFinished;
+    private long scoreSum;
+
+    /** {@inheritDoc} */
+    @Override
+    public void gameStarted(int playerCount) {
+        if (playersFinished != players.length) {
+            throw mismatch("previous game did not finish");
+        }
+        if (players.length != playerCount) {
+            players = new Player[playerCount];
+            hands = new int[playerCount];
+        }
+        for (int i = 0; i < playerCount; i++) {
+            if (players[i] == null) {
+                players[i] = new Player(PLAYER_NAME);
+            } else {
+                players[i].reset(PLAYER_NAME);
+            }
+            hands[i] = DiceHand.EMPTY;
+        }
+        playersFinished = 0;
+        gamesStarted++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void diceRolled(int player, int faces) {
+        int hand = DiceHand.EMPTY;
+        for (int i = 0; i < CombinationRegistry.DICE_COUNT; i++) {
+            int face = GameEventListener.face(faces, i);
+            if (face < 1 || face > CombinationRegistry.FACE_COUNT) {
+                throw mismatch("invalid die face " + face);
+            }
+            hand = DiceHand.withDie(hand, face);
+        }
+        hands[seat(player)] = hand;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void comboScored(int player, int comboIndex, int points) {
+        Player scorer = players[seat(player)];
+        if (comboIndex >= CombinationRegistry.COMBO_COUNT || scorer.isCombinationUsed(comboIndex)) {
+            throw mismatch("combination " + comboIndex + " cannot be scored");
+        }
+        int expected = CombinationRegistry.points(CombinationRegistry.handIndex(hands[player]), comboIndex);
+        if (points != expected) {
+            throw mismatch("logged " + points + " points for combination " + comboIndex + ", dice give " + expected);
+        }
+        scorer.applyScore(registry.getComboByIndex(comboIndex), points, registry.isUpperSection(comboIndex));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bonusAwarded(int player, int points) {
+        Player scorer = players[seat(player)];
+        if (RULES.awardUpperBonus(scorer) != points) {
+            throw mismatch("bonus of " + points + " points was not earned");
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void playerFinished(int player, int totalScore) {
+        Player finisher = players[seat(player)];
+        if (finisher.getRolledComboCount() != CombinationRegistry.COMBO_COUNT
+                || finisher.getTotalScore() != totalScore) {
+            throw mismatch("logged final score " + totalScore + ", replay gives " + finisher.getTotalScore());
+        }
+        scoreSum += totalScore;
+        if (++playersFinished == players.length) {
+            gamesFinished++;
+        }
+    }
+
+    private int seat(int player) {
+        if (player >= players.length) {
+            throw mismatch("unknown player " + player);
+        }
+        return player;
+    }
+
+    private IllegalStateException mismatch(String detail) {
+        return new IllegalStateException("Replay mismatch in game " + gamesStarted + ": " + detail);
+    }
+
+    /**
+     * Gets the number of games replayed to the end.
+     *
+     * @return the finished game count
+     */
+    public long getGamesFinished() {
+        return gamesFinished;
+    }
+
+    /**
+     * Gets the sum of all verified final scores.
+     *
+     * @return the score sum over all players of all finished games
+     */
+    public long getScoreSum() {
+        return scoreSum;
+    }
+
+    /**
+     * Gets the players of the most recently replayed game, in seat order.
+     * The player objects are reused by the next replayed game.
+     *
+     * @return the rebuilt players
+     */
+    public Player[] getPlayers() {
+        return players.clone();
+    }
+
+    /**
+     * Replays and verifies a log file, printing the throughput.
+     * Usage: {@code GameReplay <log file>}.
+     *
+     * @param args the log file to replay
+     * @throws IOException if the log cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: GameReplay <log file>");
+            return;
+        }
+        GameReplay replay = new GameReplay();
+        long start = System.nanoTime();
+        long events;
+        try (GameLogReader reader = new GameLogReader(Path.of(args[0]))) {
+            events = reader.read(replay);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %,d games (%,d events) in %.2f s | %,.0f games/s | all final scores verified%n",
+                replay.getGamesFinished(), events, seconds, replay.getGamesFinished() / seconds);
+    }
+}
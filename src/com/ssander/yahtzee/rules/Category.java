@@ -0,0 +1,52 @@
+package com.ssander.yahtzee.rules;
+
+import java.util.Objects;
+
+/**
+ * A named line of the score sheet together with its scoring rule.
+ */
+public final class Category {
+    private final String name;
+    private final boolean upperSection;
+    private final ScoringRule rule;
+
+    /**
+     * Constructs a category.
+     *
+     * @param name the name shown on the score sheet
+     * @param upperSection true if the points count towards the upper section bonus
+     * @param rule the scoring rule
+     */
+    public Category(String name, boolean upperSection, ScoringRule rule) {
+        this.name = Objects.requireNonNull(name, "Category name must not be null");
+        this.upperSection = upperSection;
+        this.rule = Objects.requireNonNull(rule, "Scoring rule must not be null");
+    }
+
+    /**
+     * Gets the category name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Indicates whether the category belongs to the upper section.
+     *
+     * @return true for upper section categories
+     */
+    public boolean isUpperSection() {
+        return upperSection;
+    }
+
+    /**
+     * Gets the scoring rule.
+     *
+     * @return the rule
+     */
+    public ScoringRule getRule() {
+        return rule;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ssander.yahtzee.rules;
+
+import com.ssander.yahtzee.combos.Combination;
+
+/**
+ * Presents a category of a compiled {@link Ruleset} as a {@link Combination}, scoring
+ * from the ruleset's tables.
+ */
+final class RuleCombination extends Combination {
+    private final Ruleset rules;
+
+    RuleCombination(Ruleset rules, String name, int index) {
+        super(name, index);
+        this.rules = rules;
+    }
+
+    @Override
+    public int calculatePoints(int hand) {
+        return rules.points(rules.handIndex(hand), getIndex());
+    }
+
+    @Override
+    public boolean isPossible(int hand) {
+        return rules.isPossible(rules.handIndex(hand), getIndex());
+    }
+}
@@ -0,0 +1,174 @@
+package com.ssander.yahtzee.rules;
+
+import java.util.Arrays;
+
+import com.ssander.yahtzee.combos.DiceHand;
+
+/**
+ * Building blocks for scoring rules that work for any number of dice and faces.
+ * Patterns such as straights and pairs are derived from the hand's face counts
+ * instead of being spelled out for one dice size.
+ */
+public final class Rules {
+    private static final int MAX_FACES = 10;
+
+    private Rules() {
+        // Utility class
+    }
+
+    /**
+     * Upper section rule: the sum of all dice showing a face.
+     *
+     * @param face the counted face
+     * @return the rule
+     */
+    public static ScoringRule upper(int face) {
+        return hand -> DiceHand.count(hand, face) * face;
+    }
+
+    /**
+     * Sum of all dice, if at least {@code n} of them show the same face
+     * (e.g. Three of a Kind in standard Yahtzee).
+     *
+     * @param n the required number of equal dice
+     * @return the rule
+     */
+    public static ScoringRule sumIfOfAKind(int n) {
+        return hand -> DiceHand.maxCount(hand) >= n ? DiceHand.sum(hand) : 0;
+    }
+
+    /**
+     * Sum of {@code n} equal dice of the highest face that has at least that many
+     * (e.g. Three of a Kind in Maxi Yahtzee).
+     *
+     * @param n the required number of equal dice
+     * @return the rule
+     */
+    public static ScoringRule ofAKind(int n) {
+        return groups(n);
+    }
+
+    /**
+     * Sum of {@code k} pairs of distinct faces, choosing the highest pairs.
+     *
+     * @param k the number of pairs
+     * @return the rule
+     */
+    public static ScoringRule pairs(int k) {
+        int[] sizes = new int[k];
+        Arrays.fill(sizes, 2);
+        return groups(sizes);
+    }
+
+    /**
+     * Sum of the dice in groups of equal dice with distinct faces, choosing the
+     * highest-scoring faces; e.g. {@code groups(3, 3)} is a Castle (two triples)
+     * and {@code groups(4, 2)} a Tower.
+     *
+     * @param sizes the minimum size of each group
+     * @return the rule
+     */
+    public static ScoringRule groups(int... sizes) {
+        int[] sorted = sortedDescending(sizes);
+        return hand -> Math.max(0, bestGroups(hand, sorted, 0, 0));
+    }
+
+    /**
+     * Fixed points for groups of equal dice with distinct faces;
+     * e.g. {@code fixedGroups(25, 3, 2)} is the standard Full House.
+     *
+     * @param points the points awarded
+     * @param sizes the minimum size of each group
+     * @return the rule
+     */
+    public static ScoringRule fixedGroups(int points, int... sizes) {
+        int[] sorted = sortedDescending(sizes);
+        return hand -> bestGroups(hand, sorted, 0, 0) > 0 ? points : 0;
+    }
+
+    /**
+     * Fixed points for a run of consecutive faces anywhere on the dice
+     * (e.g. Small Straight: a run of four).
+     *
+     * @param length the run length
+     * @param points the points awarded
+     * @return the rule
+     */
+    public static ScoringRule run(int length, int points) {
+        return hand -> {
+            int faces = DiceHand.faceMask(hand);
+            int runs = faces;
+            for (int i = 1; i < length; i++) {
+                runs &= faces >>> i;
+            }
+            return runs != 0 ? points : 0;
+        };
+    }
+
+    /**
+     * Fixed points if every face in a range is shown
+     * (e.g. Full Straight in Maxi Yahtzee: faces one to six).
+     *
+     * @param from the lowest face of the range
+     * @param to the highest face of the range
+     * @param points the points awarded
+     * @return the rule
+     */
+    public static ScoringRule faces(int from, int to, int points) {
+        int required = ((1 << (to - from + 1)) - 1) << (from - 1);
+        return hand -> (DiceHand.faceMask(hand) & required) == required ? points : 0;
+    }
+
+    /**
+     * Fixed points if all dice show the same face (Yahtzee).
+     *
+     * @param points the points awarded
+     * @return the rule
+     */
+    public static ScoringRule allSame(int points) {
+        return hand -> hand != DiceHand.EMPTY && DiceHand.maxCount(hand) == DiceHand.size(hand) ? points : 0;
+    }
+
+    /**
+     * Sum of all dice (Chance).
+     *
+     * @return the rule
+     */
+    public static ScoringRule chance() {
+        return DiceHand::sum;
+    }
+
+    /**
+     * Finds the best total for groups {@code sizes[group..]} using faces not in
+     * {@code usedFaces}, or -1 if they cannot all be formed.
+     */
+    private static int bestGroups(int hand, int[] sizes, int group, int usedFaces) {
+        if (group == sizes.length) {
+            return 0;
+        }
+        int best = -1;
+        for (int face = 1; face <= MAX_FACES; face++) {
+            if ((usedFaces & (1 << face)) == 0 && DiceHand.count(hand, face) >= sizes[group]) {
+                int rest = bestGroups(hand, sizes, group + 1, usedFaces | 1 << face);
+                if (rest >= 0) {
+                    best = Math.max(best, sizes[group] * face + rest);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int[] sortedDescending(int[] sizes) {
+        if (sizes.length == 0) {
+            throw new IllegalArgumentException("At least one group is required");
+        }
+        int[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length / 2; i++) {
+            int swap = sorted[i];
+            sorted[i] = sorted[sorted.length - 1 - i];
+            sorted[sorted.length - 1 - i] = swap;
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,169 @@
+package com.ssander.yahtzee.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Describes a Yahtzee variant: how many dice with how many faces, the score sheet
+ * categories in order, and the upper section bonus. {@link #compile()} turns the
+ * description into a {@link Ruleset} of precomputed score tables.
+ *
+ * <p>Definitions are built fluently, for example:</p>
+ * <pre>{@code
+ * Ruleset rules = new RulesDefinition("Mini", 4, 6)
+ *         .upperSection("Ones", "Twos", "Threes", "Fours", "Fives", "Sixes")
+ *         .category("Two Pairs", Rules.pairs(2))
+ *         .category("Chance", Rules.chance())
+ *         .upperBonus(50, 20)
+ *         .compile();
+ * }</pre>
+ */
+public class RulesDefinition {
+    /** Largest supported number of dice (a packed hand counts up to seven dice per face). */
+    public static final int MAX_DICE = 7;
+    /** Largest supported number of faces (a packed hand holds up to ten faces). */
+    public static final int MAX_FACES = 10;
+    /** Largest supported number of categories (used categories are tracked as an int mask). */
+    public static final int MAX_CATEGORIES = 31;
+
+    private final String name;
+    private final int diceCount;
+    private final int faceCount;
+    private final List<Category> categories = new ArrayList<>();
+    private int bonusThreshold = Integer.MAX_VALUE;
+    private int bonusPoints;
+
+    /**
+     * Starts a definition without categories or bonus.
+     *
+     * @param name the variant name
+     * @param diceCount the number of dice (1-7)
+     * @param faceCount the number of faces on each die (2-10)
+     * @throws IllegalArgumentException if the dice or face count is out of range
+     */
+    public RulesDefinition(String name, int diceCount, int faceCount) {
+        if (diceCount < 1 || diceCount > MAX_DICE) {
+            throw new IllegalArgumentException("Dice count must be between 1 and " + MAX_DICE);
+        }
+        if (faceCount < 2 || faceCount > MAX_FACES) {
+            throw new IllegalArgumentException("Face count must be between 2 and " + MAX_FACES);
+        }
+        this.name = Objects.requireNonNull(name, "Variant name must not be null");
+        this.diceCount = diceCount;
+        this.faceCount = faceCount;
+    }
+
+    /**
+     * Adds one upper section category per face, in face order.
+     *
+     * @param names the category names, one per face
+     * @return this definition
+     * @throws IllegalArgumentException if the number of names differs from the face count
+     */
+    public RulesDefinition upperSection(String... names) {
+        if (names.length != faceCount) {
+            throw new IllegalArgumentException("Expected " + faceCount + " upper section names");
+        }
+        for (int face = 1; face <= faceCount; face++) {
+            add(new Category(names[face - 1], true, Rules.upper(face)));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a lower section category.
+     *
+     * @param categoryName the category name
+     * @param rule the scoring rule
+     * @return this definition
+     */
+    public RulesDefinition category(String categoryName, ScoringRule rule) {
+        return add(new Category(categoryName, false, rule));
+    }
+
+    /**
+     * Sets the upper section bonus. Without a call, the variant has no bonus.
+     *
+     * @param threshold the upper section total needed for the bonus
+     * @param points the points awarded
+     * @return this definition
+     */
+    public RulesDefinition upperBonus(int threshold, int points) {
+        this.bonusThreshold = threshold;
+        this.bonusPoints = points;
+        return this;
+    }
+
+    private RulesDefinition add(Category category) {
+        if (categories.size() == MAX_CATEGORIES) {
+            throw new IllegalArgumentException("At most " + MAX_CATEGORIES + " categories are supported");
+        }
+        categories.add(category);
+        return this;
+    }
+
+    /**
+     * Scores every distinct hand with every category and returns the tables.
+     *
+     * @return the compiled ruleset
+     * @throws IllegalStateException if no categories were added
+     * @throws IllegalArgumentException if the scores are too large for a packed score sheet
+     *         (see {@link com.ssander.yahtzee.player.Scorecard.Layout})
+     */
+    public Ruleset compile() {
+        if (categories.isEmpty()) {
+            throw new IllegalStateException("A ruleset needs at least one category");
+        }
+        return new Ruleset(name, diceCount, faceCount, List.copyOf(categories), bonusThreshold, bonusPoints);
+    }
+
+    /**
+     * Standard Yahtzee: five dice, 13 categories, 35 bonus points at 63 in the upper section.
+     * The categories score from the {@link CombinationRegistry} tables, so games, the solver,
+     * the bots and the log replay all share one implementation of the standard rules.
+     *
+     * @return the definition
+     */
+    public static RulesDefinition standard() {
+        RulesDefinition definition = new RulesDefinition("Yahtzee", CombinationRegistry.DICE_COUNT,
+                CombinationRegistry.FACE_COUNT);
+        CombinationRegistry registry = new CombinationRegistry();
+        for (Combination combination : registry.getAllCombos()) {
+            int combo = combination.getIndex();
+            definition.add(new Category(combination.getComboName(), registry.isUpperSection(combo),
+                    hand -> CombinationRegistry.points(CombinationRegistry.handIndex(hand), combo)));
+        }
+        return definition.upperBonus(CombinationRegistry.UPPER_BONUS_THRESHOLD, CombinationRegistry.UPPER_BONUS_POINTS);
+    }
+
+    /**
+     * Maxi Yahtzee: six dice and 20 categories. Pairs and groups score the sum of the
+     * dice used, straights score their face sum (15, 20, 21), and the upper section
+     * bonus is 50 points at 84.
+     *
+     * @return the definition
+     */
+    public static RulesDefinition maxi() {
+        return new RulesDefinition("Maxi Yahtzee", 6, 6)
+                .upperSection("Ones", "Twos", "Threes", "Fours", "Fives", "Sixes")
+                .category("One Pair", Rules.pairs(1))
+                .category("Two Pairs", Rules.pairs(2))
+                .category("Three Pairs", Rules.pairs(3))
+                .category("Three of a Kind", Rules.ofAKind(3))
+                .category("Four of a Kind", Rules.ofAKind(4))
+                .category("Five of a Kind", Rules.ofAKind(5))
+                .category("Small Straight", Rules.faces(1, 5, 15))
+                .category("Large Straight", Rules.faces(2, 6, 20))
+                .category("Full Straight", Rules.faces(1, 6, 21))
+                .category("Full House", Rules.groups(3, 2))
+                .category("Castle", Rules.groups(3, 3))
+                .category("Tower", Rules.groups(4, 2))
+                .category("Chance", Rules.chance())
+                .category("Maxi Yahtzee", Rules.allSame(100))
+                .upperBonus(84, 50);
+    }
+}
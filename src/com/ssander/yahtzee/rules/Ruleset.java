@@ -0,0 +1,416 @@
+package com.ssander.yahtzee.rules;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.player.Scorecard;
+
+/**
+ * A Yahtzee variant compiled to lookup tables.
+ *
+ * <p>Compilation enumerates every distinct hand of the variant (for N dice with M faces
+ * there are C(N+M-1, N) of them, e.g. 462 for six dice) and scores it once with each
+ * category. During play a hand is ranked to its canonical index with the same
+ * combinatorial number system as {@link CombinationRegistry#handIndex(int)}, after which
+ * points and possibility are plain array reads regardless of how the rules were
+ * written. A category counts as possible when it scores more than zero points.</p>
+ *
+ * <p>Rulesets are immutable and safe to share between threads. Create them with
+ * {@link RulesDefinition#compile()}.</p>
+ */
+public final class Ruleset {
+    private final String name;
+    private final int diceCount;
+    private final int faceCount;
+    private final List<Category> categories;
+    private final int bonusThreshold;
+    private final int bonusPoints;
+    private final int upperMask;
+
+    /** binomial[n][k] = n choose k, enough for ranking hands of {@link #diceCount} dice. */
+    private final int[][] binomial;
+    private final int[] hands;
+    private final short[] points;
+    private final int[] possible;
+    private final List<Combination> combinations;
+    private final Scorecard.Layout scorecardLayout;
+    private final long buildNanos;
+
+    Ruleset(String name, int diceCount, int faceCount, List<Category> categories,
+            int bonusThreshold, int bonusPoints) {
+        long start = System.nanoTime();
+        this.name = name;
+        this.diceCount = diceCount;
+        this.faceCount = faceCount;
+        this.categories = categories;
+        this.bonusThreshold = bonusThreshold;
+        this.bonusPoints = bonusPoints;
+
+        int upper = 0;
+        List<Combination> combos = new ArrayList<>(categories.size());
+        for (int i = 0; i < categories.size(); i++) {
+            if (categories.get(i).isUpperSection()) {
+                upper |= 1 << i;
+            }
+            combos.add(new RuleCombination(this, categories.get(i).getName(), i));
+        }
+        this.upperMask = upper;
+        this.combinations = List.copyOf(combos);
+
+        this.binomial = buildBinomials(faceCount + diceCount, diceCount);
+        int handCount = binomial[faceCount + diceCount - 1][diceCount];
+        this.hands = new int[handCount];
+        this.points = new short[handCount * categories.size()];
+        this.possible = new int[handCount];
+        buildScoreTable();
+        this.scorecardLayout = buildScorecardLayout();
+        this.buildNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Enumerates every hand as a non-decreasing dice sequence and scores it once
+     * with each category.
+     */
+    private void buildScoreTable() {
+        int categoryCount = categories.size();
+        int[] dice = new int[diceCount];
+        Arrays.fill(dice, 1);
+        while (true) {
+            int hand = DiceHand.fromValues(dice);
+            int handIndex = handIndex(hand);
+            hands[handIndex] = hand;
+
+            int mask = 0;
+            for (int category = 0; category < categoryCount; category++) {
+                int score = categories.get(category).getRule().score(hand);
+                if (score < 0 || score > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Category " + categories.get(category).getName()
+                            + " scores " + score + " points for " + DiceHand.toString(hand));
+                }
+                points[handIndex * categoryCount + category] = (short) score;
+                if (score > 0) {
+                    mask |= 1 << category;
+                }
+            }
+            possible[handIndex] = mask;
+
+            // Advance to the next non-decreasing sequence
+            int position = diceCount - 1;
+            while (position >= 0 && dice[position] == faceCount) {
+                position--;
+            }
+            if (position < 0) {
+                return;
+            }
+            dice[position]++;
+            for (int i = position + 1; i < diceCount; i++) {
+                dice[i] = dice[position];
+            }
+        }
+    }
+
+    private Scorecard.Layout buildScorecardLayout() {
+        String[] names = new String[categories.size()];
+        int[] maxPoints = new int[categories.size()];
+        for (int category = 0; category < names.length; category++) {
+            names[category] = categories.get(category).getName();
+            for (int hand = 0; hand < hands.length; hand++) {
+                maxPoints[category] = Math.max(maxPoints[category], points(hand, category));
+            }
+        }
+        return new Scorecard.Layout(names, maxPoints, upperMask, bonusPoints);
+    }
+
+    private static int[][] buildBinomials(int size, int maxK) {
+        int[][] binomial = new int[size + 1][maxK + 1];
+        for (int n = 0; n <= size; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, maxK); k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+            }
+        }
+        return binomial;
+    }
+
+    /**
+     * Maps a packed hand to its canonical index.
+     *
+     * @param hand the packed hand of exactly {@link #getDiceCount()} dice (see {@link DiceHand})
+     * @return the canonical hand index (0 to {@link #getHandCount()} - 1)
+     */
+    public int handIndex(int hand) {
+        int index = 0;
+        int position = 0;
+        int face = 0;
+        for (int rest = hand; rest != 0; rest >>>= 3, face++) {
+            for (int count = rest & 0b111; count > 0; count--) {
+                index += binomial[face + position][position + 1];
+                position++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the packed hand stored at a canonical index.
+     *
+     * @param handIndex the canonical hand index
+     * @return the packed hand (see {@link DiceHand})
+     */
+    public int handAt(int handIndex) {
+        return hands[handIndex];
+    }
+
+    /**
+     * Reads the precomputed points of a category for a canonical hand.
+     *
+     * @param handIndex the canonical hand index
+     * @param category the category index
+     * @return the points the category scores with that hand
+     */
+    public int points(int handIndex, int category) {
+        return points[handIndex * categories.size() + category];
+    }
+
+    /**
+     * Reads whether a category is possible for a canonical hand.
+     *
+     * @param handIndex the canonical hand index
+     * @param category the category index
+     * @return true if the category scores points with that hand
+     */
+    public boolean isPossible(int handIndex, int category) {
+        return (possible[handIndex] & (1 << category)) != 0;
+    }
+
+    /**
+     * Reads the mask of categories that are possible for a canonical hand.
+     *
+     * @param handIndex the canonical hand index
+     * @return the bit mask of possible categories
+     */
+    public int possibleMask(int handIndex) {
+        return possible[handIndex];
+    }
+
+    /**
+     * Gets the variant name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of dice in a hand.
+     *
+     * @return the dice count
+     */
+    public int getDiceCount() {
+        return diceCount;
+    }
+
+    /**
+     * Gets the number of faces on each die.
+     *
+     * @return the face count
+     */
+    public int getFaceCount() {
+        return faceCount;
+    }
+
+    /**
+     * Gets the number of distinct hands.
+     *
+     * @return the hand count
+     */
+    public int getHandCount() {
+        return hands.length;
+    }
+
+    /**
+     * Gets the number of categories on the score sheet.
+     *
+     * @return the category count
+     */
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    /**
+     * Gets a category by index.
+     *
+     * @param category the category index
+     * @return the category
+     */
+    public Category getCategory(int category) {
+        return categories.get(category);
+    }
+
+    /**
+     * Checks if a category belongs to the upper section.
+     *
+     * @param category the category index
+     * @return true for upper section categories
+     */
+    public boolean isUpperSection(int category) {
+        return (upperMask & (1 << category)) != 0;
+    }
+
+    /**
+     * Gets the upper section total needed for the bonus.
+     *
+     * @return the threshold, or {@link Integer#MAX_VALUE} if the variant has no bonus
+     */
+    public int getUpperBonusThreshold() {
+        return bonusThreshold;
+    }
+
+    /**
+     * Gets the points awarded for the upper section bonus.
+     *
+     * @return the bonus points
+     */
+    public int getUpperBonusPoints() {
+        return bonusPoints;
+    }
+
+    /**
+     * Gets the upper section bonus a score sheet earns when its upper section reaches a
+     * total. This is the only place the bonus rule is written down; games, game states,
+     * replays, rollouts and the move evaluators all ask it.
+     *
+     * @param upperScore the upper section total after scoring
+     * @param bonusAwarded true if the sheet already received the bonus
+     * @return the bonus points earned now, or 0
+     */
+    public int upperBonus(int upperScore, boolean bonusAwarded) {
+        return !bonusAwarded && upperScore >= bonusThreshold ? bonusPoints : 0;
+    }
+
+    /**
+     * Awards the upper section bonus to a player whose upper section has reached the
+     * threshold and who has not received it yet.
+     *
+     * @param player the player who just scored a category
+     * @return the bonus points awarded, or 0 if none
+     */
+    public int awardUpperBonus(Player player) {
+        int bonus = upperBonus(player.getUpperSectionScore(), player.isUpperSectionBonusAwarded());
+        if (bonus > 0) {
+            player.setTotalScore(player.getTotalScore() + bonus);
+            player.setUpperSectionBonusAwarded(true);
+        }
+        return bonus;
+    }
+
+    /**
+     * Gets the categories as combinations backed by the score tables, in score sheet
+     * order, so they can be shown and applied like the built-in combinations.
+     *
+     * @return unmodifiable list of combinations
+     */
+    public List<Combination> getCombinations() {
+        return combinations;
+    }
+
+    /**
+     * Gets the layout of a packed score sheet for this variant.
+     *
+     * @return the score sheet layout
+     */
+    public Scorecard.Layout getScorecardLayout() {
+        return scorecardLayout;
+    }
+
+    /**
+     * Gets how long compiling the tables took.
+     *
+     * @return the build time in nanoseconds
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Gets the size of the lookup tables (hands, points, possibility masks and
+     * binomials), excluding object headers.
+     *
+     * @return the table size in bytes
+     */
+    public long getTableBytes() {
+        long bytes = (long) hands.length * Integer.BYTES + (long) points.length * Short.BYTES
+                + (long) possible.length * Integer.BYTES;
+        for (int[] row : binomial) {
+            bytes += (long) row.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the standard Yahtzee ruleset, compiled once per JVM from the
+     * {@link CombinationRegistry} tables and checked against them.
+     *
+     * @return the standard ruleset
+     */
+    public static Ruleset standard() {
+        return Standard.RULES;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + diceCount + " dice, " + faceCount + " faces, " + categories.size() + " categories)";
+    }
+
+    /**
+     * Compiles the standard and Maxi Yahtzee rulesets and prints their build time and table
+     * size.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        // The first compile also loads and warms the rule classes
+        RulesDefinition.standard().compile();
+        for (RulesDefinition definition : List.of(RulesDefinition.standard(), RulesDefinition.maxi())) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            Ruleset rules = definition.compile();
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            System.out.printf("%s: %,d hands | compiled in %.2f ms | tables %,d bytes | allocated %,d bytes%n",
+                    rules, rules.getHandCount(), rules.getBuildNanos() / 1e6, rules.getTableBytes(), allocated);
+        }
+    }
+
+    /**
+     * Checks that the standard ruleset orders its hands like {@link CombinationRegistry}
+     * and treats the same categories as possible, so a hand index, score or possibility
+     * means the same in both. Points agree by construction, as the standard categories
+     * read the registry's table.
+     *
+     * @throws IllegalStateException if the two disagree
+     */
+    private static Ruleset verifyStandard(Ruleset rules) {
+        for (int hand = 0; hand < CombinationRegistry.HAND_COUNT; hand++) {
+            if (rules.handAt(hand) != CombinationRegistry.handAt(hand)
+                    || rules.possibleMask(hand) != CombinationRegistry.possibleMask(hand)) {
+                throw new IllegalStateException("Standard ruleset differs from the built-in combinations for "
+                        + DiceHand.toString(CombinationRegistry.handAt(hand)));
+            }
+        }
+        return rules;
+    }
+
+    private static final class Standard {
+        private static final Ruleset RULES = verifyStandard(RulesDefinition.standard().compile());
+    }
+}
@@ -0,0 +1,19 @@
+package com.ssander.yahtzee.rules;
+
+import com.ssander.yahtzee.combos.DiceHand;
+
+/**
+ * Scores one category of a ruleset for a hand of dice.
+ * Rules are only evaluated while a {@link Ruleset} is compiled, once per canonical
+ * hand, so they may be written for clarity rather than speed.
+ */
+@FunctionalInterface
+public interface ScoringRule {
+    /**
+     * Scores a hand.
+     *
+     * @param hand the packed hand (see {@link DiceHand})
+     * @return the points, or 0 if the hand does not form the category
+     */
+    int score(int hand);
+}
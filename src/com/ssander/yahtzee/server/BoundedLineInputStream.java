@@ -0,0 +1,51 @@
+package com.ssander.yahtzee.server;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that fails once a single line grows beyond a fixed length.
+ * Keeps a misbehaving client from making a session buffer unbounded input.
+ */
+class BoundedLineInputStream extends FilterInputStream {
+    private final int maxLineLength;
+    private int lineLength;
+
+    /**
+     * Wraps a stream with a line length limit.
+     *
+     * @param in the stream to read from
+     * @param maxLineLength the maximum number of bytes allowed between line breaks
+     */
+    BoundedLineInputStream(InputStream in, int maxLineLength) {
+        super(in);
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            track((byte) value);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int count = super.read(buffer, offset, length);
+        for (int i = 0; i < count; i++) {
+            track(buffer[offset + i]);
+        }
+        return count;
+    }
+
+    private void track(byte value) throws IOException {
+        if (value == '\n') {
+            lineLength = 0;
+        } else if (++lineLength > maxLineLength) {
+            throw new IOException("Input line longer than " + maxLineLength + " bytes");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ssander.yahtzee.server;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import javax.management.JMException;
+
+import com.ssander.yahtzee.cli.ConsoleUserInterface;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.metrics.GameMetrics;
+import com.ssander.yahtzee.metrics.InstrumentedGameUI;
+import com.ssander.yahtzee.ui.GameUI;
+
+/**
+ * Hosts many concurrent Yahtzee tables from one JVM.
+ *
+ * <p>The server accepts local TCP connections and plays one {@link GameManager}
+ * session per connection on its own virtual thread, so a blocked read costs no
+ * platform thread. Each session talks through a {@link ConsoleUserInterface} bound to
+ * the socket, with a capped input line length and a small output buffer, which keeps
+ * memory per session bounded. The combination registry and its score tables are
+ * immutable and shared by every session.</p>
+ *
+ * <p>Besides its own session metrics, the server reports every table to a shared
+ * {@link GameMetrics}, which {@link #main} publishes over JMX.</p>
+ */
+public class GameServer implements Closeable {
+    private static final int MAX_LINE_LENGTH = 128;
+    private static final int OUTPUT_BUFFER_SIZE = 4096;
+    private static final int IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final ServerSocket serverSocket;
+    private final Semaphore sessionSlots;
+    private final ExecutorService sessions;
+    private final ServerMetrics metrics;
+    private final GameMetrics gameMetrics;
+
+    /**
+     * Binds a server to the loopback interface.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @param maxSessions the maximum number of simultaneous tables
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port, int maxSessions) throws IOException {
+        this.serverSocket = new ServerSocket(port, ACCEPT_BACKLOG, InetAddress.getLoopbackAddress());
+        this.sessionSlots = new Semaphore(maxSessions);
+        this.sessions = Executors.newVirtualThreadPerTaskExecutor();
+        this.metrics = new ServerMetrics();
+        this.gameMetrics = new GameMetrics();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the live session and turn metrics.
+     *
+     * @return the server metrics
+     */
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the game, turn and UI call metrics of all tables.
+     *
+     * @return the game metrics
+     */
+    public GameMetrics getGameMetrics() {
+        return gameMetrics;
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     * Connections beyond the session limit are told so and closed immediately.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                // Closed while waiting for a connection
+                return;
+            }
+
+            if (!sessionSlots.tryAcquire()) {
+                metrics.sessionRejected();
+                sessions.execute(() -> reject(socket));
+                continue;
+            }
+            metrics.sessionStarted();
+            sessions.execute(() -> runSession(socket));
+        }
+    }
+
+    private void runSession(Socket socket) {
+        boolean completed = false;
+        try (socket) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE),
+                    false, StandardCharsets.UTF_8);
+            GameUI console = new ConsoleUserInterface(
+                    new BoundedLineInputStream(socket.getInputStream(), MAX_LINE_LENGTH), out);
+            InstrumentedGameUI ui = new InstrumentedGameUI(new MeteredGameUI(console, metrics), gameMetrics);
+            try {
+                new GameManager(ui).startGame();
+                completed = true;
+            } finally {
+                ui.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            // The player disconnected, idled out or sent unusable input; the table is dropped
+        } finally {
+            metrics.sessionEnded(completed);
+            sessionSlots.release();
+        }
+    }
+
+    private static void reject(Socket socket) {
+        try (socket) {
+            socket.getOutputStream().write("Server is full, please try again later.\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // Nothing left to tell the client
+        }
+    }
+
+    /**
+     * Stops accepting connections and interrupts all running sessions.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    /**
+     * Starts a server, publishes its game metrics as JMX MBeans named {@code GameServer}
+     * and prints its metrics every few seconds.
+     * Usage: {@code GameServer [port] [maxSessions]}.
+     *
+     * @param args optional port and session limit
+     * @throws IOException if the port cannot be bound
+     * @throws JMException if the MBeans cannot be registered
+     */
+    public static void main(String[] args) throws IOException, JMException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4242;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        GameServer server = new GameServer(port, maxSessions);
+        server.getGameMetrics().register(ManagementFactory.getPlatformMBeanServer(), "GameServer");
+        System.out.println("Yahtzee server listening on localhost:" + server.getPort()
+                + " (up to " + maxSessions + " tables)");
+        Thread.ofVirtual().start(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(5_000);
+                    System.out.println(server.getMetrics());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.serve();
+    }
+}
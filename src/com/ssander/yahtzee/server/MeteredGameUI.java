@@ -0,0 +1,107 @@
+package com.ssander.yahtzee.server;
+
+import java.util.List;
+
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.player.Die;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.ui.GameUI;
+
+/**
+ * {@link GameUI} decorator that measures how long the server spends on each turn.
+ * A turn runs from {@link #displayPlayerTurn} to {@link #displayScoreUpdate}; time spent
+ * inside the {@code ask*} prompts is waiting for the player and is left out.
+ */
+class MeteredGameUI implements GameUI {
+    private final GameUI delegate;
+    private final ServerMetrics metrics;
+    private long turnStart;
+    private long inputWait;
+
+    MeteredGameUI(GameUI delegate, ServerMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int askPlayerCount() {
+        return delegate.askPlayerCount();
+    }
+
+    @Override
+    public String askPlayerName(int orderNumber) {
+        return delegate.askPlayerName(orderNumber);
+    }
+
+    @Override
+    public void displayGameStart() {
+        delegate.displayGameStart();
+    }
+
+    @Override
+    public void displayPlayerTurn(int orderNumber, Player player) {
+        turnStart = System.nanoTime();
+        inputWait = 0;
+        delegate.displayPlayerTurn(orderNumber, player);
+    }
+
+    @Override
+    public void displayDice(List<Die> dice) {
+        delegate.displayDice(dice);
+    }
+
+    @Override
+    public void displayPossibleCombos(List<Combination> combos, int hand, int usedCombosMask) {
+        delegate.displayPossibleCombos(combos, hand, usedCombosMask);
+    }
+
+    @Override
+    public void displayInvalidCombinationSelection() {
+        delegate.displayInvalidCombinationSelection();
+    }
+
+    @Override
+    public boolean askRollAgain() {
+        long start = System.nanoTime();
+        boolean answer = delegate.askRollAgain();
+        inputWait += System.nanoTime() - start;
+        return answer;
+    }
+
+    @Override
+    public int askKeptDice() {
+        long start = System.nanoTime();
+        int answer = delegate.askKeptDice();
+        inputWait += System.nanoTime() - start;
+        return answer;
+    }
+
+    @Override
+    public int askCombination() {
+        long start = System.nanoTime();
+        int answer = delegate.askCombination();
+        inputWait += System.nanoTime() - start;
+        return answer;
+    }
+
+    @Override
+    public void displayBonusMessage() {
+        delegate.displayBonusMessage();
+    }
+
+    @Override
+    public void displayScoreUpdate(int playerNumber, Player player) {
+        delegate.displayScoreUpdate(playerNumber, player);
+        metrics.turnCompleted(System.nanoTime() - turnStart - inputWait);
+    }
+
+    @Override
+    public void displayGameEnd(List<Player> players) {
+        delegate.displayGameEnd(players);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ssander.yahtzee.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by all sessions of a {@link GameServer}.
+ * Uses {@link LongAdder}s so concurrent sessions do not contend on updates.
+ */
+public class ServerMetrics {
+    private final LongAdder activeSessions = new LongAdder();
+    private final LongAdder completedSessions = new LongAdder();
+    private final LongAdder failedSessions = new LongAdder();
+    private final LongAdder rejectedSessions = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder turnProcessingNanos = new LongAdder();
+    private final AtomicLong maxTurnProcessingNanos = new AtomicLong();
+
+    void sessionStarted() {
+        activeSessions.increment();
+    }
+
+    /**
+     * Records the end of a session.
+     *
+     * @param completed true if the game was played to the end, false if the player
+     *                  disconnected, idled out or the session failed
+     */
+    void sessionEnded(boolean completed) {
+        activeSessions.decrement();
+        if (completed) {
+            completedSessions.increment();
+        } else {
+            failedSessions.increment();
+        }
+    }
+
+    void sessionRejected() {
+        rejectedSessions.increment();
+    }
+
+    /**
+     * Records one finished turn.
+     *
+     * @param processingNanos time the server spent on the turn, excluding waits for player input
+     */
+    void turnCompleted(long processingNanos) {
+        turns.increment();
+        turnProcessingNanos.add(processingNanos);
+        maxTurnProcessingNanos.accumulateAndGet(processingNanos, Math::max);
+    }
+
+    /**
+     * Gets the number of sessions currently playing.
+     *
+     * @return the active session count
+     */
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    /**
+     * Gets the number of sessions whose game was played to the end.
+     *
+     * @return the completed session count
+     */
+    public long getCompletedSessions() {
+        return completedSessions.sum();
+    }
+
+    /**
+     * Gets the number of sessions that ended before their game did, because the player
+     * disconnected, idled out or sent unusable input.
+     *
+     * @return the failed session count
+     */
+    public long getFailedSessions() {
+        return failedSessions.sum();
+    }
+
+    /**
+     * Gets the number of connections turned away because the server was full.
+     *
+     * @return the rejected session count
+     */
+    public long getRejectedSessions() {
+        return rejectedSessions.sum();
+    }
+
+    /**
+     * Gets the number of turns played across all sessions.
+     *
+     * @return the turn count
+     */
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    /**
+     * Gets the mean server-side processing time per turn.
+     *
+     * @return the mean turn latency in microseconds
+     */
+    public double getMeanTurnLatencyMicros() {
+        long count = turns.sum();
+        return count == 0 ? 0 : turnProcessingNanos.sum() / 1_000.0 / count;
+    }
+
+    /**
+     * Gets the longest server-side processing time of a single turn.
+     *
+     * @return the maximum turn latency in microseconds
+     */
+    public double getMaxTurnLatencyMicros() {
+        return maxTurnProcessingNanos.get() / 1_000.0;
+    }
+
+    /**
+     * Returns a one-line summary of the metrics.
+     *
+     * @return formatted metrics
+     */
+    @Override
+    public String toString() {
+        return String.format("active: %,d | completed: %,d | failed: %,d | rejected: %,d | turns: %,d | turn latency mean: %.1f us, max: %.1f us",
+                getActiveSessions(), getCompletedSessions(), getFailedSessions(), getRejectedSessions(), getTurns(),
+                getMeanTurnLatencyMicros(), getMaxTurnLatencyMicros());
+    }
+}
@@ -0,0 +1,45 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.List;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.player.Player;
+
+/**
+ * Decision maker for a computer-controlled player.
+ * Hands are passed in packed form (see {@link DiceHand}).
+ * A strategy instance is only ever used by one thread.
+ */
+public interface BotStrategy {
+    /**
+     * Called at the start of each of the bot's turns with everyone at the table, for
+     * strategies that take the other players into account. Does nothing by default.
+     *
+     * @param player the player taking the turn
+     * @param table the players in seat order; seats that have not taken a turn yet in
+     *        this manager are null
+     */
+    default void turnStarted(Player player, List<Player> table) {
+        // Only the own score sheet matters by default
+    }
+
+    /**
+     * Chooses which dice to keep before rerolling.
+     * Returning the whole hand means the bot stops rolling for this turn.
+     *
+     * @param player the player taking the turn
+     * @param hand the current dice hand
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the packed hand of dice to keep
+     */
+    int chooseKeep(Player player, int hand, int rollsLeft);
+
+    /**
+     * Chooses the combination to score with the final hand of a turn.
+     *
+     * @param player the player taking the turn
+     * @param hand the final dice hand
+     * @return the index of an unused combination (0-12)
+     */
+    int chooseCombination(Player player, int hand);
+}
@@ -0,0 +1,186 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.ssander.yahtzee.combos.Combination;
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.player.Die;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.ui.GameUI;
+
+/**
+ * Headless {@link GameUI} that answers every prompt through a {@link BotStrategy}.
+ * Nothing is printed or read; display callbacks are only used to track the
+ * player, dice and roll count the next decision is based on. Seats can be played
+ * by different strategies, e.g. to pit two bots against each other.
+ */
+public class BotUserInterface implements GameUI {
+    private static final int MAX_ROLLS = 3;
+
+    private final BotStrategy[] strategies;
+    private final String[] playerNames;
+    private final Player[] seated;
+    private final List<Player> table;
+
+    private BotStrategy strategy;
+    private Player currentPlayer;
+    private List<Die> currentDice;
+    private int currentHand;
+    private int rollCount;
+    private int keptPositions;
+
+    /**
+     * Constructs a bot interface for a single-player game.
+     *
+     * @param strategy the strategy making all decisions
+     */
+    public BotUserInterface(BotStrategy strategy) {
+        this(strategy, 1);
+    }
+
+    /**
+     * Constructs a bot interface where every seat is played by the same strategy.
+     *
+     * @param strategy the strategy making all decisions
+     * @param playerCount the number of players to seat (1-3)
+     */
+    public BotUserInterface(BotStrategy strategy, int playerCount) {
+        this(Collections.nCopies(playerCount, Objects.requireNonNull(strategy, "Strategy must not be null")));
+    }
+
+    /**
+     * Constructs a bot interface with one strategy per seat.
+     * The players are named "Bot 1", "Bot 2" and so on in seat order.
+     *
+     * @param strategies the strategy of each seat, in seat order (1-3 seats)
+     */
+    public BotUserInterface(List<? extends BotStrategy> strategies) {
+        this.strategies = strategies.toArray(new BotStrategy[0]);
+        this.playerNames = new String[this.strategies.length];
+        for (int i = 0; i < playerNames.length; i++) {
+            Objects.requireNonNull(this.strategies[i], "Strategy must not be null");
+            playerNames[i] = "Bot " + (i + 1);
+        }
+        this.seated = new Player[playerNames.length];
+        this.table = Collections.unmodifiableList(Arrays.asList(seated));
+        this.strategy = this.strategies[0];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int askPlayerCount() {
+        return playerNames.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String askPlayerName(int orderNumber) {
+        return playerNames[orderNumber - 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayGameStart() {
+        // Nothing to show
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayPlayerTurn(int orderNumber, Player player) {
+        currentPlayer = player;
+        strategy = strategies[orderNumber - 1];
+        seated[orderNumber - 1] = player;
+        rollCount = 0;
+        strategy.turnStarted(player, table);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayDice(List<Die> dice) {
+        currentDice = dice;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayPossibleCombos(List<Combination> combos, int hand, int usedCombosMask) {
+        currentHand = hand;
+        rollCount++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayInvalidCombinationSelection() {
+        throw new IllegalStateException("Bot strategy chose an unavailable combination");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean askRollAgain() {
+        int kept = strategy.chooseKeep(currentPlayer, currentHand, MAX_ROLLS - rollCount);
+        if (kept == currentHand) {
+            return false;
+        }
+        keptPositions = keptDicePositions(currentDice, kept);
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int askKeptDice() {
+        return keptPositions;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int askCombination() {
+        return strategy.chooseCombination(currentPlayer, currentHand);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayBonusMessage() {
+        // Nothing to show
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayScoreUpdate(int playerNumber, Player player) {
+        // Nothing to show
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void displayGameEnd(List<Player> players) {
+        // Results are read from the game manager
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        // No resources to release
+    }
+
+    /**
+     * Translates a kept hand into the positions of the dice to keep.
+     * When several dice show the same face, the first ones in the list are kept.
+     *
+     * @param dice the dice in their current order
+     * @param keptHand the packed hand of dice to keep
+     * @return a bit mask where bit {@code i} set means die {@code i} is kept
+     */
+    static int keptDicePositions(List<Die> dice, int keptHand) {
+        int positions = 0;
+        int remaining = keptHand;
+        for (int i = 0; i < dice.size(); i++) {
+            int face = dice.get(i).getCurrentValue();
+            if (DiceHand.count(remaining, face) > 0) {
+                remaining -= DiceHand.withDie(DiceHand.EMPTY, face);
+                positions |= 1 << i;
+            }
+        }
+        return positions;
+    }
+}
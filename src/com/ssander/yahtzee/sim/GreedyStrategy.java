@@ -0,0 +1,54 @@
+package com.ssander.yahtzee.sim;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.Player;
+
+/**
+ * Simple baseline bot: chases the most frequent face and scores whichever
+ * unused combination pays the most right now.
+ */
+public class GreedyStrategy implements BotStrategy {
+    /** Full House through Yahtzee score a fixed value, so a made one is never rerolled. */
+    private static final int FIRST_FIXED_COMBO = 8;
+    private static final int LAST_FIXED_COMBO = 11;
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseKeep(Player player, int hand, int rollsLeft) {
+        int handIndex = CombinationRegistry.handIndex(hand);
+        int used = player.getUsedCombosMask();
+        for (int combo = FIRST_FIXED_COMBO; combo <= LAST_FIXED_COMBO; combo++) {
+            if ((used & (1 << combo)) == 0 && CombinationRegistry.isPossible(handIndex, combo)) {
+                return hand;
+            }
+        }
+
+        int bestFace = 1;
+        for (int face = 2; face <= CombinationRegistry.FACE_COUNT; face++) {
+            if (DiceHand.count(hand, face) >= DiceHand.count(hand, bestFace)) {
+                bestFace = face;
+            }
+        }
+        int kept = DiceHand.EMPTY;
+        for (int i = DiceHand.count(hand, bestFace); i > 0; i--) {
+            kept = DiceHand.withDie(kept, bestFace);
+        }
+        return kept;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseCombination(Player player, int hand) {
+        int handIndex = CombinationRegistry.handIndex(hand);
+        int best = -1;
+        int bestPoints = -1;
+        for (int combo = 0; combo < CombinationRegistry.COMBO_COUNT; combo++) {
+            if (!player.isCombinationUsed(combo) && CombinationRegistry.points(handIndex, combo) > bestPoints) {
+                bestPoints = CombinationRegistry.points(handIndex, combo);
+                best = combo;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,184 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.solver.HeadToHeadStrategy;
+import com.ssander.yahtzee.solver.OptimalStrategy;
+import com.ssander.yahtzee.solver.ScoreDistribution;
+import com.ssander.yahtzee.solver.StrategyCache;
+import com.ssander.yahtzee.solver.StrategySolver;
+
+/**
+ * Plays a {@link HeadToHeadBot} against an {@link OptimalBot} (which maximizes its expected
+ * score) in two-player games across all cores, and reports how often each wins and how
+ * long the head-to-head decisions take.
+ *
+ * <p>Games come in pairs that start from the same dice stream with the seats swapped, so
+ * neither bot profits from moving first or from luckier dice. Like {@link Simulator},
+ * every worker thread owns its managers and bots, and a run with a given seed plays the
+ * same games on any thread count.</p>
+ */
+public final class HeadToHead {
+    private static final int PAIRS_PER_CLAIM = 64;
+
+    private HeadToHead() {
+        // Utility class
+    }
+
+    /**
+     * Runs the match from the command line.
+     * Usage: {@code HeadToHead [games] [threads] [seed]}.
+     *
+     * @param args optional game count, thread count and root seed
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : ThreadLocalRandom.current().nextLong();
+        long pairs = (games + 1) / 2;
+
+        System.out.println("Loading or solving optimal strategy...");
+        OptimalStrategy optimal = StrategyCache.loadOrSolve(StrategyCache.defaultFile(), new StrategySolver());
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        ScoreDistribution distribution;
+        try {
+            distribution = ScoreDistribution.compute(optimal, pool);
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("Score distributions computed in %,d ms%n", distribution.getComputeTimeNanos() / 1_000_000);
+        HeadToHeadStrategy headToHead = new HeadToHeadStrategy(distribution);
+
+        System.out.printf("Playing %,d games of head-to-head vs. expected-score bot on %d threads (seed %d)...%n",
+                pairs * 2, threads, seed);
+        AtomicLong nextPair = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Result total = new Result();
+        long start = System.nanoTime();
+        try {
+            List<Future<Result>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> play(nextPair, pairs, seed, optimal, headToHead)));
+            }
+            for (Future<Result> worker : workers) {
+                total.merge(worker.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Match worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long played = total.wins + total.losses + total.ties;
+        double winRate = (total.wins + 0.5 * total.ties) / played;
+        double margin = 1.96 * Math.sqrt(winRate * (1 - winRate) / played);
+        System.out.printf("Head-to-head bot: %,d wins, %,d losses, %,d ties -> %.2f%% +- %.2f%% of games won%n",
+                total.wins, total.losses, total.ties, 100 * winRate, 100 * margin);
+        System.out.printf("Mean score: head-to-head %.2f | expected-score %.2f%n",
+                (double) total.headToHeadScore / played, (double) total.optimalScore / played);
+        System.out.printf("Decisions: %,d | mean %.1f us | p50 %d us | p99 %d us | max %.1f ms%n",
+                total.decisions, total.decisionNanos / 1e3 / total.decisions, total.percentileMicros(0.50),
+                total.percentileMicros(0.99), total.maxDecisionNanos / 1e6);
+        System.out.printf("Elapsed: %.2f s | %,.0f games/s%n", seconds, played / seconds);
+    }
+
+    private static Result play(AtomicLong nextPair, long pairs, long seed, OptimalStrategy optimal,
+                               HeadToHeadStrategy headToHead) {
+        DiceRandom random = new DiceRandom(seed);
+        HeadToHeadBot bot = new HeadToHeadBot(headToHead);
+        OptimalBot opponent = new OptimalBot(optimal);
+        // The head-to-head bot is "Bot 1" in the first game of each pair and "Bot 2" in the second
+        GameManager first = new GameManager(new BotUserInterface(List.of(bot, opponent)), random);
+        GameManager second = new GameManager(new BotUserInterface(List.of(opponent, bot)), random);
+        Result result = new Result();
+        while (true) {
+            long from = nextPair.getAndAdd(PAIRS_PER_CLAIM);
+            if (from >= pairs) {
+                result.addBot(bot);
+                return result;
+            }
+            for (long pair = from; pair < Math.min(pairs, from + PAIRS_PER_CLAIM); pair++) {
+                random.reseed(DiceRandom.streamSeed(seed, pair));
+                first.startGame();
+                result.record(first.getPlayers(), "Bot 1");
+                random.reseed(DiceRandom.streamSeed(seed, pair));
+                second.startGame();
+                result.record(second.getPlayers(), "Bot 2");
+            }
+        }
+    }
+
+    /** Outcome counts of one worker, merged into a total at the end. */
+    private static final class Result {
+        private long wins;
+        private long losses;
+        private long ties;
+        private long headToHeadScore;
+        private long optimalScore;
+        private long decisions;
+        private long decisionNanos;
+        private long maxDecisionNanos;
+        private final long[] latencyCounts = new long[HeadToHeadBot.LATENCY_SLOTS];
+
+        void record(List<Player> players, String headToHeadName) {
+            Player bot = players.get(0).getPlayerName().equals(headToHeadName) ? players.get(0) : players.get(1);
+            Player opponent = bot == players.get(0) ? players.get(1) : players.get(0);
+            int lead = bot.getTotalScore() - opponent.getTotalScore();
+            if (lead > 0) {
+                wins++;
+            } else if (lead < 0) {
+                losses++;
+            } else {
+                ties++;
+            }
+            headToHeadScore += bot.getTotalScore();
+            optimalScore += opponent.getTotalScore();
+        }
+
+        void addBot(HeadToHeadBot bot) {
+            decisions += bot.getDecisions();
+            decisionNanos += bot.getDecisionNanos();
+            maxDecisionNanos = Math.max(maxDecisionNanos, bot.getMaxDecisionNanos());
+            bot.addLatencyCounts(latencyCounts);
+        }
+
+        void merge(Result other) {
+            wins += other.wins;
+            losses += other.losses;
+            ties += other.ties;
+            headToHeadScore += other.headToHeadScore;
+            optimalScore += other.optimalScore;
+            decisions += other.decisions;
+            decisionNanos += other.decisionNanos;
+            maxDecisionNanos = Math.max(maxDecisionNanos, other.maxDecisionNanos);
+            for (int i = 0; i < latencyCounts.length; i++) {
+                latencyCounts[i] += other.latencyCounts[i];
+            }
+        }
+
+        int percentileMicros(double fraction) {
+            long rank = (long) Math.ceil(fraction * decisions);
+            long seen = 0;
+            for (int i = 0; i < latencyCounts.length; i++) {
+                seen += latencyCounts[i];
+                if (seen >= rank) {
+                    return i;
+                }
+            }
+            return latencyCounts.length - 1;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.solver.HeadToHeadStrategy;
+
+/**
+ * Bot that plays to beat its opponent rather than to maximize its own score, using a
+ * {@link HeadToHeadStrategy}. With more than one opponent it plays against whoever
+ * currently has the highest total. Records how long each decision takes.
+ */
+public class HeadToHeadBot implements BotStrategy {
+    /** Decision times are counted per microsecond up to this bound; slower ones share the last slot. */
+    public static final int LATENCY_SLOTS = 10_000;
+
+    private final HeadToHeadStrategy strategy;
+    /** Stands in for an opponent who has not taken a turn yet, i.e. an empty score sheet. */
+    private final Player newcomer = new Player("Opponent");
+
+    private Player opponent = newcomer;
+    private long decisions;
+    private long decisionNanos;
+    private long maxDecisionNanos;
+    private final long[] latencyCounts = new long[LATENCY_SLOTS];
+
+    /**
+     * Constructs a bot backed by a head-to-head strategy.
+     *
+     * @param strategy the strategy, which may be shared between bots
+     */
+    public HeadToHeadBot(HeadToHeadStrategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy, "Strategy must not be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void turnStarted(Player player, List<Player> table) {
+        opponent = newcomer;
+        for (int i = 0; i < table.size(); i++) {
+            Player other = table.get(i);
+            if (other != null && other != player
+                    && (opponent == newcomer || other.getTotalScore() > opponent.getTotalScore())) {
+                opponent = other;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseKeep(Player player, int hand, int rollsLeft) {
+        long start = System.nanoTime();
+        int keep = strategy.bestKeep(player, opponent, hand, rollsLeft);
+        record(System.nanoTime() - start);
+        return keep;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseCombination(Player player, int hand) {
+        long start = System.nanoTime();
+        int combo = strategy.bestCombination(player, opponent, hand);
+        record(System.nanoTime() - start);
+        return combo;
+    }
+
+    private void record(long nanos) {
+        decisions++;
+        decisionNanos += nanos;
+        maxDecisionNanos = Math.max(maxDecisionNanos, nanos);
+        latencyCounts[(int) Math.min(LATENCY_SLOTS - 1, nanos / 1_000)]++;
+    }
+
+    /**
+     * Adds this bot's decision time histogram to another one, e.g. to merge the bots of
+     * several threads.
+     *
+     * @param counts receives the number of decisions per whole microsecond, with
+     *        {@link #LATENCY_SLOTS} entries
+     */
+    public void addLatencyCounts(long[] counts) {
+        for (int i = 0; i < LATENCY_SLOTS; i++) {
+            counts[i] += latencyCounts[i];
+        }
+    }
+
+    /**
+     * Gets the number of decisions made so far.
+     *
+     * @return the decision count
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Gets the total time spent on decisions.
+     *
+     * @return the decision time in nanoseconds
+     */
+    public long getDecisionNanos() {
+        return decisionNanos;
+    }
+
+    /**
+     * Gets the time of the slowest decision.
+     *
+     * @return the longest decision time in nanoseconds
+     */
+    public long getMaxDecisionNanos() {
+        return maxDecisionNanos;
+    }
+}
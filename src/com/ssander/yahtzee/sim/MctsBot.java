@@ -0,0 +1,532 @@
+package com.ssander.yahtzee.sim;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Bot that decides by Monte Carlo tree search, for any {@link Ruleset}, including variants
+ * for which no exact strategy has been solved.
+ *
+ * <p>The tree covers the rest of the current turn: decision nodes for the keeps and the
+ * final combination, with the dice outcomes of each keep sampled as they are visited.
+ * Every playout walks down the tree, scores a combination, and credits the points
+ * scored plus an estimate of the points still to come to every decision on the way.
+ * The root chooses by UCB1; deeper nodes follow a fast default policy until they have
+ * been visited {@link #EXPANSION_VISITS} times, so that rarely sampled dice outcomes are
+ * valued by sensible play instead of by exploration. The answer is the most visited
+ * root action once the time budget of the decision is used up.</p>
+ *
+ * <p>The default policy keeps made hands and otherwise the most frequent face. The
+ * estimate of the rest of the game is the sum of what each open combination scores
+ * when whole games are played with a greedy policy, calibrated once per bot, plus a
+ * bonus that grows smoothly as the expected upper section total nears the threshold.
+ * The greedy policy scores the combination whose points exceed its par by the most.
+ * The par of an upper section combination is its share of the bonus threshold (three
+ * of a kind for standard rules); the par of any other combination is what a single
+ * roll scores in it on average, so made hands are kept for the combinations that are
+ * hard to make. Playing out whole games instead turned out to be too noisy to rank
+ * keeps within a turn: their spread of about 40 points needs far more samples than
+ * the time budget allows.</p>
+ *
+ * <p>The search is tree-parallel: all worker threads (by default one per core, the
+ * deciding thread included) grow the same tree. Node statistics are lock-free: visit
+ * counts and reward sums live in {@link AtomicLongArray}s, and a visit is counted when an
+ * action is selected but its reward only when the playout ends, so running playouts
+ * act as a virtual loss that spreads the threads over different actions. Children are
+ * created through {@link ConcurrentHashMap#computeIfAbsent}.</p>
+ */
+public class MctsBot implements BotStrategy, AutoCloseable {
+    /** A turn has at most three decisions: two keeps and the combination. */
+    private static final int MAX_ROLLS = 3;
+    /** UCB1 exploration constant, in points (the spread of the rewards within a turn is about 10 points). */
+    private static final double EXPLORATION = 10;
+    /** Rewards are summed as fixed-point numbers with this many steps per point. */
+    private static final double REWARD_SCALE = 1 << 10;
+    /** Hands that score at least this much in a lower section combination are not rerolled by playouts. */
+    private static final int MADE_HAND_POINTS = 25;
+
+    /** Whole games played with the greedy policy to calibrate the value of each combination. */
+    private static final int CALIBRATION_GAMES = 20_000;
+    /** Scale, in points around the bonus threshold, over which the estimated bonus goes from unlikely to likely. */
+    private static final double BONUS_SPREAD = 4;
+    /** Visits after which a node below the root chooses by UCB1 instead of the playout policy. */
+    private static final long EXPANSION_VISITS = 64;
+
+    private final Ruleset rules;
+    private final long budgetNanos;
+    private final int threads;
+    private final ExecutorService workers;
+    private final int fullMask;
+    /** Par of each combination, in points. */
+    private final double[] par;
+    /** Mean points the playout policy scores in each combination over whole games. */
+    private final double[] categoryValues;
+    private final LongAdder rollouts = new LongAdder();
+    private final SplittableRandom seeds;
+    private long decisions;
+    private long searchNanos;
+
+    /**
+     * Constructs a bot searching on all cores.
+     *
+     * @param rules the rules of the games the bot plays
+     * @param budget the time spent on each decision
+     */
+    public MctsBot(Ruleset rules, Duration budget) {
+        this(rules, budget, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Constructs a bot searching on the given number of threads.
+     *
+     * @param rules the rules of the games the bot plays
+     * @param budget the time spent on each decision
+     * @param threads the number of threads growing the tree, including the deciding thread
+     * @param seed the seed of the playout dice
+     */
+    public MctsBot(Ruleset rules, Duration budget, int threads, long seed) {
+        this.rules = Objects.requireNonNull(rules, "Ruleset must not be null");
+        this.budgetNanos = budget.toNanos();
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.threads = threads;
+        this.workers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.fullMask = (1 << rules.getCategoryCount()) - 1;
+        this.seeds = new SplittableRandom(seed);
+        this.par = pars(rules);
+        this.categoryValues = new double[rules.getCategoryCount()];
+        SplittableRandom calibration = new SplittableRandom(seed);
+        for (int game = 0; game < CALIBRATION_GAMES; game++) {
+            playout(calibration, categoryValues);
+        }
+        for (int category = 0; category < categoryValues.length; category++) {
+            categoryValues[category] /= CALIBRATION_GAMES;
+        }
+    }
+
+    private static double[] pars(Ruleset rules) {
+        int dice = rules.getDiceCount();
+        int faces = rules.getFaceCount();
+        double faceSum = faces * (faces + 1) / 2.0;
+        double[] par = new double[rules.getCategoryCount()];
+        for (int hand = 0; hand < rules.getHandCount(); hand++) {
+            double probability = arrangements(rules.handAt(hand), dice, faces) / Math.pow(faces, dice);
+            for (int category = 0; category < par.length; category++) {
+                par[category] += probability * rules.points(hand, category);
+            }
+        }
+        for (int category = 0; category < par.length; category++) {
+            if (rules.isUpperSection(category)) {
+                // An upper section combination scores its face once per die, up to all dice
+                int face = 0;
+                for (int hand = 0; hand < rules.getHandCount(); hand++) {
+                    face = Math.max(face, rules.points(hand, category) / dice);
+                }
+                par[category] = face * rules.getUpperBonusThreshold() / faceSum;
+            }
+        }
+        return par;
+    }
+
+    /** Number of ordered rolls that give a hand. */
+    private static double arrangements(int hand, int dice, int faces) {
+        double count = factorial(dice);
+        for (int face = 1; face <= faces; face++) {
+            count /= factorial(DiceHand.count(hand, face));
+        }
+        return count;
+    }
+
+    private static double factorial(int n) {
+        double result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseKeep(Player player, int hand, int rollsLeft) {
+        Node root = new Node(player.getUsedCombosMask(), player.getUpperSectionScore(),
+                player.isUpperSectionBonusAwarded(), hand, rollsLeft, true);
+        return root.actions[search(root, player)];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseCombination(Player player, int hand) {
+        Node root = new Node(player.getUsedCombosMask(), player.getUpperSectionScore(),
+                player.isUpperSectionBonusAwarded(), hand, 0, true);
+        return root.actions[search(root, player)];
+    }
+
+    /**
+     * Grows the tree until the budget is used up.
+     *
+     * @return the index of the most visited root action
+     */
+    private int search(Node root, Player player) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int usedMask = player.getUsedCombosMask();
+        int upperScore = player.getUpperSectionScore();
+        boolean bonusAwarded = player.isUpperSectionBonusAwarded();
+
+        List<Future<?>> helpers = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            SplittableRandom random = seeds.split();
+            helpers.add(workers.submit(() -> grow(root, usedMask, upperScore, bonusAwarded, deadline, random)));
+        }
+        grow(root, usedMask, upperScore, bonusAwarded, deadline, seeds.split());
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search worker failed", e.getCause());
+            }
+        }
+        decisions++;
+        searchNanos += System.nanoTime() - start;
+        return root.mostVisited();
+    }
+
+    private void grow(Node root, int usedMask, int upperScore, boolean bonusAwarded, long deadline,
+                      SplittableRandom random) {
+        Node[] path = new Node[MAX_ROLLS];
+        int[] choices = new int[path.length];
+        long count = 0;
+        do {
+            int depth = 0;
+            Node node = root;
+            double reward;
+            while (true) {
+                int action = node.select();
+                path[depth] = node;
+                choices[depth++] = action;
+                if (node.rollsLeft == 0) {
+                    reward = scoreValue(node.hand, node.actions[action], usedMask, upperScore, bonusAwarded);
+                    break;
+                }
+                int kept = node.actions[action];
+                if (kept == node.hand) {
+                    node = node.child(action, node.hand, 0);
+                } else {
+                    node = node.child(action, roll(kept, random), node.rollsLeft - 1);
+                }
+            }
+            for (int i = 0; i < depth; i++) {
+                path[i].credit(choices[i], reward);
+            }
+            count++;
+        } while (System.nanoTime() < deadline);
+        rollouts.add(count);
+    }
+
+    /**
+     * Plays a whole game with the greedy playout policy, adding the points scored in each
+     * combination to {@code scored}.
+     */
+    private void playout(SplittableRandom random, double[] scored) {
+        int usedMask = 0;
+        int upperScore = 0;
+        boolean bonusAwarded = false;
+        while (usedMask != fullMask) {
+            int hand = roll(DiceHand.EMPTY, random);
+            for (int roll = 1; roll < MAX_ROLLS && !isMade(hand, usedMask); roll++) {
+                hand = roll(mostFrequentFace(hand), random);
+            }
+            int handIndex = rules.handIndex(hand);
+            int best = -1;
+            double bestMargin = Double.NEGATIVE_INFINITY;
+            for (int category = 0; category < rules.getCategoryCount(); category++) {
+                if ((usedMask & (1 << category)) == 0) {
+                    double margin = points(hand, category, upperScore, bonusAwarded) - par[category];
+                    if (margin > bestMargin) {
+                        bestMargin = margin;
+                        best = category;
+                    }
+                }
+            }
+            scored[best] += rules.points(handIndex, best);
+            usedMask |= 1 << best;
+            if (rules.isUpperSection(best)) {
+                upperScore += rules.points(handIndex, best);
+                bonusAwarded |= upperScore >= rules.getUpperBonusThreshold();
+            }
+        }
+    }
+
+    private double estimate(int usedMask, int upperScore, boolean bonusAwarded) {
+        double value = 0;
+        double upper = upperScore;
+        for (int category = 0; category < rules.getCategoryCount(); category++) {
+            if ((usedMask & (1 << category)) == 0) {
+                value += categoryValues[category];
+                if (rules.isUpperSection(category)) {
+                    upper += categoryValues[category];
+                }
+            }
+        }
+        if (!bonusAwarded) {
+            double lead = upper - rules.getUpperBonusThreshold();
+            value += rules.getUpperBonusPoints() / (1 + Math.exp(-lead / BONUS_SPREAD));
+        }
+        return value;
+    }
+
+    /**
+     * Scores a hand in a category and estimates the rest of the game without playing it.
+     *
+     * @return the points earned now plus the estimated points still to come
+     */
+    private double scoreValue(int hand, int category, int usedMask, int upperScore, boolean bonusAwarded) {
+        int nextUpper = rules.isUpperSection(category)
+                ? upperScore + rules.points(rules.handIndex(hand), category) : upperScore;
+        boolean nextBonus = bonusAwarded || nextUpper >= rules.getUpperBonusThreshold();
+        int nextMask = usedMask | (1 << category);
+        return points(hand, category, upperScore, bonusAwarded)
+                + (nextMask == fullMask ? 0 : estimate(nextMask, nextUpper, nextBonus));
+    }
+
+    /** Points for scoring a hand in a category, including a bonus this triggers. */
+    private int points(int hand, int category, int upperScore, boolean bonusAwarded) {
+        int points = rules.points(rules.handIndex(hand), category);
+        if (rules.isUpperSection(category)) {
+            points += rules.upperBonus(upperScore + points, bonusAwarded);
+        }
+        return points;
+    }
+
+    private boolean isMade(int hand, int usedMask) {
+        int handIndex = rules.handIndex(hand);
+        for (int category = 0; category < rules.getCategoryCount(); category++) {
+            if ((usedMask & (1 << category)) == 0 && !rules.isUpperSection(category)
+                    && rules.points(handIndex, category) >= MADE_HAND_POINTS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int mostFrequentFace(int hand) {
+        int best = 1;
+        for (int face = 2; face <= rules.getFaceCount(); face++) {
+            if (DiceHand.count(hand, face) >= DiceHand.count(hand, best)) {
+                best = face;
+            }
+        }
+        int kept = DiceHand.EMPTY;
+        for (int i = DiceHand.count(hand, best); i > 0; i--) {
+            kept = DiceHand.withDie(kept, best);
+        }
+        return kept;
+    }
+
+    /** Rolls the dice that are not kept. */
+    private int roll(int kept, SplittableRandom random) {
+        int hand = kept;
+        for (int i = DiceHand.size(kept); i < rules.getDiceCount(); i++) {
+            hand = DiceHand.withDie(hand, random.nextInt(rules.getFaceCount()) + 1);
+        }
+        return hand;
+    }
+
+    /**
+     * Gets the number of playouts run so far, over all threads.
+     *
+     * @return the playout count
+     */
+    public long getRollouts() {
+        return rollouts.sum();
+    }
+
+    /**
+     * Gets the number of decisions made so far.
+     *
+     * @return the decision count
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Gets the wall time spent searching.
+     *
+     * @return the search time in nanoseconds
+     */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * A decision: which dice to keep with {@code rollsLeft} rolls left, or which
+     * combination to score when no rolls are left.
+     */
+    private final class Node {
+        private final int usedMask;
+        private final int upperScore;
+        private final boolean bonusAwarded;
+        private final int hand;
+        private final int rollsLeft;
+        private final boolean root;
+        /** Kept hands, or combination indices when no rolls are left. */
+        private final int[] actions;
+        /** Action of the playout policy, taken until the node has been visited often enough. */
+        private final int defaultAction;
+        private final AtomicLongArray visits;
+        private final AtomicLongArray rewards;
+        private final AtomicLong totalVisits = new AtomicLong();
+        /** Children by action and dice outcome. */
+        private final ConcurrentHashMap<Integer, Node> children;
+
+        Node(int usedMask, int upperScore, boolean bonusAwarded, int hand, int rollsLeft, boolean root) {
+            this.usedMask = usedMask;
+            this.upperScore = upperScore;
+            this.bonusAwarded = bonusAwarded;
+            this.hand = hand;
+            this.rollsLeft = rollsLeft;
+            this.root = root;
+            this.actions = rollsLeft > 0 ? subHands(hand) : openCategories(usedMask);
+            this.defaultAction = rollsLeft > 0 ? defaultKeep() : defaultCategory();
+            this.visits = new AtomicLongArray(actions.length);
+            this.rewards = new AtomicLongArray(actions.length);
+            this.children = rollsLeft > 0 ? new ConcurrentHashMap<>() : null;
+        }
+
+        /**
+         * Picks an action and counts the visit right away: by UCB1 at the root and at
+         * nodes visited often enough, by the playout policy otherwise.
+         */
+        int select() {
+            long total = totalVisits.getAndIncrement();
+            if (!root && total < EXPANSION_VISITS) {
+                visits.incrementAndGet(defaultAction);
+                return defaultAction;
+            }
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logTotal = Math.log(total + 1);
+            for (int action = 0; action < actions.length; action++) {
+                long n = visits.get(action);
+                if (n == 0) {
+                    best = action;
+                    break;
+                }
+                double score = rewards.get(action) / REWARD_SCALE / n + EXPLORATION * Math.sqrt(logTotal / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = action;
+                }
+            }
+            visits.incrementAndGet(best);
+            return best;
+        }
+
+        void credit(int action, double reward) {
+            rewards.addAndGet(action, (long) (reward * REWARD_SCALE));
+        }
+
+        Node child(int action, int outcome, int childRollsLeft) {
+            return children.computeIfAbsent(action << 16 | rules.handIndex(outcome),
+                    key -> new Node(usedMask, upperScore, bonusAwarded, outcome, childRollsLeft, false));
+        }
+
+        private int defaultKeep() {
+            int kept = isMade(hand, usedMask) ? hand : mostFrequentFace(hand);
+            for (int action = 0; action < actions.length; action++) {
+                if (actions[action] == kept) {
+                    return action;
+                }
+            }
+            throw new IllegalStateException("Keep is not part of the hand");
+        }
+
+        private int defaultCategory() {
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int action = 0; action < actions.length; action++) {
+                double value = scoreValue(hand, actions[action], usedMask, upperScore, bonusAwarded);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = action;
+                }
+            }
+            return best;
+        }
+
+        int mostVisited() {
+            int best = 0;
+            for (int action = 1; action < actions.length; action++) {
+                if (visits.get(action) > visits.get(best)) {
+                    best = action;
+                }
+            }
+            return best;
+        }
+
+        private int[] openCategories(int used) {
+            int[] open = new int[Integer.bitCount(~used & fullMask)];
+            for (int i = 0, mask = ~used & fullMask; mask != 0; i++, mask &= mask - 1) {
+                open[i] = Integer.numberOfTrailingZeros(mask);
+            }
+            return open;
+        }
+
+        private int[] subHands(int full) {
+            List<Integer> kept = new ArrayList<>();
+            collect(full, 1, DiceHand.EMPTY, kept);
+            int[] result = new int[kept.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = kept.get(i);
+            }
+            return result;
+        }
+
+        private void collect(int full, int face, int kept, List<Integer> into) {
+            if (face > rules.getFaceCount()) {
+                into.add(kept);
+                return;
+            }
+            for (int count = 0; count <= DiceHand.count(full, face); count++) {
+                collect(full, face + 1, kept, into);
+                kept = DiceHand.withDie(kept, face);
+            }
+        }
+    }
+}
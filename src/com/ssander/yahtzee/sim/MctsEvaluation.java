@@ -0,0 +1,163 @@
+package com.ssander.yahtzee.sim;
+
+import java.time.Duration;
+
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.rules.RulesDefinition;
+import com.ssander.yahtzee.rules.Ruleset;
+import com.ssander.yahtzee.solver.OptimalStrategy;
+import com.ssander.yahtzee.solver.StrategyCache;
+import com.ssander.yahtzee.solver.StrategySolver;
+
+/**
+ * Measures how the {@link MctsBot} plays at different time budgets.
+ *
+ * <p>For standard rules every decision is rated against the solved {@link OptimalStrategy}:
+ * the expected score the bot's choice gives up compared to the optimal one, and how often
+ * the two agree. For Maxi Yahtzee, which has no solved strategy, only the mean score is
+ * reported. Both report the playouts per second over all search threads.</p>
+ *
+ * <p>Every figure comes with its 95% confidence interval. Final scores vary by about 40
+ * points from game to game, so their mean only separates budgets after thousands of
+ * games. The expected points given up per game do not depend on the dice luck of the
+ * game, so their interval is several times narrower and is the figure to compare
+ * budgets by. The agreement interval treats decisions as independent.</p>
+ */
+public final class MctsEvaluation {
+    private static final double Z_95 = 1.959964;
+
+    private MctsEvaluation() {
+        // Utility class
+    }
+
+    /**
+     * Runs the evaluation from the command line.
+     * Usage: {@code MctsEvaluation [games] [budgets in ms, comma separated] [threads] [seed]}.
+     *
+     * @param args optional game count per budget, budgets, thread count and seed
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        String[] budgets = (args.length > 1 ? args[1] : "1,4,16").split(",");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        OptimalStrategy optimal = StrategyCache.loadOrSolve(StrategyCache.defaultFile(), new StrategySolver());
+        Ruleset maxi = RulesDefinition.maxi().compile();
+        System.out.printf("MCTS on %d threads, %d games per budget and variant (optimal play: %.1f)%n",
+                threads, games, optimal.getExpectedScore());
+        for (String budget : budgets) {
+            Duration perDecision = Duration.ofMillis(Long.parseLong(budget.trim()));
+            try (MctsBot bot = new MctsBot(Ruleset.standard(), perDecision, threads, seed)) {
+                RatedBot rated = new RatedBot(bot, optimal);
+                Sample scores = play(Ruleset.standard(), rated, games, seed);
+                System.out.printf("%4s ms standard: %,9.0f playouts/s | %,7d playouts/decision | score %s"
+                                + " | loses %s per game | agrees %s%%%n",
+                        budget.trim(), bot.getRollouts() / (bot.getSearchNanos() / 1e9),
+                        bot.getRollouts() / bot.getDecisions(), scores.format(1, 1),
+                        rated.gameLosses.format(1, 2), rated.agreements.format(100, 1));
+            }
+            try (MctsBot bot = new MctsBot(maxi, perDecision, threads, seed)) {
+                Sample scores = play(maxi, bot, games, seed);
+                System.out.printf("%4s ms maxi:     %,9.0f playouts/s | %,7d playouts/decision | score %s%n",
+                        budget.trim(), bot.getRollouts() / (bot.getSearchNanos() / 1e9),
+                        bot.getRollouts() / bot.getDecisions(), scores.format(1, 1));
+            }
+        }
+    }
+
+    private static Sample play(Ruleset rules, BotStrategy bot, int games, long seed) {
+        DiceRandom random = new DiceRandom(seed);
+        GameManager manager = new GameManager(new BotUserInterface(bot), random, rules);
+        Sample scores = new Sample();
+        for (int game = 0; game < games; game++) {
+            random.reseed(DiceRandom.streamSeed(seed, game));
+            manager.startGame();
+            scores.add(manager.getPlayers().get(0).getTotalScore());
+            if (bot instanceof RatedBot rated) {
+                rated.endGame();
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Mean of a sample with the half-width of its 95% normal confidence interval.
+     */
+    private static final class Sample {
+        private long count;
+        private double sum;
+        private double sumOfSquares;
+
+        void add(double value) {
+            count++;
+            sum += value;
+            sumOfSquares += value * value;
+        }
+
+        double mean() {
+            return sum / count;
+        }
+
+        double halfWidth() {
+            if (count < 2) {
+                return Double.NaN;
+            }
+            double variance = (sumOfSquares - sum * sum / count) / (count - 1);
+            return Z_95 * Math.sqrt(Math.max(0, variance) / count);
+        }
+
+        String format(double scale, int decimals) {
+            return String.format("%." + decimals + "f +/- %." + decimals + "f", mean() * scale, halfWidth() * scale);
+        }
+    }
+
+    /**
+     * Passes decisions through and rates each one by the expected score it gives up
+     * compared to optimal play.
+     */
+    private static final class RatedBot implements BotStrategy {
+        private final BotStrategy bot;
+        private final OptimalStrategy optimal;
+        private final Sample agreements = new Sample();
+        private final Sample gameLosses = new Sample();
+        private double gameLoss;
+
+        RatedBot(BotStrategy bot, OptimalStrategy optimal) {
+            this.bot = bot;
+            this.optimal = optimal;
+        }
+
+        @Override
+        public int chooseKeep(Player player, int hand, int rollsLeft) {
+            int kept = bot.chooseKeep(player, hand, rollsLeft);
+            int usedMask = player.getUsedCombosMask();
+            int upperScore = player.getUpperSectionScore();
+            int best = optimal.bestKeep(usedMask, upperScore, hand, rollsLeft);
+            agreements.add(kept == best ? 1 : 0);
+            gameLoss += optimal.keepValue(usedMask, upperScore, best, rollsLeft)
+                    - optimal.keepValue(usedMask, upperScore, kept, rollsLeft);
+            return kept;
+        }
+
+        @Override
+        public int chooseCombination(Player player, int hand) {
+            int combo = bot.chooseCombination(player, hand);
+            int usedMask = player.getUsedCombosMask();
+            int upperScore = player.getUpperSectionScore();
+            int best = optimal.bestCombination(usedMask, upperScore, hand);
+            agreements.add(combo == best ? 1 : 0);
+            gameLoss += optimal.combinationValue(usedMask, upperScore, hand, best)
+                    - optimal.combinationValue(usedMask, upperScore, hand, combo);
+            return combo;
+        }
+
+        /** Records the expected points given up in the game that just ended. */
+        void endGame() {
+            gameLosses.add(gameLoss);
+            gameLoss = 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.Objects;
+
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.solver.OptimalStrategy;
+
+/**
+ * Bot that plays the solved expected-score-maximizing strategy.
+ */
+public class OptimalBot implements BotStrategy {
+    private final OptimalStrategy strategy;
+
+    /**
+     * Constructs a bot backed by a solved strategy.
+     *
+     * @param strategy the solved strategy, which may be shared between bots
+     */
+    public OptimalBot(OptimalStrategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy, "Strategy must not be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseKeep(Player player, int hand, int rollsLeft) {
+        return strategy.bestKeep(player, hand, rollsLeft);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int chooseCombination(Player player, int hand) {
+        return strategy.bestCombination(player, hand);
+    }
+}
@@ -0,0 +1,130 @@
+package com.ssander.yahtzee.sim;
+
+/**
+ * Accumulates final score statistics of simulated games.
+ * Each worker thread fills its own instance; instances are merged at the end.
+ */
+public class SimulationStats {
+    private long games;
+    private long scoreSum;
+    private long scoreSquareSum;
+    private int minScore = Integer.MAX_VALUE;
+    private int maxScore = Integer.MIN_VALUE;
+    private long bonusCount;
+    private long yahtzeeCount;
+
+    /**
+     * Records the outcome of one player's finished game.
+     *
+     * @param score the final total score
+     * @param bonusAwarded whether the upper section bonus was awarded
+     * @param yahtzeeScored whether the Yahtzee combination scored points
+     */
+    public void record(int score, boolean bonusAwarded, boolean yahtzeeScored) {
+        games++;
+        scoreSum += score;
+        scoreSquareSum += (long) score * score;
+        minScore = Math.min(minScore, score);
+        maxScore = Math.max(maxScore, score);
+        if (bonusAwarded) {
+            bonusCount++;
+        }
+        if (yahtzeeScored) {
+            yahtzeeCount++;
+        }
+    }
+
+    /**
+     * Adds all games recorded by another instance to this one.
+     *
+     * @param other the statistics to merge in
+     */
+    public void merge(SimulationStats other) {
+        games += other.games;
+        scoreSum += other.scoreSum;
+        scoreSquareSum += other.scoreSquareSum;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+        bonusCount += other.bonusCount;
+        yahtzeeCount += other.yahtzeeCount;
+    }
+
+    /**
+     * Gets the number of recorded games.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the mean final score.
+     *
+     * @return the mean score, or 0 if no games were recorded
+     */
+    public double getMean() {
+        return games == 0 ? 0 : (double) scoreSum / games;
+    }
+
+    /**
+     * Gets the population standard deviation of the final scores.
+     *
+     * @return the standard deviation, or 0 if no games were recorded
+     */
+    public double getStandardDeviation() {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMean();
+        return Math.sqrt(Math.max(0, (double) scoreSquareSum / games - mean * mean));
+    }
+
+    /**
+     * Gets the lowest recorded score.
+     *
+     * @return the minimum score
+     */
+    public int getMinScore() {
+        return minScore;
+    }
+
+    /**
+     * Gets the highest recorded score.
+     *
+     * @return the maximum score
+     */
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * Gets the share of games in which the upper section bonus was awarded.
+     *
+     * @return the bonus rate (0-1)
+     */
+    public double getBonusRate() {
+        return games == 0 ? 0 : (double) bonusCount / games;
+    }
+
+    /**
+     * Gets the share of games in which a Yahtzee was scored.
+     *
+     * @return the Yahtzee rate (0-1)
+     */
+    public double getYahtzeeRate() {
+        return games == 0 ? 0 : (double) yahtzeeCount / games;
+    }
+
+    /**
+     * Returns a one-line summary of the statistics.
+     *
+     * @return formatted statistics
+     */
+    @Override
+    public String toString() {
+        return String.format("games: %,d | mean: %.2f | stddev: %.2f | min: %d | max: %d | bonus: %.2f%% | yahtzee: %.2f%%",
+                games, getMean(), getStandardDeviation(), minScore, maxScore,
+                getBonusRate() * 100, getYahtzeeRate() * 100);
+    }
+}
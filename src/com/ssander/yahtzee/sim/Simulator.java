@@ -0,0 +1,192 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.ssander.yahtzee.combos.Yahtzee;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.management.GameManager;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.solver.OptimalStrategy;
+import com.ssander.yahtzee.solver.StrategyCache;
+import com.ssander.yahtzee.solver.StrategySolver;
+
+/**
+ * Plays large numbers of headless games across all cores.
+ *
+ * <p>Every worker thread owns its own {@link GameManager}, {@link BotUserInterface} and
+ * strategy, so games run through exactly the same turn loop, scoring table and bonus
+ * rule as interactive games, without any shared mutable state. Workers claim games
+ * in small batches until the requested number has been played.</p>
+ *
+ * <p>Dice are drawn from a per-thread {@link DiceRandom} that is reseeded from the
+ * root seed and the game number before every game, so a run with a given seed
+ * produces the same result for every game regardless of the thread count.</p>
+ */
+public class Simulator {
+    private static final int GAMES_PER_CLAIM = 256;
+    private static final int YAHTZEE_INDEX = findYahtzeeIndex();
+
+    private final Supplier<? extends BotStrategy> strategies;
+    private final int threads;
+    private final long rootSeed;
+
+    /**
+     * Constructs a simulator with a random root seed.
+     *
+     * @param strategies creates one strategy per worker thread
+     * @param threads the number of worker threads
+     */
+    public Simulator(Supplier<? extends BotStrategy> strategies, int threads) {
+        this(strategies, threads, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a reproducible simulator.
+     *
+     * @param strategies creates one strategy per worker thread
+     * @param threads the number of worker threads
+     * @param rootSeed the seed every game's dice stream is derived from
+     */
+    public Simulator(Supplier<? extends BotStrategy> strategies, int threads, long rootSeed) {
+        this.strategies = Objects.requireNonNull(strategies, "Strategy supplier must not be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.threads = threads;
+        this.rootSeed = rootSeed;
+    }
+
+    /**
+     * Gets the root seed the dice streams are derived from.
+     *
+     * @return the root seed
+     */
+    public long getRootSeed() {
+        return rootSeed;
+    }
+
+    /**
+     * Plays the given number of single-player games.
+     *
+     * @param games how many games to play
+     * @return the merged statistics of all games
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public SimulationStats run(long games) throws InterruptedException {
+        return run(games, null);
+    }
+
+    /**
+     * Plays the given number of single-player games and keeps every game's final score.
+     * With the same root seed, the returned array is identical for any thread count.
+     *
+     * @param games how many games to play
+     * @return the final score of each game, indexed by game number
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public int[] runScores(int games) throws InterruptedException {
+        int[] scores = new int[games];
+        run(games, scores);
+        return scores;
+    }
+
+    private SimulationStats run(long games, int[] scores) throws InterruptedException {
+        AtomicLong nextGame = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationStats>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> playGames(nextGame, games, scores)));
+            }
+
+            SimulationStats total = new SimulationStats();
+            for (Future<SimulationStats> worker : workers) {
+                total.merge(worker.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SimulationStats playGames(AtomicLong nextGame, long games, int[] scores) {
+        SimulationStats stats = new SimulationStats();
+        DiceRandom random = new DiceRandom(rootSeed);
+        GameManager manager = new GameManager(new BotUserInterface(strategies.get()), random);
+        while (true) {
+            long first = nextGame.getAndAdd(GAMES_PER_CLAIM);
+            if (first >= games) {
+                return stats;
+            }
+            long last = Math.min(games, first + GAMES_PER_CLAIM);
+            for (long game = first; game < last; game++) {
+                random.reseed(DiceRandom.streamSeed(rootSeed, game));
+                manager.startGame();
+                List<Player> players = manager.getPlayers();
+                if (scores != null) {
+                    scores[(int) game] = players.get(0).getTotalScore();
+                }
+                for (int i = 0; i < players.size(); i++) {
+                    Player player = players.get(i);
+                    stats.record(player.getTotalScore(), player.isUpperSectionBonusAwarded(),
+                            player.getComboScore(YAHTZEE_INDEX) > 0);
+                }
+            }
+        }
+    }
+
+    private static int findYahtzeeIndex() {
+        CombinationRegistry registry = new CombinationRegistry();
+        for (int i = 0; i < CombinationRegistry.COMBO_COUNT; i++) {
+            if (registry.getComboByIndex(i) instanceof Yahtzee) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Registry has no Yahtzee combination");
+    }
+
+    /**
+     * Runs a simulation from the command line and prints throughput and score statistics.
+     * Usage: {@code Simulator [games] [greedy|optimal] [threads] [seed]}.
+     *
+     * @param args optional game count, strategy name, thread count and root seed
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        String strategyName = args.length > 1 ? args[1] : "greedy";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : ThreadLocalRandom.current().nextLong();
+
+        Supplier<? extends BotStrategy> strategies;
+        if (strategyName.equals("optimal")) {
+            System.out.println("Loading or solving optimal strategy...");
+            OptimalStrategy strategy = StrategyCache.loadOrSolve(StrategyCache.defaultFile(), new StrategySolver());
+            strategies = () -> new OptimalBot(strategy);
+        } else if (strategyName.equals("greedy")) {
+            strategies = GreedyStrategy::new;
+        } else {
+            throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        }
+
+        System.out.printf("Simulating %,d games with the %s strategy on %d threads (seed %d)...%n",
+                games, strategyName, threads, seed);
+        long start = System.nanoTime();
+        SimulationStats stats = new Simulator(strategies, threads, seed).run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(stats);
+        System.out.printf("Elapsed: %.2f s | %,.0f games/s%n", seconds, stats.getGames() / seconds);
+    }
+}
@@ -0,0 +1,372 @@
+package com.ssander.yahtzee.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.DiceRandom;
+import com.ssander.yahtzee.player.DiceRoller;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.player.Scorecard;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Estimates each player's chance of winning a multiplayer game by Monte Carlo rollouts.
+ *
+ * <p>The score sheets of all players are copied, then the rest of the game is played
+ * out many times by a {@link BotStrategy} for every player. Rollouts run in rounds
+ * spread over a fork-join pool; each leaf task owns its own dice and scratch players,
+ * so work scales with the number of cores. After every round the win probabilities
+ * and their 95% Wilson confidence intervals are reported to a progress listener, and
+ * the estimate stops once every interval is narrower than the target.</p>
+ *
+ * <p>Rollout {@code i} always draws its dice from the same seeded stream, so an
+ * estimate with a given seed is reproducible for any pool size. Ties split the win
+ * equally between the tied players.</p>
+ *
+ * <p>Rollouts are played by the {@link Ruleset#standard() standard rules}, the only
+ * rules the bot strategies know; players with any other score sheet are rejected.</p>
+ */
+public class WinProbabilityEstimator {
+    private static final double Z_95 = 1.959964;
+    private static final int ROLLOUTS_PER_TASK = 256;
+    private static final int ROLLOUTS_PER_ROUND = 16_384;
+    /** Win share units, divisible by every tie size from 1 to 16 players. */
+    private static final long WIN_UNITS = 720_720;
+
+    private final ForkJoinPool pool;
+    private final Supplier<? extends BotStrategy> strategies;
+    private final double targetHalfWidth;
+    private final long maxRollouts;
+
+    /**
+     * Constructs an estimator playing rollouts greedily on the common pool, stopping
+     * at a half-width of 0.5 percentage points or one million rollouts.
+     */
+    public WinProbabilityEstimator() {
+        this(ForkJoinPool.commonPool(), GreedyStrategy::new, 0.005, 1_000_000);
+    }
+
+    /**
+     * Constructs an estimator.
+     *
+     * @param pool the fork-join pool rollouts run on
+     * @param strategies creates the strategy playing out rollouts, one per task
+     * @param targetHalfWidth stop once every confidence interval half-width is below this
+     * @param maxRollouts stop after this many rollouts at the latest
+     */
+    public WinProbabilityEstimator(ForkJoinPool pool, Supplier<? extends BotStrategy> strategies,
+                                   double targetHalfWidth, long maxRollouts) {
+        this.pool = Objects.requireNonNull(pool, "Pool must not be null");
+        this.strategies = Objects.requireNonNull(strategies, "Strategy supplier must not be null");
+        if (targetHalfWidth <= 0 || maxRollouts < 1) {
+            throw new IllegalArgumentException("Target half-width and rollout limit must be positive");
+        }
+        this.targetHalfWidth = targetHalfWidth;
+        this.maxRollouts = maxRollouts;
+    }
+
+    /**
+     * Estimates win probabilities with a random seed and no progress reports.
+     *
+     * @param players the players of the game, in seat order
+     * @return the final estimate
+     */
+    public Estimate estimate(List<Player> players) {
+        return estimate(players, ThreadLocalRandom.current().nextLong(), estimate -> { });
+    }
+
+    /**
+     * Estimates win probabilities, reporting the estimate after every round of rollouts.
+     *
+     * @param players the players of the game, in seat order
+     * @param seed the seed all rollout dice streams are derived from
+     * @param progress receives every partial estimate, the last one included
+     * @return the final estimate
+     * @throws IllegalArgumentException if a player does not keep a standard score sheet
+     */
+    public Estimate estimate(List<Player> players, long seed, Consumer<Estimate> progress) {
+        Snapshot snapshot = new Snapshot(players);
+        long[] wins = new long[snapshot.size()];
+        long rollouts = 0;
+        Estimate estimate;
+        do {
+            long round = Math.min(ROLLOUTS_PER_ROUND, maxRollouts - rollouts);
+            long[] roundWins = pool.invoke(new RolloutTask(snapshot, seed, rollouts, rollouts + round));
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += roundWins[i];
+            }
+            rollouts += round;
+            estimate = new Estimate(wins, rollouts, targetHalfWidth);
+            progress.accept(estimate);
+        } while (!estimate.isConverged() && rollouts < maxRollouts);
+        return estimate;
+    }
+
+    /**
+     * Estimates the win chances of a seeded, partly played game and prints every partial
+     * estimate. Usage: {@code WinProbabilityEstimator [players] [turns played] [seed]}.
+     *
+     * @param args optional player count, turns already played by each player and seed
+     */
+    public static void main(String[] args) {
+        int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int turnsPlayed = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player("Player " + (i + 1)));
+        }
+        RolloutWorker setup = new RolloutWorker(new Snapshot(players), new GreedyStrategy());
+        setup.random.reseed(seed);
+        for (Player player : players) {
+            setup.playTurns(player, turnsPlayed);
+            System.out.println(player.getPlayerName() + ": " + player.getTotalScore() + " points after "
+                    + turnsPlayed + " turns");
+        }
+
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator();
+        System.out.printf("Estimating on %d threads...%n", estimator.pool.getParallelism());
+        long start = System.nanoTime();
+        Estimate estimate = estimator.estimate(players, seed, System.out::println);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s after %.2f s | %,.0f rollouts/s%n", estimate.isConverged() ? "Converged" : "Stopped",
+                seconds, estimate.getRollouts() / seconds);
+    }
+
+    /**
+     * Immutable copy of every player's score sheet, taken when an estimate starts.
+     */
+    private static final class Snapshot {
+        private final int[] usedMasks;
+        private final int[][] comboScores;
+
+        Snapshot(List<Player> players) {
+            int count = players.size();
+            usedMasks = new int[count];
+            comboScores = new int[count][CombinationRegistry.COMBO_COUNT];
+            for (int i = 0; i < count; i++) {
+                Player player = players.get(i);
+                if (!player.getScorecard().getLayout().equals(Scorecard.Layout.standard())) {
+                    throw new IllegalArgumentException("Win chances need standard rules, but "
+                            + player.getPlayerName() + " plays by other rules");
+                }
+                usedMasks[i] = player.getUsedCombosMask();
+                for (int combo = 0; combo < CombinationRegistry.COMBO_COUNT; combo++) {
+                    comboScores[i][combo] = player.getComboScore(combo);
+                }
+            }
+        }
+
+        int size() {
+            return usedMasks.length;
+        }
+    }
+
+    /**
+     * Plays rollouts {@code [from, to)}, splitting the range until it is small enough
+     * for one worker.
+     */
+    private final class RolloutTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Snapshot snapshot;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        RolloutTask(Snapshot snapshot, long seed, long from, long to) {
+            this.snapshot = snapshot;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= ROLLOUTS_PER_TASK) {
+                return new RolloutWorker(snapshot, strategies.get()).play(seed, from, to);
+            }
+            long middle = (from + to) >>> 1;
+            RolloutTask left = new RolloutTask(snapshot, seed, from, middle);
+            left.fork();
+            long[] wins = new RolloutTask(snapshot, seed, middle, to).compute();
+            long[] leftWins = left.join();
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += leftWins[i];
+            }
+            return wins;
+        }
+    }
+
+    /**
+     * Plays out games for scratch copies of the players, without allocating per rollout.
+     */
+    private static final class RolloutWorker {
+        private final Snapshot snapshot;
+        private final BotStrategy strategy;
+        private final Ruleset rules = Ruleset.standard();
+        private final DiceRandom random = new DiceRandom();
+        private final DiceRoller roller = new DiceRoller(random, rules.getFaceCount(), rules.getDiceCount());
+        private final Player[] players;
+        private final int[] scores;
+
+        RolloutWorker(Snapshot snapshot, BotStrategy strategy) {
+            this.snapshot = snapshot;
+            this.strategy = strategy;
+            this.players = new Player[snapshot.size()];
+            this.scores = new int[snapshot.size()];
+            for (int i = 0; i < players.length; i++) {
+                players[i] = new Player("Rollout " + (i + 1));
+            }
+        }
+
+        long[] play(long seed, long from, long to) {
+            long[] wins = new long[players.length];
+            for (long rollout = from; rollout < to; rollout++) {
+                random.reseed(DiceRandom.streamSeed(seed, rollout));
+                roller.reset();
+                int best = Integer.MIN_VALUE;
+                int winners = 0;
+                for (int i = 0; i < players.length; i++) {
+                    restore(i);
+                    playTurns(players[i], rules.getCategoryCount());
+                    scores[i] = players[i].getTotalScore();
+                    if (scores[i] > best) {
+                        best = scores[i];
+                        winners = 1;
+                    } else if (scores[i] == best) {
+                        winners++;
+                    }
+                }
+                for (int i = 0; i < players.length; i++) {
+                    if (scores[i] == best) {
+                        wins[i] += WIN_UNITS / winners;
+                    }
+                }
+            }
+            return wins;
+        }
+
+        private void restore(int seat) {
+            Player player = players[seat];
+            player.reset(player.getPlayerName());
+            int used = snapshot.usedMasks[seat];
+            for (int combo = 0; combo < rules.getCategoryCount(); combo++) {
+                if ((used & (1 << combo)) != 0) {
+                    player.applyScore(rules.getCombinations().get(combo), snapshot.comboScores[seat][combo],
+                            rules.isUpperSection(combo));
+                }
+            }
+            rules.awardUpperBonus(player);
+        }
+
+        /**
+         * Plays turns until the player has scored the given number of combinations.
+         */
+        void playTurns(Player player, int scoredCombos) {
+            while (player.getRolledComboCount() < scoredCombos) {
+                int hand = roller.rollHand(DiceHand.EMPTY);
+                for (int rollsLeft = 2; rollsLeft > 0; rollsLeft--) {
+                    int kept = strategy.chooseKeep(player, hand, rollsLeft);
+                    if (kept == hand) {
+                        break;
+                    }
+                    hand = roller.rollHand(kept);
+                }
+                int combo = strategy.chooseCombination(player, hand);
+                int points = rules.points(rules.handIndex(hand), combo);
+                player.applyScore(rules.getCombinations().get(combo), points, rules.isUpperSection(combo));
+                rules.awardUpperBonus(player);
+            }
+        }
+    }
+
+    /**
+     * Win probabilities of all players after some number of rollouts.
+     */
+    public static final class Estimate {
+        private final double[] probabilities;
+        private final double[] halfWidths;
+        private final long rollouts;
+        private final boolean converged;
+
+        Estimate(long[] wins, long rollouts, double targetHalfWidth) {
+            this.rollouts = rollouts;
+            this.probabilities = new double[wins.length];
+            this.halfWidths = new double[wins.length];
+            boolean tight = true;
+            double zSquared = Z_95 * Z_95;
+            for (int i = 0; i < wins.length; i++) {
+                double p = (double) wins[i] / WIN_UNITS / rollouts;
+                double denominator = 1 + zSquared / rollouts;
+                probabilities[i] = (p + zSquared / (2.0 * rollouts)) / denominator;
+                halfWidths[i] = Z_95 / denominator
+                        * Math.sqrt(p * (1 - p) / rollouts + zSquared / (4.0 * rollouts * rollouts));
+                tight &= halfWidths[i] < targetHalfWidth;
+            }
+            this.converged = tight;
+        }
+
+        /**
+         * Gets the number of rollouts the estimate is based on.
+         *
+         * @return the rollout count
+         */
+        public long getRollouts() {
+            return rollouts;
+        }
+
+        /**
+         * Gets the estimated win probability of a player (the Wilson interval center).
+         *
+         * @param seat the seat index of the player
+         * @return the win probability (0-1)
+         */
+        public double getProbability(int seat) {
+            return probabilities[seat];
+        }
+
+        /**
+         * Gets the half-width of a player's 95% confidence interval.
+         *
+         * @param seat the seat index of the player
+         * @return the half-width (0-1)
+         */
+        public double getHalfWidth(int seat) {
+            return halfWidths[seat];
+        }
+
+        /**
+         * Indicates whether every interval is narrower than the target.
+         *
+         * @return true if the estimate stopped early
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        /**
+         * Returns the win probabilities with their intervals, one player per entry.
+         *
+         * @return formatted estimate
+         */
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(String.format("%,d rollouts:", rollouts));
+            for (int i = 0; i < probabilities.length; i++) {
+                result.append(String.format(" | player %d: %.1f%% +/- %.1f%%", i + 1,
+                        probabilities[i] * 100, halfWidths[i] * 100));
+            }
+            return result.toString();
+        }
+    }
+}
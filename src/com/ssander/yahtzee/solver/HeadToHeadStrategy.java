@@ -0,0 +1,266 @@
+package com.ssander.yahtzee.solver;
+
+import java.util.Objects;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Two-player strategy that maximizes the chance of beating the opponent rather than the
+ * expected score.
+ *
+ * <p>Each player's final score is modelled as their current total plus the remaining
+ * score of their score sheet according to a {@link ScoreDistribution}: its exact
+ * distribution near the end of the game, a normal distribution with the right mean and
+ * variance before that. Scoring a hand in a combination thus has a win probability of
+ * {@code Phi((ownMean - opponentMean) / sqrt(ownVariance + opponentVariance))} while
+ * both distributions are normal, and is summed over the exact scores otherwise. Keeps are chosen to maximize the expected win probability at the end of the turn,
+ * over the exact reroll outcomes of the {@link RerollTable}. A player far behind thus
+ * prefers keeps and combinations with a large spread (chasing Yahtzee or a Large
+ * Straight), while a player far ahead plays safe.</p>
+ *
+ * <p>The win probability of every final hand is computed once per turn and reused for
+ * all decisions of that turn. Instances are safe to share between threads; each thread
+ * works on its own scratch arrays.</p>
+ */
+public class HeadToHeadStrategy {
+    private static final int HANDS = CombinationRegistry.HAND_COUNT;
+    private static final int COMBOS = CombinationRegistry.COMBO_COUNT;
+    private static final int UPPER_CAP = CombinationRegistry.UPPER_BONUS_THRESHOLD;
+    private static final Ruleset RULES = Ruleset.standard();
+    /** Highest possible final score. */
+    private static final int MAX_SCORE = maxScore();
+
+    private final ScoreDistribution distribution;
+    private final ThreadLocal<Evaluator> evaluators;
+
+    /**
+     * Constructs a strategy from precomputed score distributions.
+     *
+     * @param distribution the score distribution of every state, which may be shared
+     */
+    public HeadToHeadStrategy(ScoreDistribution distribution) {
+        this.distribution = Objects.requireNonNull(distribution, "Score distribution must not be null");
+        this.evaluators = ThreadLocal.withInitial(Evaluator::new);
+    }
+
+    /**
+     * Estimates the chance that a player who is between turns beats the opponent,
+     * counting a tie as half a win.
+     *
+     * @param player the player to evaluate
+     * @param opponent the other player
+     * @return the estimated win probability
+     */
+    public double winProbability(Player player, Player opponent) {
+        int usedMask = player.getUsedCombosMask();
+        int upperScore = player.getUpperSectionScore();
+        return winProbability(player.getTotalScore() + distribution.getMean(usedMask, upperScore)
+                        - expectedFinalScore(opponent),
+                distribution.getVariance(usedMask, upperScore) + finalScoreVariance(opponent));
+    }
+
+    /**
+     * Chooses which dice to keep before the next reroll.
+     * Keeping every die means the player should stop rolling.
+     *
+     * @param player the player taking the turn
+     * @param opponent the other player
+     * @param hand the current packed dice hand (see {@link DiceHand})
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the packed hand of dice to keep
+     */
+    public int bestKeep(Player player, Player opponent, int hand, int rollsLeft) {
+        Evaluator evaluator = evaluators.get();
+        evaluator.prepare(player, opponent);
+        double[] keepValues = rollsLeft > 1 ? evaluator.firstKeepValues() : evaluator.lastKeepValues;
+        RerollTable table = RerollTable.INSTANCE;
+        return table.keptHand(table.bestKeep(CombinationRegistry.handIndex(hand), keepValues));
+    }
+
+    /**
+     * Chooses the combination to score with the final hand of a turn.
+     *
+     * @param player the player taking the turn
+     * @param opponent the other player
+     * @param hand the final packed dice hand (see {@link DiceHand})
+     * @return the index of the combination to score (0-12)
+     */
+    public int bestCombination(Player player, Player opponent, int hand) {
+        Evaluator evaluator = evaluators.get();
+        evaluator.prepare(player, opponent);
+        return evaluator.bestCombos[CombinationRegistry.handIndex(hand)];
+    }
+
+    private double expectedFinalScore(Player player) {
+        return player.getTotalScore()
+                + distribution.getMean(player.getUsedCombosMask(), player.getUpperSectionScore());
+    }
+
+    private double finalScoreVariance(Player player) {
+        return distribution.getVariance(player.getUsedCombosMask(), player.getUpperSectionScore());
+    }
+
+    /**
+     * Probability that a normally distributed score difference is positive, with ties
+     * (a difference of exactly zero) counted as half a win.
+     */
+    static double winProbability(double meanLead, double variance) {
+        if (variance <= 0) {
+            return meanLead > 0 ? 1 : meanLead < 0 ? 0 : 0.5;
+        }
+        return normalCdf(meanLead / Math.sqrt(variance));
+    }
+
+    /**
+     * Standard normal distribution function, via the complementary error function
+     * approximation of Numerical Recipes (relative error below 1.2e-7).
+     */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.5 * x);
+        double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return z >= 0 ? 1 - 0.5 * erfc : 0.5 * erfc;
+    }
+
+    private static int maxScore() {
+        int max = CombinationRegistry.UPPER_BONUS_POINTS;
+        for (int combo = 0; combo < COMBOS; combo++) {
+            int best = 0;
+            for (int hand = 0; hand < HANDS; hand++) {
+                best = Math.max(best, CombinationRegistry.points(hand, combo));
+            }
+            max += best;
+        }
+        return max;
+    }
+
+    /**
+     * Per-thread win probabilities of the current turn: of every final hand and of
+     * every keep. Recomputed only when a different matchup is queried.
+     */
+    private final class Evaluator {
+        private final RerollTable table = RerollTable.INSTANCE;
+        /** Win probability of each final hand with its best combination. */
+        private final double[] scoredValues = new double[HANDS];
+        /** Best combination for each final hand. */
+        private final int[] bestCombos = new int[HANDS];
+        private final double[] oneRollValues = new double[HANDS];
+        private final double[] lastKeepValues = new double[RerollTable.KEEP_COUNT];
+        private final double[] firstKeepValues = new double[RerollTable.KEEP_COUNT];
+        /** Chance of beating the opponent with each final score, ties counting half. */
+        private final double[] beats = new double[MAX_SCORE + 1];
+        private boolean firstKeepsPrepared;
+
+        private int usedMask = -1;
+        private int upperScore;
+        private int totalScore;
+        private int opponentMask;
+        private int opponentUpper;
+        private int opponentTotal;
+
+        void prepare(Player player, Player opponent) {
+            int mask = player.getUsedCombosMask();
+            int upper = Math.min(UPPER_CAP, player.getUpperSectionScore());
+            int total = player.getTotalScore();
+            int otherMask = opponent.getUsedCombosMask();
+            int otherUpper = Math.min(UPPER_CAP, opponent.getUpperSectionScore());
+            int otherTotal = opponent.getTotalScore();
+            if (mask == usedMask && upper == upperScore && total == totalScore
+                    && otherMask == opponentMask && otherUpper == opponentUpper && otherTotal == opponentTotal) {
+                return;
+            }
+            usedMask = mask;
+            upperScore = upper;
+            totalScore = total;
+            opponentMask = otherMask;
+            opponentUpper = otherUpper;
+            opponentTotal = otherTotal;
+            firstKeepsPrepared = false;
+
+            double opponentMean = otherTotal + distribution.getMean(otherMask, otherUpper);
+            double opponentVariance = distribution.getVariance(otherMask, otherUpper);
+            prepareBeats(otherTotal, distribution.histogram(otherMask, otherUpper), opponentMean, opponentVariance);
+            for (int hand = 0; hand < HANDS; hand++) {
+                double best = Double.NEGATIVE_INFINITY;
+                int bestCombo = -1;
+                for (int combo = 0; combo < COMBOS; combo++) {
+                    if ((mask & (1 << combo)) != 0) {
+                        continue;
+                    }
+                    int points = CombinationRegistry.points(hand, combo);
+                    int nextUpper = upper;
+                    if (combo < CombinationRegistry.FACE_COUNT) {
+                        nextUpper = Math.min(UPPER_CAP, upper + points);
+                        points += RULES.upperBonus(upper + points, upper >= UPPER_CAP);
+                    }
+                    int nextMask = mask | (1 << combo);
+                    double[] rest = distribution.histogram(nextMask, nextUpper);
+                    double value;
+                    if (rest != null) {
+                        value = exactWinProbability(total + points, rest);
+                    } else if (nextMask == (1 << COMBOS) - 1) {
+                        value = beats[Math.min(MAX_SCORE, total + points)];
+                    } else {
+                        value = winProbability(
+                                total + points + distribution.getMean(nextMask, nextUpper) - opponentMean,
+                                distribution.getVariance(nextMask, nextUpper) + opponentVariance);
+                    }
+                    if (value > best) {
+                        best = value;
+                        bestCombo = combo;
+                    }
+                }
+                scoredValues[hand] = best;
+                bestCombos[hand] = bestCombo;
+            }
+            table.expectedValues(scoredValues, lastKeepValues);
+        }
+
+        /**
+         * Tabulates the chance of beating the opponent with every final score, from the
+         * opponent's exact remaining score distribution if known, or else its normal
+         * approximation.
+         */
+        private void prepareBeats(int opponentTotal, double[] opponentRest, double opponentMean,
+                                  double opponentVariance) {
+            if (opponentRest == null) {
+                for (int score = 0; score <= MAX_SCORE; score++) {
+                    beats[score] = winProbability(score - opponentMean, opponentVariance);
+                }
+                return;
+            }
+            // P(opponent < score) + P(opponent == score) / 2
+            double below = 0;
+            for (int score = 0; score <= MAX_SCORE; score++) {
+                int rest = score - opponentTotal;
+                double equal = rest >= 0 && rest < opponentRest.length ? opponentRest[rest] : 0;
+                beats[score] = below + equal / 2;
+                below += equal;
+            }
+        }
+
+        private double exactWinProbability(int score, double[] rest) {
+            double win = 0;
+            for (int points = 0; points < rest.length; points++) {
+                if (rest[points] != 0) {
+                    win += rest[points] * beats[Math.min(MAX_SCORE, score + points)];
+                }
+            }
+            return win;
+        }
+
+        double[] firstKeepValues() {
+            if (!firstKeepsPrepared) {
+                table.bestKeepValues(lastKeepValues, oneRollValues);
+                table.expectedValues(oneRollValues, firstKeepValues);
+                firstKeepsPrepared = true;
+            }
+            return firstKeepValues;
+        }
+    }
+}
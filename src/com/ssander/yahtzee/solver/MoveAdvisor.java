@@ -0,0 +1,262 @@
+package com.ssander.yahtzee.solver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.Player;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Suggests the best move for the current roll within a fixed latency budget.
+ *
+ * <p>Each request is computed on a background virtual thread. A one-turn estimate
+ * (maximize the best immediate score reachable this turn, via {@link RerollTable})
+ * is available within microseconds; the exact answer needs the solved
+ * {@link OptimalStrategy}, which may still be computing when the game starts. If the
+ * exact answer is not ready when the budget expires, the best answer found so far is
+ * returned and the background work carries on, so the exact answer is cached for
+ * the next time the same situation comes up.</p>
+ *
+ * <p>Answers are cached by (used combinations, capped upper score, hand, rolls left).
+ * Instances are safe to use from several threads.</p>
+ */
+public class MoveAdvisor implements AutoCloseable {
+    private static final int HANDS = CombinationRegistry.HAND_COUNT;
+    private static final int COMBOS = CombinationRegistry.COMBO_COUNT;
+    private static final int UPPER_CAP = CombinationRegistry.UPPER_BONUS_THRESHOLD;
+    private static final Ruleset RULES = Ruleset.standard();
+
+    private final CompletableFuture<OptimalStrategy> strategy;
+    private final long budgetNanos;
+    private final Map<Integer, Advice> cache = new ConcurrentHashMap<>();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates an advisor that loads the optimal strategy from the {@link StrategyCache},
+     * or solves it in the background while leaving one core free for the game. Until the
+     * strategy is available, advice is a one-turn estimate.
+     *
+     * @param budget how long {@link #advise(Player, int, int)} may take
+     */
+    public MoveAdvisor(Duration budget) {
+        this(new CompletableFuture<>(), budget);
+        Thread.ofVirtual().name("strategy-solver").start(() -> {
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+            try {
+                strategy.complete(StrategyCache.loadOrSolve(StrategyCache.defaultFile(),
+                        new StrategySolver(pool, (filled, layer, solved, total, elapsed) -> { })));
+            } catch (RuntimeException e) {
+                strategy.completeExceptionally(e);
+            } finally {
+                pool.shutdown();
+            }
+        });
+    }
+
+    /**
+     * Creates an advisor backed by an already solved strategy.
+     *
+     * @param strategy the solved strategy
+     * @param budget how long {@link #advise(Player, int, int)} may take
+     */
+    public MoveAdvisor(OptimalStrategy strategy, Duration budget) {
+        this(CompletableFuture.completedFuture(Objects.requireNonNull(strategy, "Strategy must not be null")), budget);
+    }
+
+    private MoveAdvisor(CompletableFuture<OptimalStrategy> strategy, Duration budget) {
+        this.strategy = strategy;
+        this.budgetNanos = budget.toNanos();
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Latency budget must be positive");
+        }
+    }
+
+    /**
+     * Suggests what to do with the current hand, returning within the latency budget.
+     *
+     * @param player the player taking the turn
+     * @param hand the current packed dice hand (see {@link DiceHand})
+     * @param rollsLeft how many rolls are still allowed this turn (0-2)
+     * @return the best advice found within the budget
+     */
+    public Advice advise(Player player, int hand, int rollsLeft) {
+        int usedMask = player.getUsedCombosMask();
+        int upperScore = Math.min(UPPER_CAP, player.getUpperSectionScore());
+        int totalScore = player.getTotalScore();
+        int handIndex = CombinationRegistry.handIndex(hand);
+        Integer key = usedMask | upperScore << COMBOS | handIndex << 19 | rollsLeft << 27;
+
+        Advice cached = cache.get(key);
+        if (cached != null) {
+            return cached.plus(totalScore);
+        }
+
+        AtomicReference<Advice> best = new AtomicReference<>();
+        Future<?> task = workers.submit(() -> {
+            best.set(estimate(usedMask, upperScore, handIndex, rollsLeft));
+            Advice exact = exact(strategy.join(), usedMask, upperScore, hand, rollsLeft);
+            cache.put(key, exact);
+            best.set(exact);
+        });
+        try {
+            task.get(budgetNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Fall back to the best answer so far; the exact one lands in the cache later
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The strategy could not be solved; estimates remain available
+        }
+
+        Advice answer = best.get();
+        return answer != null ? answer.plus(totalScore) : estimate(usedMask, upperScore, handIndex, rollsLeft);
+    }
+
+    /**
+     * Answers from the solved strategy. Works on a copy of the player's state, since the
+     * player may move on while this is still running. The expected score is the points
+     * still to come after the advised move, so the answer depends only on the cache key;
+     * the player's total so far is added by {@link #advise(Player, int, int)}.
+     */
+    private static Advice exact(OptimalStrategy solved, int usedMask, int upperScore, int hand, int rollsLeft) {
+        int combo = solved.bestCombination(usedMask, upperScore, hand);
+        if (rollsLeft == 0) {
+            return new Advice(hand, combo, true, solved.combinationValue(usedMask, upperScore, hand, combo));
+        }
+        int keptHand = solved.bestKeep(usedMask, upperScore, hand, rollsLeft);
+        return new Advice(keptHand, combo, true, solved.keepValue(usedMask, upperScore, keptHand, rollsLeft));
+    }
+
+    /**
+     * One-turn estimate: chooses the keep that maximizes the expected best immediate
+     * score (including a bonus this would trigger) at the end of this turn.
+     */
+    private static Advice estimate(int usedMask, int upperScore, int handIndex, int rollsLeft) {
+        RerollTable table = RerollTable.INSTANCE;
+        double[] handValues = new double[HANDS];
+        for (int h = 0; h < HANDS; h++) {
+            handValues[h] = immediateValue(usedMask, upperScore, h, bestImmediateCombo(usedMask, upperScore, h));
+        }
+
+        int combo = bestImmediateCombo(usedMask, upperScore, handIndex);
+        int keptHand = CombinationRegistry.handAt(handIndex);
+        if (rollsLeft > 0) {
+            double[] keepValues = new double[RerollTable.KEEP_COUNT];
+            table.expectedValues(handValues, keepValues);
+            if (rollsLeft > 1) {
+                double[] oneRollValues = new double[HANDS];
+                table.bestKeepValues(keepValues, oneRollValues);
+                table.expectedValues(oneRollValues, keepValues);
+            }
+            keptHand = table.keptHand(table.bestKeep(handIndex, keepValues));
+        }
+        return new Advice(keptHand, combo, false, Double.NaN);
+    }
+
+    private static int bestImmediateCombo(int usedMask, int upperScore, int handIndex) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int combo = 0; combo < COMBOS; combo++) {
+            if ((usedMask & (1 << combo)) == 0) {
+                double value = immediateValue(usedMask, upperScore, handIndex, combo);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = combo;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static double immediateValue(int usedMask, int upperScore, int handIndex, int combo) {
+        int points = CombinationRegistry.points(handIndex, combo);
+        if (combo < CombinationRegistry.FACE_COUNT) {
+            points += RULES.upperBonus(upperScore + points, upperScore >= UPPER_CAP);
+        }
+        return points;
+    }
+
+    /**
+     * Stops all background work.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * A suggested move: which dice to keep and which combination to score.
+     */
+    public static final class Advice {
+        private final int keptHand;
+        private final int comboIndex;
+        private final boolean optimal;
+        private final double expectedFinalScore;
+
+        Advice(int keptHand, int comboIndex, boolean optimal, double expectedFinalScore) {
+            this.keptHand = keptHand;
+            this.comboIndex = comboIndex;
+            this.optimal = optimal;
+            this.expectedFinalScore = expectedFinalScore;
+        }
+
+        /**
+         * Gets this advice with the given points added to the expected score.
+         */
+        Advice plus(int points) {
+            return optimal ? new Advice(keptHand, comboIndex, true, expectedFinalScore + points) : this;
+        }
+
+        /**
+         * Gets the dice to keep. When it equals the whole hand, the player should stop
+         * rolling and score {@link #getComboIndex()}.
+         *
+         * @return the packed hand of dice to keep (see {@link DiceHand})
+         */
+        public int getKeptHand() {
+            return keptHand;
+        }
+
+        /**
+         * Gets the combination to score if the turn ends with the current hand.
+         *
+         * @return the combination index (0-12)
+         */
+        public int getComboIndex() {
+            return comboIndex;
+        }
+
+        /**
+         * Indicates whether the advice comes from the solved optimal strategy rather than
+         * the one-turn estimate.
+         *
+         * @return true for exact advice
+         */
+        public boolean isOptimal() {
+            return optimal;
+        }
+
+        /**
+         * Gets the expected final score of the player when making the advised move with
+         * the current hand and playing optimally from then on.
+         *
+         * @return the expected final score, or NaN for estimated advice
+         */
+        public double getExpectedFinalScore() {
+            return expectedFinalScore;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.ssander.yahtzee.solver;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.player.Player;
+
+/**
+ * Solved expected-score-maximizing strategy for solitaire Yahtzee, produced by
+ * {@link StrategySolver}. Only the value of each state between turns is stored;
+ * decisions inside a turn are recomputed on demand from those values, which takes
+ * well under a millisecond. Instances are immutable and safe to share between threads.
+ *
+ * <p>The scratch buffers of those recomputations live in {@link TurnEvaluator}s, which
+ * are borrowed from a small pool for each decision and handed back afterwards. Unlike a
+ * thread-local evaluator, pooled ones survive callers that run every request on a fresh
+ * (virtual) thread, such as {@link MoveAdvisor}. The pool holds at most two evaluators
+ * per core; more concurrent callers create extra ones that are dropped when returned.</p>
+ */
+public class OptimalStrategy {
+    private final double[] values;
+    private final long solveTimeNanos;
+    private final AtomicReferenceArray<TurnEvaluator> idleEvaluators =
+            new AtomicReferenceArray<>(2 * Runtime.getRuntime().availableProcessors());
+
+    OptimalStrategy(double[] values, long solveTimeNanos) {
+        this.values = values;
+        this.solveTimeNanos = solveTimeNanos;
+    }
+
+    /**
+     * Gets the solved state values, indexed by {@link StrategySolver#stateIndex(int, int)}.
+     * The array is shared, not copied; callers must not modify it.
+     *
+     * @return the state values
+     */
+    double[] values() {
+        return values;
+    }
+
+    /**
+     * Gets the expected final score of a new game played with this strategy.
+     *
+     * @return the expected score from an empty score sheet
+     */
+    public double getExpectedScore() {
+        return values[StrategySolver.stateIndex(0, 0)];
+    }
+
+    /**
+     * Gets the wall time it took to solve the strategy.
+     *
+     * @return the solve time in nanoseconds
+     */
+    public long getSolveTimeNanos() {
+        return solveTimeNanos;
+    }
+
+    /**
+     * Gets the expected score still to be earned from a state between turns,
+     * including any upper section bonus not yet awarded.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @return the expected remaining score
+     */
+    public double expectedRemainingScore(int usedMask, int upperScore) {
+        return values[StrategySolver.stateIndex(usedMask, cappedUpper(upperScore))];
+    }
+
+    /**
+     * Gets the expected final score of a player who is between turns.
+     *
+     * @param player the player whose score sheet is evaluated
+     * @return the current total plus the expected remaining score
+     */
+    public double expectedFinalScore(Player player) {
+        return player.getTotalScore() + expectedRemainingScore(player.getUsedCombosMask(), player.getUpperSectionScore());
+    }
+
+    /**
+     * Chooses which dice to keep before the next reroll.
+     * Keeping every die means the player should stop rolling.
+     *
+     * @param player the player taking the turn
+     * @param hand the current packed dice hand (see {@link DiceHand})
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the packed hand of dice to keep
+     */
+    public int bestKeep(Player player, int hand, int rollsLeft) {
+        return bestKeep(player.getUsedCombosMask(), player.getUpperSectionScore(), hand, rollsLeft);
+    }
+
+    /**
+     * Chooses which dice to keep before the next reroll, for a score sheet given as a state.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @param hand the current packed dice hand (see {@link DiceHand})
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the packed hand of dice to keep
+     */
+    public int bestKeep(int usedMask, int upperScore, int hand, int rollsLeft) {
+        TurnEvaluator evaluator = borrowEvaluator();
+        try {
+            int keep = evaluator.bestKeep(usedMask, cappedUpper(upperScore), CombinationRegistry.handIndex(hand),
+                    rollsLeft);
+            return RerollTable.INSTANCE.keptHand(keep);
+        } finally {
+            returnEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Chooses the combination to score with the final hand of a turn.
+     *
+     * @param player the player taking the turn
+     * @param hand the final packed dice hand (see {@link DiceHand})
+     * @return the index of the combination to score (0-12)
+     */
+    public int bestCombination(Player player, int hand) {
+        return bestCombination(player.getUsedCombosMask(), player.getUpperSectionScore(), hand);
+    }
+
+    /**
+     * Chooses the combination to score with the final hand of a turn, for a score sheet
+     * given as a state.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @param hand the final packed dice hand (see {@link DiceHand})
+     * @return the index of the combination to score (0-12)
+     */
+    public int bestCombination(int usedMask, int upperScore, int hand) {
+        TurnEvaluator evaluator = borrowEvaluator();
+        try {
+            return evaluator.bestCombination(usedMask, cappedUpper(upperScore), CombinationRegistry.handIndex(hand));
+        } finally {
+            returnEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Gets the expected score still to be earned with optimal play after keeping some dice,
+     * e.g. to rate the keeps of another strategy.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @param keptHand the packed hand of kept dice (see {@link DiceHand})
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the expected remaining score after the keep
+     */
+    public double keepValue(int usedMask, int upperScore, int keptHand, int rollsLeft) {
+        TurnEvaluator evaluator = borrowEvaluator();
+        try {
+            return evaluator.keepValue(usedMask, cappedUpper(upperScore), RerollTable.keepIndex(keptHand), rollsLeft);
+        } finally {
+            returnEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Gets the expected score still to be earned with optimal play after scoring a hand in
+     * a combination, including its points and any bonus this triggers.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @param hand the final packed dice hand (see {@link DiceHand})
+     * @param combo the combination index
+     * @return the expected remaining score when scoring this combination
+     */
+    public double combinationValue(int usedMask, int upperScore, int hand, int combo) {
+        TurnEvaluator evaluator = borrowEvaluator();
+        try {
+            return evaluator.scoreValue(usedMask, cappedUpper(upperScore), CombinationRegistry.handIndex(hand), combo);
+        } finally {
+            returnEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Takes an idle evaluator from the pool, or creates one if all are in use. The scan
+     * starts at a slot picked by the thread id, so concurrent callers mostly touch
+     * different slots.
+     */
+    private TurnEvaluator borrowEvaluator() {
+        int slots = idleEvaluators.length();
+        int start = (int) (Thread.currentThread().threadId() % slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = start + i < slots ? start + i : start + i - slots;
+            if (idleEvaluators.getPlain(slot) != null) {
+                TurnEvaluator evaluator = idleEvaluators.getAndSet(slot, null);
+                if (evaluator != null) {
+                    return evaluator;
+                }
+            }
+        }
+        return new TurnEvaluator(values);
+    }
+
+    /**
+     * Puts an evaluator back into the first free slot, or drops it if the pool is full.
+     */
+    private void returnEvaluator(TurnEvaluator evaluator) {
+        int slots = idleEvaluators.length();
+        int start = (int) (Thread.currentThread().threadId() % slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = start + i < slots ? start + i : start + i - slots;
+            if (idleEvaluators.compareAndSet(slot, null, evaluator)) {
+                return;
+            }
+        }
+    }
+
+    private static int cappedUpper(int upperScore) {
+        return Math.min(upperScore, CombinationRegistry.UPPER_BONUS_THRESHOLD);
+    }
+}
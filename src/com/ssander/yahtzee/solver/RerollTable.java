@@ -0,0 +1,346 @@
+package com.ssander.yahtzee.solver;
+
+import com.ssander.yahtzee.combos.DiceHand;
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Precomputed reroll transitions for five six-sided dice.
+ * Every kept sub-multiset of dice (462 in total, from keeping nothing to keeping all
+ * five) is mapped to the distribution of five-dice hands reachable by rerolling the
+ * remaining dice. Everything is stored in flat primitive arrays so the solver can
+ * sweep expectations without touching any objects.
+ *
+ * <p>Hands are identified by their canonical index (see
+ * {@link CombinationRegistry#handIndex(int)}), keeps by their keep index (see
+ * {@link #keepIndex(int)}). The table is immutable and safe to share between threads;
+ * per-hand and per-keep values are passed in as plain {@code double} arrays.</p>
+ */
+public final class RerollTable {
+    /** Number of distinct kept sub-multisets of zero to five dice. */
+    public static final int KEEP_COUNT = 462;
+
+    private static final int DICE = CombinationRegistry.DICE_COUNT;
+    private static final int FACES = CombinationRegistry.FACE_COUNT;
+    private static final int HANDS = CombinationRegistry.HAND_COUNT;
+
+    /** BINOMIAL[n][k] = n choose k for ranking kept multisets. */
+    private static final int[][] BINOMIAL = new int[FACES + DICE + 1][DICE + 2];
+    /** KEEP_OFFSETS[n] = index of the first kept multiset with n dice. */
+    private static final int[] KEEP_OFFSETS = new int[DICE + 2];
+
+    static {
+        for (int n = 0; n < BINOMIAL.length; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, DICE + 1); k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k < n ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+        for (int n = 0; n <= DICE; n++) {
+            KEEP_OFFSETS[n + 1] = KEEP_OFFSETS[n] + BINOMIAL[n + FACES - 1][FACES - 1];
+        }
+    }
+
+    /** Shared table, built on first use. */
+    static final RerollTable INSTANCE = new RerollTable();
+
+    /**
+     * Gets the shared table.
+     *
+     * @return the reroll table
+     */
+    public static RerollTable getInstance() {
+        return INSTANCE;
+    }
+
+    /** Packed hand of the dice kept for each keep index. */
+    final int[] keepHands = new int[KEEP_COUNT];
+    /** Outcomes of keep {@code k} live in {@code [outcomeOffsets[k], outcomeOffsets[k + 1])}. */
+    final int[] outcomeOffsets = new int[KEEP_COUNT + 1];
+    /** Canonical index of the resulting five-dice hand for each outcome. */
+    final short[] outcomeHands;
+    /** Probability of each outcome. */
+    final double[] outcomeProbabilities;
+    /** Keeps available from hand {@code h} live in {@code [subKeepOffsets[h], subKeepOffsets[h + 1])}. */
+    final int[] subKeepOffsets = new int[HANDS + 1];
+    /** Keep indices that are sub-multisets of each hand, largest keep (keep everything) first. */
+    final short[] subKeeps;
+
+    private RerollTable() {
+        int outcomeCount = 0;
+        for (int size = 0; size <= DICE; size++) {
+            enumerate(size, 1, DiceHand.EMPTY);
+            outcomeCount += (KEEP_OFFSETS[size + 1] - KEEP_OFFSETS[size])
+                    * (KEEP_OFFSETS[DICE - size + 1] - KEEP_OFFSETS[DICE - size]);
+        }
+
+        outcomeHands = new short[outcomeCount];
+        outcomeProbabilities = new double[outcomeCount];
+        int cursor = 0;
+        for (int keep = 0; keep < KEEP_COUNT; keep++) {
+            outcomeOffsets[keep] = cursor;
+            int kept = keepHands[keep];
+            int rerolled = DICE - DiceHand.size(kept);
+            double total = Math.pow(FACES, rerolled);
+            for (int rolled = KEEP_OFFSETS[rerolled]; rolled < KEEP_OFFSETS[rerolled + 1]; rolled++) {
+                int rolledHand = keepHands[rolled];
+                outcomeHands[cursor] = (short) CombinationRegistry.handIndex(kept + rolledHand);
+                outcomeProbabilities[cursor] = arrangements(rolledHand) / total;
+                cursor++;
+            }
+        }
+        outcomeOffsets[KEEP_COUNT] = cursor;
+
+        int subKeepCount = 0;
+        for (int hand = 0; hand < HANDS; hand++) {
+            int packed = CombinationRegistry.handAt(hand);
+            int variants = 1;
+            for (int face = 1; face <= FACES; face++) {
+                variants *= DiceHand.count(packed, face) + 1;
+            }
+            subKeepCount += variants;
+        }
+        subKeeps = new short[subKeepCount];
+        cursor = 0;
+        for (int hand = 0; hand < HANDS; hand++) {
+            subKeepOffsets[hand] = cursor;
+            int packed = CombinationRegistry.handAt(hand);
+            for (int size = DICE; size >= 0; size--) {
+                for (int keep = KEEP_OFFSETS[size]; keep < KEEP_OFFSETS[size + 1]; keep++) {
+                    if (isSubHand(keepHands[keep], packed)) {
+                        subKeeps[cursor++] = (short) keep;
+                    }
+                }
+            }
+        }
+        subKeepOffsets[HANDS] = cursor;
+    }
+
+    /**
+     * Maps a packed hand of zero to five dice to its keep index.
+     * Keeps are grouped by size and ranked within each group in the
+     * combinatorial number system.
+     *
+     * @param keptHand the packed hand of kept dice (see {@link DiceHand})
+     * @return the keep index (0-461)
+     */
+    public static int keepIndex(int keptHand) {
+        int rank = 0;
+        int position = 0;
+        int face = 0;
+        for (int rest = keptHand; rest != 0; rest >>>= 3, face++) {
+            for (int count = rest & 0b111; count > 0; count--) {
+                rank += BINOMIAL[face + position][position + 1];
+                position++;
+            }
+        }
+        return KEEP_OFFSETS[position] + rank;
+    }
+
+    /**
+     * Gets the dice kept by a keep.
+     *
+     * @param keep the keep index
+     * @return the packed hand of kept dice (see {@link DiceHand})
+     */
+    public int keptHand(int keep) {
+        return keepHands[keep];
+    }
+
+    /**
+     * Gets the number of distinct hands a keep can lead to.
+     *
+     * @param keep the keep index
+     * @return the number of outcomes (1 when all five dice are kept)
+     */
+    public int outcomeCount(int keep) {
+        return outcomeOffsets[keep + 1] - outcomeOffsets[keep];
+    }
+
+    /**
+     * Creates a reusable cursor over the outcomes of any keep.
+     *
+     * @return a new outcome cursor
+     */
+    public OutcomeCursor outcomes() {
+        return new OutcomeCursor();
+    }
+
+    /**
+     * Computes the expected hand value after rerolling the dice not kept.
+     *
+     * @param keep the keep index
+     * @param handValues a value per canonical hand index
+     * @return the probability-weighted mean value of the resulting hands
+     */
+    public double expectedValue(int keep, double[] handValues) {
+        double sum = 0;
+        for (int i = outcomeOffsets[keep]; i < outcomeOffsets[keep + 1]; i++) {
+            sum += outcomeProbabilities[i] * handValues[outcomeHands[i]];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the expected value of every keep at once.
+     *
+     * @param handValues a value per canonical hand index
+     * @param keepValues receives the expected value per keep index
+     */
+    public void expectedValues(double[] handValues, double[] keepValues) {
+        for (int keep = 0; keep < KEEP_COUNT; keep++) {
+            keepValues[keep] = expectedValue(keep, handValues);
+        }
+    }
+
+    /**
+     * Finds the best keep for a hand among all of its kept sub-multisets.
+     * Ties go to the keep with more dice.
+     *
+     * @param handIndex the canonical index of the hand
+     * @param keepValues a value per keep index
+     * @return the keep index with the highest value
+     */
+    public int bestKeep(int handIndex, double[] keepValues) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = subKeepOffsets[handIndex]; i < subKeepOffsets[handIndex + 1]; i++) {
+            int keep = subKeeps[i];
+            if (keepValues[keep] > bestValue) {
+                bestValue = keepValues[keep];
+                best = keep;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Computes the value of every hand when its best keep is chosen.
+     *
+     * @param keepValues a value per keep index
+     * @param handValues receives the best keep value per canonical hand index
+     */
+    public void bestKeepValues(double[] keepValues, double[] handValues) {
+        for (int hand = 0; hand < HANDS; hand++) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (int i = subKeepOffsets[hand]; i < subKeepOffsets[hand + 1]; i++) {
+                best = Math.max(best, keepValues[subKeeps[i]]);
+            }
+            handValues[hand] = best;
+        }
+    }
+
+    /**
+     * Allocation-free iterator over the outcomes of one keep.
+     * Select a keep, then call {@link #next()} until it returns false:
+     * <pre>{@code
+     * cursor.select(keep);
+     * while (cursor.next()) {
+     *     sum += cursor.probability() * values[cursor.handIndex()];
+     * }
+     * }</pre>
+     * A cursor can be reused for any number of keeps but not shared between threads.
+     */
+    public final class OutcomeCursor {
+        private int position;
+        private int end;
+
+        private OutcomeCursor() {
+        }
+
+        /**
+         * Positions the cursor before the first outcome of a keep.
+         *
+         * @param keep the keep index
+         * @return this cursor
+         */
+        public OutcomeCursor select(int keep) {
+            position = outcomeOffsets[keep] - 1;
+            end = outcomeOffsets[keep + 1];
+            return this;
+        }
+
+        /**
+         * Advances to the next outcome.
+         *
+         * @return true if there is a current outcome, false once all were visited
+         */
+        public boolean next() {
+            return ++position < end;
+        }
+
+        /**
+         * Gets the canonical index of the current resulting hand.
+         *
+         * @return the hand index
+         */
+        public int handIndex() {
+            return outcomeHands[position];
+        }
+
+        /**
+         * Gets the current resulting hand.
+         *
+         * @return the packed hand (see {@link DiceHand})
+         */
+        public int hand() {
+            return CombinationRegistry.handAt(outcomeHands[position]);
+        }
+
+        /**
+         * Gets the probability of the current resulting hand.
+         *
+         * @return the probability (0-1)
+         */
+        public double probability() {
+            return outcomeProbabilities[position];
+        }
+    }
+
+    /**
+     * Stores every multiset of {@code remaining} more dice (faces {@code face} and up)
+     * at its keep index.
+     */
+    private void enumerate(int remaining, int face, int hand) {
+        if (face == FACES) {
+            int complete = hand;
+            for (int i = 0; i < remaining; i++) {
+                complete = DiceHand.withDie(complete, face);
+            }
+            keepHands[keepIndex(complete)] = complete;
+            return;
+        }
+        int current = hand;
+        for (int count = 0; count <= remaining; count++) {
+            enumerate(remaining - count, face + 1, current);
+            current = DiceHand.withDie(current, face);
+        }
+    }
+
+    private static boolean isSubHand(int kept, int hand) {
+        for (int face = 1; face <= FACES; face++) {
+            if (DiceHand.count(kept, face) > DiceHand.count(hand, face)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the ordered rolls that produce a given multiset of dice.
+     */
+    private static int arrangements(int hand) {
+        int result = factorial(DiceHand.size(hand));
+        for (int face = 1; face <= FACES; face++) {
+            result /= factorial(DiceHand.count(hand, face));
+        }
+        return result;
+    }
+
+    private static int factorial(int n) {
+        int result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+}
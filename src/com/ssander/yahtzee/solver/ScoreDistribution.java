@@ -0,0 +1,160 @@
+package com.ssander.yahtzee.solver;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Distribution of the score still to be earned from every solitaire state when the rest
+ * of the game is played by an {@link OptimalStrategy}.
+ *
+ * <p>The mean and variance are known for every state: the means are the solved state
+ * values, and the second moments are computed by a second backward pass over the same
+ * layers that replays the strategy's decisions, split across a fork-join pool like the
+ * solver itself. Near the end of a game the remaining score is far from normally
+ * distributed (with only Yahtzee left it is 0 or 50), so for states with at most
+ * {@link #EXACT_OPEN} open combinations the exact distribution is computed as well, by a
+ * third pass that mixes whole histograms instead of single numbers.</p>
+ *
+ * <p>The spread matters when playing against an opponent: a player who is behind needs
+ * a chance of a high score, not the best average. Instances are immutable and safe to
+ * share between threads.</p>
+ */
+public final class ScoreDistribution {
+    /** States with at most this many open combinations have an exact distribution. */
+    public static final int EXACT_OPEN = 2;
+    /** Scores covered by each exact distribution (0 up to this bound, exclusive). */
+    static final int EXACT_BINS = 128;
+
+    private final double[] means;
+    private final double[] secondMoments;
+    private final double[][] histograms;
+    private final long computeTimeNanos;
+
+    private ScoreDistribution(double[] means, double[] secondMoments, double[][] histograms, long computeTimeNanos) {
+        this.means = means;
+        this.secondMoments = secondMoments;
+        this.histograms = histograms;
+        this.computeTimeNanos = computeTimeNanos;
+    }
+
+    /**
+     * Computes the score distribution of every reachable state.
+     *
+     * @param strategy the solved strategy that plays the rest of each game
+     * @param pool the fork-join pool each layer is spread across
+     * @return the score distributions
+     */
+    public static ScoreDistribution compute(OptimalStrategy strategy, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "Pool must not be null");
+        long start = System.nanoTime();
+        double[] means = strategy.values();
+        double[] moments = new double[means.length];
+        int[][] layers = StrategySolver.layers();
+
+        ThreadLocal<TurnEvaluator> evaluators = ThreadLocal.withInitial(() -> new TurnEvaluator(means));
+        for (int filled = CombinationRegistry.COMBO_COUNT - 1; filled >= 0; filled--) {
+            int[] states = layers[filled];
+            pool.invoke(new StrategySolver.LayerTask(states, 0, states.length, moments, evaluators,
+                    (evaluator, usedMask, upperScore) -> evaluator.evaluateSecondMoment(usedMask, upperScore, moments)));
+        }
+
+        double[][] histograms = new double[means.length][];
+        double[] histogramMeans = new double[means.length];
+        for (int filled = CombinationRegistry.COMBO_COUNT - 1; filled >= CombinationRegistry.COMBO_COUNT - EXACT_OPEN;
+             filled--) {
+            int[] states = layers[filled];
+            pool.invoke(new StrategySolver.LayerTask(states, 0, states.length, histogramMeans, evaluators,
+                    (evaluator, usedMask, upperScore) -> {
+                        double[] histogram = evaluator.evaluateHistogram(usedMask, upperScore, histograms, EXACT_BINS);
+                        histograms[StrategySolver.stateIndex(usedMask, upperScore)] = histogram;
+                        return mean(histogram);
+                    }));
+            for (int state : states) {
+                if (Math.abs(histogramMeans[state] - means[state]) > 1e-6) {
+                    throw new IllegalStateException("Score distribution does not match the solved mean of state " + state);
+                }
+            }
+        }
+        return new ScoreDistribution(means, moments, histograms, System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the expected score still to be earned from a state between turns,
+     * including any upper section bonus not yet awarded.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @return the expected remaining score
+     */
+    public double getMean(int usedMask, int upperScore) {
+        return means[state(usedMask, upperScore)];
+    }
+
+    /**
+     * Gets the variance of the score still to be earned from a state between turns.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @return the variance of the remaining score
+     */
+    public double getVariance(int usedMask, int upperScore) {
+        int state = state(usedMask, upperScore);
+        return Math.max(0, secondMoments[state] - means[state] * means[state]);
+    }
+
+    /**
+     * Gets the exact distribution of the score still to be earned from a state between
+     * turns, if it is known. The array is shared, not copied; callers must not modify it.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total (values above 63 are capped)
+     * @return the probability of each remaining score from 0 to {@code EXACT_BINS - 1},
+     *         or null if the state has more than {@link #EXACT_OPEN} open combinations
+     *         or none at all
+     */
+    double[] histogram(int usedMask, int upperScore) {
+        return histograms[state(usedMask, upperScore)];
+    }
+
+    /**
+     * Gets the wall time the backward passes took.
+     *
+     * @return the computation time in nanoseconds
+     */
+    public long getComputeTimeNanos() {
+        return computeTimeNanos;
+    }
+
+    private static double mean(double[] histogram) {
+        double mean = 0;
+        for (int points = 0; points < histogram.length; points++) {
+            mean += points * histogram[points];
+        }
+        return mean;
+    }
+
+    private static int state(int usedMask, int upperScore) {
+        return StrategySolver.stateIndex(usedMask, Math.min(upperScore, CombinationRegistry.UPPER_BONUS_THRESHOLD));
+    }
+
+    /**
+     * Computes the distributions on all available cores and prints the mean and standard
+     * deviation of a whole game.
+     *
+     * @param args command line arguments (not used)
+     */
+    public static void main(String[] args) {
+        OptimalStrategy strategy = StrategyCache.loadOrSolve(StrategyCache.defaultFile(), new StrategySolver());
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            ScoreDistribution distribution = compute(strategy, pool);
+            System.out.printf("Final score with optimal play: mean %.4f, standard deviation %.4f (%,d ms)%n",
+                    distribution.getMean(0, 0), Math.sqrt(distribution.getVariance(0, 0)),
+                    distribution.getComputeTimeNanos() / 1_000_000);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
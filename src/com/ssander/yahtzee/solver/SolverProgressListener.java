@@ -0,0 +1,18 @@
+package com.ssander.yahtzee.solver;
+
+/**
+ * Receives progress updates from {@link StrategySolver} as each layer of states is solved.
+ */
+@FunctionalInterface
+public interface SolverProgressListener {
+    /**
+     * Called after all states with the given number of filled combinations are solved.
+     *
+     * @param filledCombos the number of scored combinations shared by the layer's states
+     * @param layerStates how many reachable states the layer contained
+     * @param solvedStates how many states have been solved so far, including this layer
+     * @param totalStates how many reachable states there are in total
+     * @param elapsedNanos wall time since the solve started
+     */
+    void layerSolved(int filledCombos, int layerStates, int solvedStates, int totalStates, long elapsedNanos);
+}
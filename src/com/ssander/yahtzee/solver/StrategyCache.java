@@ -0,0 +1,204 @@
+package com.ssander.yahtzee.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * On-disk cache of the solved {@link OptimalStrategy}, so short-lived processes do not
+ * have to solve the game again on every start.
+ *
+ * <p>The file is a 32-byte little-endian header followed by the state values as
+ * doubles:</p>
+ * <pre>
+ *  0  int    magic ("YZSC")
+ *  4  int    format version
+ *  8  int    rules fingerprint (CRC32C of the combination score tables)
+ * 12  int    number of state values
+ * 16  int    CRC32C of the state values
+ * 20  int    reserved (0)
+ * 24  long   original solve time in nanoseconds
+ * 32  double state values, indexed like {@link StrategySolver}
+ * </pre>
+ *
+ * <p>Loading memory-maps the file read-only. The header is checked first, so a cache
+ * written for other rules or by another format version is rejected without reading
+ * the values; only a current header leads to the checksum pass over the mapped values.
+ * A missing, stale or corrupt cache is simply solved again and replaced. Files are
+ * written to a temporary file and moved into place, so concurrent processes never
+ * see a half-written cache.</p>
+ */
+public final class StrategyCache {
+    /** Magic number at the start of every cache file ("YZSC" in ASCII). */
+    static final int MAGIC = 0x4353_5A59;
+    /** Format version; bump whenever the layout or the state indexing changes. */
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    /** Fingerprint of the scoring rules the strategy was solved for. */
+    private static final int RULES_FINGERPRINT = rulesFingerprint();
+
+    private StrategyCache() {
+        // Utility class
+    }
+
+    /**
+     * Gets the default cache location: the {@code yahtzee.strategyCache} system property
+     * if set, otherwise {@code .yahtzee/strategy.cache} in the user's home directory.
+     *
+     * @return the default cache file
+     */
+    public static Path defaultFile() {
+        String configured = System.getProperty("yahtzee.strategyCache");
+        if (configured != null) {
+            return Path.of(configured);
+        }
+        return Path.of(System.getProperty("user.home"), ".yahtzee", "strategy.cache");
+    }
+
+    /**
+     * Loads the cached strategy, or solves it and writes the cache if the file is
+     * missing, stale or corrupt. Failing to write the cache is not an error; the
+     * solved strategy is returned either way.
+     *
+     * @param file the cache file
+     * @param solver the solver used on a cache miss
+     * @return the strategy
+     */
+    public static OptimalStrategy loadOrSolve(Path file, StrategySolver solver) {
+        OptimalStrategy cached = load(file);
+        if (cached != null) {
+            return cached;
+        }
+        OptimalStrategy solved = solver.solve();
+        try {
+            save(solved, file);
+        } catch (IOException e) {
+            // The cache is only an optimization; the next start solves again
+        }
+        return solved;
+    }
+
+    /**
+     * Loads a cached strategy.
+     *
+     * @param file the cache file
+     * @return the strategy, or null if the file is missing, unreadable, stale or corrupt
+     */
+    public static OptimalStrategy load(Path file) {
+        int valueCount = StrategySolver.MASK_STATES * StrategySolver.UPPER_STATES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_BYTES + (long) valueCount * Double.BYTES) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                    || mapped.getInt(8) != RULES_FINGERPRINT || mapped.getInt(12) != valueCount) {
+                return null;
+            }
+
+            ByteBuffer payload = mapped.slice(HEADER_BYTES, valueCount * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != mapped.getInt(16)) {
+                return null;
+            }
+            double[] values = new double[valueCount];
+            payload.asDoubleBuffer().get(values);
+            return new OptimalStrategy(values, mapped.getLong(24));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a strategy to a cache file, replacing any existing file.
+     *
+     * @param strategy the strategy to store
+     * @param file the cache file
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(OptimalStrategy strategy, Path file) throws IOException {
+        Objects.requireNonNull(strategy, "Strategy must not be null");
+        double[] values = strategy.values();
+        ByteBuffer payload = ByteBuffer.allocateDirect(values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        payload.asDoubleBuffer().put(values);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RULES_FINGERPRINT).putInt(values.length)
+                .putInt((int) crc.getValue()).putInt(0).putLong(strategy.getSolveTimeNanos()).flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (payload.hasRemaining()) {
+                    channel.write(payload);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Checksums everything the solved values depend on: the dimensions of the game, the
+     * bonus rule, and the points and possibility of every combination for every hand.
+     * Any change to the combination rules changes the fingerprint and invalidates caches.
+     */
+    private static int rulesFingerprint() {
+        ByteBuffer rules = ByteBuffer.allocate(6 * Integer.BYTES
+                + CombinationRegistry.HAND_COUNT * (2 + CombinationRegistry.COMBO_COUNT) * Integer.BYTES);
+        rules.putInt(CombinationRegistry.DICE_COUNT).putInt(CombinationRegistry.FACE_COUNT)
+                .putInt(CombinationRegistry.COMBO_COUNT).putInt(CombinationRegistry.HAND_COUNT)
+                .putInt(CombinationRegistry.UPPER_BONUS_THRESHOLD).putInt(CombinationRegistry.UPPER_BONUS_POINTS);
+        for (int hand = 0; hand < CombinationRegistry.HAND_COUNT; hand++) {
+            rules.putInt(CombinationRegistry.handAt(hand)).putInt(CombinationRegistry.possibleMask(hand));
+            for (int combo = 0; combo < CombinationRegistry.COMBO_COUNT; combo++) {
+                rules.putInt(CombinationRegistry.points(hand, combo));
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(rules.flip());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Loads the strategy from a cache file, solving and writing it first if needed, and
+     * prints how long this process took to get the strategy.
+     * Usage: {@code StrategyCache [cache file]}; run it twice to compare a cold start with
+     * a warm one.
+     *
+     * @param args optional cache file (defaults to {@link #defaultFile()})
+     */
+    public static void main(String[] args) {
+        Path file = args.length > 0 ? Path.of(args[0]) : defaultFile();
+        long start = System.nanoTime();
+        OptimalStrategy cached = load(file);
+        OptimalStrategy strategy = cached != null ? cached : loadOrSolve(file, new StrategySolver());
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s %s in %,.1f ms | expected score %.4f | %,d bytes%n",
+                cached != null ? "Warm start: loaded" : "Cold start: solved and cached", file,
+                elapsed / 1e6, strategy.getExpectedScore(),
+                HEADER_BYTES + (long) StrategySolver.MASK_STATES * StrategySolver.UPPER_STATES * Double.BYTES);
+    }
+}
@@ -0,0 +1,218 @@
+package com.ssander.yahtzee.solver;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+
+/**
+ * Computes the expected-score-maximizing strategy for solitaire Yahtzee.
+ *
+ * <p>A game state between turns is the mask of scored combinations plus the upper
+ * section total capped at the bonus threshold, since nothing above 63 changes the
+ * outcome. States are solved in layers, from twelve filled combinations down to an
+ * empty score sheet, because every turn fills exactly one combination and therefore
+ * only depends on the previous layer. Each layer is split across a fork-join pool.</p>
+ */
+public class StrategySolver {
+    /** Number of distinct capped upper section totals (0-63). */
+    static final int UPPER_STATES = CombinationRegistry.UPPER_BONUS_THRESHOLD + 1;
+    /** Number of distinct combination masks. */
+    static final int MASK_STATES = 1 << CombinationRegistry.COMBO_COUNT;
+
+    private static final int UPPER_COMBOS_MASK = (1 << CombinationRegistry.FACE_COUNT) - 1;
+    private static final int STATES_PER_TASK = 16;
+
+    private final ForkJoinPool pool;
+    private final SolverProgressListener listener;
+
+    /**
+     * Constructs a solver running on the common fork-join pool without progress reports.
+     */
+    public StrategySolver() {
+        this(ForkJoinPool.commonPool(), (filled, layer, solved, total, elapsed) -> { });
+    }
+
+    /**
+     * Constructs a solver on the given pool.
+     *
+     * @param pool the fork-join pool each layer is spread across
+     * @param listener receives an update after every solved layer
+     */
+    public StrategySolver(ForkJoinPool pool, SolverProgressListener listener) {
+        this.pool = Objects.requireNonNull(pool, "Pool must not be null");
+        this.listener = Objects.requireNonNull(listener, "Listener must not be null");
+    }
+
+    /**
+     * Solves every reachable state.
+     *
+     * @return the solved strategy
+     */
+    public OptimalStrategy solve() {
+        long start = System.nanoTime();
+        double[] values = new double[MASK_STATES * UPPER_STATES];
+        int[][] layers = layers();
+        int totalStates = 0;
+        for (int[] layer : layers) {
+            totalStates += layer.length;
+        }
+
+        ThreadLocal<TurnEvaluator> evaluators = ThreadLocal.withInitial(() -> new TurnEvaluator(values));
+        int solvedStates = 0;
+        for (int filled = CombinationRegistry.COMBO_COUNT - 1; filled >= 0; filled--) {
+            int[] states = layers[filled];
+            pool.invoke(new LayerTask(states, 0, states.length, values, evaluators, TurnEvaluator::evaluate));
+            solvedStates += states.length;
+            listener.layerSolved(filled, states.length, solvedStates, totalStates, System.nanoTime() - start);
+        }
+
+        return new OptimalStrategy(values, System.nanoTime() - start);
+    }
+
+    /**
+     * Maps a state to its slot in the value table.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @return the value table index
+     */
+    static int stateIndex(int usedMask, int upperScore) {
+        return usedMask * UPPER_STATES + upperScore;
+    }
+
+    /**
+     * Collects the reachable states of every layer, indexed by the number of filled
+     * combinations (0-12) and encoded as {@link #stateIndex(int, int)}.
+     *
+     * @return the states of each layer
+     */
+    static int[][] layers() {
+        long[] reachableUpper = reachableUpperScores();
+        int[][] layers = new int[CombinationRegistry.COMBO_COUNT][];
+        for (int filled = 0; filled < CombinationRegistry.COMBO_COUNT; filled++) {
+            layers[filled] = layerStates(filled, reachableUpper);
+        }
+        return layers;
+    }
+
+    /**
+     * Collects the reachable states with the given number of filled combinations,
+     * encoded as {@link #stateIndex(int, int)}.
+     */
+    private static int[] layerStates(int filled, long[] reachableUpper) {
+        int count = 0;
+        for (int mask = 0; mask < MASK_STATES; mask++) {
+            if (Integer.bitCount(mask) == filled) {
+                count += Long.bitCount(reachableUpper[mask & UPPER_COMBOS_MASK]);
+            }
+        }
+
+        int[] states = new int[count];
+        int cursor = 0;
+        for (int mask = 0; mask < MASK_STATES; mask++) {
+            if (Integer.bitCount(mask) == filled) {
+                long upper = reachableUpper[mask & UPPER_COMBOS_MASK];
+                for (int score = 0; score < UPPER_STATES; score++) {
+                    if ((upper & (1L << score)) != 0) {
+                        states[cursor++] = stateIndex(mask, score);
+                    }
+                }
+            }
+        }
+        return states;
+    }
+
+    /**
+     * For every set of scored upper combinations, computes which capped upper totals
+     * can actually occur, as a 64-bit mask. Unreachable states are skipped by the solver.
+     */
+    private static long[] reachableUpperScores() {
+        long[] reachable = new long[UPPER_COMBOS_MASK + 1];
+        reachable[0] = 1L;
+        for (int mask = 1; mask <= UPPER_COMBOS_MASK; mask++) {
+            int face = Integer.numberOfTrailingZeros(mask) + 1;
+            long previous = reachable[mask & (mask - 1)];
+            long current = 0;
+            for (int score = 0; score < UPPER_STATES; score++) {
+                if ((previous & (1L << score)) != 0) {
+                    for (int count = 0; count <= CombinationRegistry.DICE_COUNT; count++) {
+                        current |= 1L << Math.min(UPPER_STATES - 1, score + count * face);
+                    }
+                }
+            }
+            reachable[mask] = current;
+        }
+        return reachable;
+    }
+
+    /**
+     * Computes one number per state from the values of later layers.
+     */
+    @FunctionalInterface
+    interface StateFunction {
+        double apply(TurnEvaluator evaluator, int usedMask, int upperScore);
+    }
+
+    /**
+     * Computes a slice of one layer, splitting it in halves until it is small enough.
+     */
+    static final class LayerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] states;
+        private final int from;
+        private final int to;
+        private final double[] results;
+        private final transient ThreadLocal<TurnEvaluator> evaluators;
+        private final transient StateFunction function;
+
+        LayerTask(int[] states, int from, int to, double[] results, ThreadLocal<TurnEvaluator> evaluators,
+                  StateFunction function) {
+            this.states = states;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.evaluators = evaluators;
+            this.function = function;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= STATES_PER_TASK) {
+                TurnEvaluator evaluator = evaluators.get();
+                for (int i = from; i < to; i++) {
+                    int state = states[i];
+                    results[state] = function.apply(evaluator, state / UPPER_STATES, state % UPPER_STATES);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LayerTask(states, from, middle, results, evaluators, function),
+                      new LayerTask(states, middle, to, results, evaluators, function));
+        }
+    }
+
+    /**
+     * Solves the game on all available cores and prints progress and timing.
+     *
+     * @param args command line arguments (not used)
+     */
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.println("Solving solitaire Yahtzee on " + threads + " threads...");
+        SolverProgressListener progress = (filled, layer, solved, total, elapsed) ->
+                System.out.printf("Layer %2d filled: %,7d states solved (%,d / %,d) after %,d ms%n",
+                        filled, layer, solved, total, elapsed / 1_000_000);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            OptimalStrategy strategy = new StrategySolver(pool, progress).solve();
+            System.out.printf("Expected score with optimal play: %.4f%n", strategy.getExpectedScore());
+            System.out.printf("Total wall time: %,d ms%n", strategy.getSolveTimeNanos() / 1_000_000);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
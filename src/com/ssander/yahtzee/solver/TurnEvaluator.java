@@ -0,0 +1,303 @@
+package com.ssander.yahtzee.solver;
+
+import java.util.Arrays;
+
+import com.ssander.yahtzee.management.CombinationRegistry;
+import com.ssander.yahtzee.rules.Ruleset;
+
+/**
+ * Evaluates a single turn of solitaire Yahtzee for one (used mask, upper score) state,
+ * given the already solved values of all successor states.
+ * Holds reusable scratch arrays, so an instance must only be used by one thread at a time.
+ */
+final class TurnEvaluator {
+    private static final int HANDS = CombinationRegistry.HAND_COUNT;
+    private static final int COMBOS = CombinationRegistry.COMBO_COUNT;
+    private static final int UPPER_CAP = CombinationRegistry.UPPER_BONUS_THRESHOLD;
+    private static final Ruleset RULES = Ruleset.standard();
+
+    private final RerollTable table = RerollTable.INSTANCE;
+    private final double[] values;
+
+    /** Value of each hand when it must be scored now (no rolls left). */
+    private final double[] scoredValues = new double[HANDS];
+    /** Value of each hand with one roll left. */
+    private final double[] oneRollValues = new double[HANDS];
+    /** Value of each hand with two rolls left. */
+    private final double[] twoRollValues = new double[HANDS];
+    /** Second moment of the score of each hand when it must be scored now. */
+    private final double[] scoredMoments = new double[HANDS];
+    /** Second moment of the score of each hand with one roll left. */
+    private final double[] oneRollMoments = new double[HANDS];
+    /** Second moment of the score of each hand with two rolls left. */
+    private final double[] twoRollMoments = new double[HANDS];
+    /** Second moment of each keep, whichever roll it is made before. */
+    private final double[] keepMoments = new double[RerollTable.KEEP_COUNT];
+    /** Score histograms per hand and per keep, allocated on first use. */
+    private double[] handHistograms;
+    private double[] nextHandHistograms;
+    private double[] keepHistograms;
+    /** Expected value of each keep, before the last roll. */
+    private final double[] lastKeepValues = new double[RerollTable.KEEP_COUNT];
+    /** Expected value of each keep, before the second roll. */
+    private final double[] firstKeepValues = new double[RerollTable.KEEP_COUNT];
+    /** State whose keep values are currently held, or -1 if none. */
+    private int preparedState = -1;
+    /** Whether {@link #firstKeepValues} also belongs to {@link #preparedState}. */
+    private boolean firstKeepsPrepared;
+
+    /**
+     * Creates an evaluator reading successor values from a solved value table.
+     *
+     * @param values solved state values indexed by {@link StrategySolver#stateIndex(int, int)}
+     */
+    TurnEvaluator(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Computes the expected remaining score of a state, assuming all states with
+     * more used combinations are already solved.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @return the expected score still to be earned from this state
+     */
+    double evaluate(int usedMask, int upperScore) {
+        prepareFirstKeeps(usedMask, upperScore);
+        table.bestKeepValues(firstKeepValues, twoRollValues);
+        return table.expectedValue(0, twoRollValues);
+    }
+
+    /**
+     * Computes the second moment (the expected square) of the remaining score of a state
+     * when every decision is made by the solved strategy, assuming the second moments of
+     * all states with more used combinations are already known. Together with the mean
+     * this gives the variance of the final score.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @param moments known second moments indexed by {@link StrategySolver#stateIndex(int, int)}
+     * @return the second moment of the score still to be earned from this state
+     */
+    double evaluateSecondMoment(int usedMask, int upperScore, double[] moments) {
+        prepareFirstKeeps(usedMask, upperScore);
+        for (int hand = 0; hand < HANDS; hand++) {
+            int combo = bestCombination(usedMask, upperScore, hand);
+            int next = nextState(usedMask, upperScore, hand, combo);
+            // (x + R)^2 = x^2 + 2x E[R] + E[R^2] for the points x scored now and the rest R
+            double now = scoreValue(usedMask, upperScore, hand, combo) - values[next];
+            scoredMoments[hand] = now * now + 2 * now * values[next] + moments[next];
+        }
+        table.expectedValues(scoredMoments, keepMoments);
+        for (int hand = 0; hand < HANDS; hand++) {
+            oneRollMoments[hand] = keepMoments[table.bestKeep(hand, lastKeepValues)];
+        }
+        table.expectedValues(oneRollMoments, keepMoments);
+        for (int hand = 0; hand < HANDS; hand++) {
+            twoRollMoments[hand] = keepMoments[table.bestKeep(hand, firstKeepValues)];
+        }
+        return table.expectedValue(0, twoRollMoments);
+    }
+
+    /**
+     * Computes the exact distribution of the remaining score of a state when every
+     * decision is made by the solved strategy, assuming the distributions of all
+     * successor states are already known.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @param histograms known distributions indexed by {@link StrategySolver#stateIndex(int, int)},
+     *        each with {@code bins} probabilities of scoring 0, 1, 2... points; null for a full score sheet
+     * @param bins the number of scores each histogram covers
+     * @return the distribution of the score still to be earned from this state
+     * @throws IllegalStateException if a score does not fit into the histogram
+     */
+    double[] evaluateHistogram(int usedMask, int upperScore, double[][] histograms, int bins) {
+        if (handHistograms == null || handHistograms.length != HANDS * bins) {
+            handHistograms = new double[HANDS * bins];
+            nextHandHistograms = new double[HANDS * bins];
+            keepHistograms = new double[RerollTable.KEEP_COUNT * bins];
+        }
+        prepareFirstKeeps(usedMask, upperScore);
+        Arrays.fill(handHistograms, 0);
+        for (int hand = 0; hand < HANDS; hand++) {
+            int combo = bestCombination(usedMask, upperScore, hand);
+            int next = nextState(usedMask, upperScore, hand, combo);
+            int now = (int) Math.round(scoreValue(usedMask, upperScore, hand, combo) - values[next]);
+            double[] rest = histograms[next];
+            if (rest == null) {
+                checkBin(now, bins);
+                handHistograms[hand * bins + now] = 1;
+            } else {
+                for (int points = 0; points < bins; points++) {
+                    if (rest[points] != 0) {
+                        checkBin(now + points, bins);
+                        handHistograms[hand * bins + now + points] = rest[points];
+                    }
+                }
+            }
+        }
+        keepHistograms(handHistograms, bins);
+        selectKeepHistograms(lastKeepValues, nextHandHistograms, bins);
+        keepHistograms(nextHandHistograms, bins);
+        selectKeepHistograms(firstKeepValues, handHistograms, bins);
+
+        double[] result = new double[bins];
+        for (int i = table.outcomeOffsets[0]; i < table.outcomeOffsets[1]; i++) {
+            double probability = table.outcomeProbabilities[i];
+            int from = table.outcomeHands[i] * bins;
+            for (int points = 0; points < bins; points++) {
+                result[points] += probability * handHistograms[from + points];
+            }
+        }
+        return result;
+    }
+
+    private static void checkBin(int points, int bins) {
+        if (points >= bins) {
+            throw new IllegalStateException("Score of " + points + " does not fit into " + bins + " bins");
+        }
+    }
+
+    /** Mixes the hand histograms into the histogram of every keep, like {@link RerollTable#expectedValues}. */
+    private void keepHistograms(double[] hands, int bins) {
+        Arrays.fill(keepHistograms, 0);
+        for (int keep = 0; keep < RerollTable.KEEP_COUNT; keep++) {
+            int to = keep * bins;
+            for (int i = table.outcomeOffsets[keep]; i < table.outcomeOffsets[keep + 1]; i++) {
+                double probability = table.outcomeProbabilities[i];
+                int from = table.outcomeHands[i] * bins;
+                for (int points = 0; points < bins; points++) {
+                    keepHistograms[to + points] += probability * hands[from + points];
+                }
+            }
+        }
+    }
+
+    /** Gives every hand the histogram of its best keep. */
+    private void selectKeepHistograms(double[] keepValues, double[] hands, int bins) {
+        for (int hand = 0; hand < HANDS; hand++) {
+            System.arraycopy(keepHistograms, table.bestKeep(hand, keepValues) * bins, hands, hand * bins, bins);
+        }
+    }
+
+    /**
+     * Finds the keep with the highest expected value for a hand.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @param handIndex the canonical index of the current hand
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the index of the best keep
+     */
+    int bestKeep(int usedMask, int upperScore, int handIndex, int rollsLeft) {
+        double[] keepValues = lastKeepValues;
+        if (rollsLeft > 1) {
+            prepareFirstKeeps(usedMask, upperScore);
+            keepValues = firstKeepValues;
+        } else {
+            prepareLastKeeps(usedMask, upperScore);
+        }
+        return table.bestKeep(handIndex, keepValues);
+    }
+
+    /**
+     * Gets the expected value of a keep.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @param keep the keep index
+     * @param rollsLeft how many rolls are still allowed this turn (1 or 2)
+     * @return the expected remaining score after making this keep
+     */
+    double keepValue(int usedMask, int upperScore, int keep, int rollsLeft) {
+        if (rollsLeft > 1) {
+            prepareFirstKeeps(usedMask, upperScore);
+            return firstKeepValues[keep];
+        }
+        prepareLastKeeps(usedMask, upperScore);
+        return lastKeepValues[keep];
+    }
+
+    /**
+     * Finds the unused combination that maximizes immediate points plus the value of the
+     * resulting state.
+     *
+     * @param usedMask the mask of scored combinations
+     * @param upperScore the upper section total, capped at the bonus threshold
+     * @param handIndex the canonical index of the final hand
+     * @return the index of the best combination
+     */
+    int bestCombination(int usedMask, int upperScore, int handIndex) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int combo = 0; combo < COMBOS; combo++) {
+            if ((usedMask & (1 << combo)) == 0) {
+                double value = scoreValue(usedMask, upperScore, handIndex, combo);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = combo;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Value of scoring a hand in a combination: its points, any bonus this triggers,
+     * and the expected score of the resulting state.
+     */
+    double scoreValue(int usedMask, int upperScore, int handIndex, int combo) {
+        int points = CombinationRegistry.points(handIndex, combo);
+        int next = nextState(usedMask, upperScore, handIndex, combo);
+        int bonus = combo < CombinationRegistry.FACE_COUNT
+                ? RULES.upperBonus(upperScore + points, upperScore >= UPPER_CAP) : 0;
+        return points + bonus + values[next];
+    }
+
+    /**
+     * Gets the state reached by scoring a hand in a combination.
+     *
+     * @return the state index (see {@link StrategySolver#stateIndex(int, int)})
+     */
+    static int nextState(int usedMask, int upperScore, int handIndex, int combo) {
+        int nextUpper = upperScore;
+        if (combo < CombinationRegistry.FACE_COUNT) {
+            nextUpper = Math.min(UPPER_CAP, upperScore + CombinationRegistry.points(handIndex, combo));
+        }
+        return StrategySolver.stateIndex(usedMask | (1 << combo), nextUpper);
+    }
+
+    /**
+     * Fills the keep values before the last roll, unless they already belong to this
+     * state. Bots query the same state several times per turn, so this is reused.
+     */
+    private void prepareLastKeeps(int usedMask, int upperScore) {
+        int state = StrategySolver.stateIndex(usedMask, upperScore);
+        if (state == preparedState) {
+            return;
+        }
+        preparedState = state;
+        firstKeepsPrepared = false;
+        for (int hand = 0; hand < HANDS; hand++) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (int combo = 0; combo < COMBOS; combo++) {
+                if ((usedMask & (1 << combo)) == 0) {
+                    best = Math.max(best, scoreValue(usedMask, upperScore, hand, combo));
+                }
+            }
+            scoredValues[hand] = best;
+        }
+        table.expectedValues(scoredValues, lastKeepValues);
+    }
+
+    private void prepareFirstKeeps(int usedMask, int upperScore) {
+        prepareLastKeeps(usedMask, upperScore);
+        if (!firstKeepsPrepared) {
+            table.bestKeepValues(lastKeepValues, oneRollValues);
+            table.expectedValues(oneRollValues, firstKeepValues);
+            firstKeepsPrepared = true;
+        }
+    }
+}
@@ -15,10 +15,26 @@ public interface GameUI {
     void displayGameStart();
     void displayPlayerTurn(int orderNumber, Player player);
     void displayDice(List<Die> dice);
-    void displayPossibleCombos(List<Combination> combos, List<Integer> values, boolean[] usedCombos);
+
+    /**
+     * Shows the combinations still available for the current hand.
+     *
+     * @param combos all combinations in registry order
+     * @param hand the packed hand (see {@link com.ssander.yahtzee.combos.DiceHand})
+     * @param usedCombosMask bit {@code i} set means combination {@code i} was already scored
+     */
+    void displayPossibleCombos(List<Combination> combos, int hand, int usedCombosMask);
+
     void displayInvalidCombinationSelection();
     boolean askRollAgain();
-    int[] askKeptDice();
+
+    /**
+     * Asks which dice to keep for the next roll.
+     *
+     * @return a bit mask where bit {@code i} set means the die at position {@code i} is kept
+     */
+    int askKeptDice();
+
     int askCombination();
     void displayBonusMessage();
     void displayScoreUpdate(int playerNumber, Player player);